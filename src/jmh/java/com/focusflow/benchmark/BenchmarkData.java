@@ -0,0 +1,82 @@
+package com.focusflow.benchmark;
+
+import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.session.SessionRecord;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic data for benchmarks. Everything is written to a temporary
+ * data directory so benchmarks never touch the real ~/focusflow_data.
+ *
+ * @author Frank Watkins
+ */
+public final class BenchmarkData {
+
+    private static final String[] MODES = { "Pomodoro", "52/17", "Ultradian", "Custom" };
+    private static final int[] MODE_MINUTES = { 25, 52, 90, 30 };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a temp data directory and points the default StorageHandler at it.
+     * Must run before any singleton that loads data is created.
+     */
+    public static Path useTempDataDirectory() throws IOException {
+        Path dir = Files.createTempDirectory("focusflow-bench");
+        System.setProperty("focusflow.data.dir", dir.toString());
+        return dir;
+    }
+
+    /**
+     * Generates sessions spread over the days before today, oldest first.
+     */
+    public static List<SessionRecord> sessions(int count, long seed) {
+        Random random = new Random(seed);
+        List<SessionRecord> sessions = new ArrayList<>(count);
+        // about six sessions a day
+        int days = Math.max(1, count / 6);
+        LocalDate firstDay = LocalDate.now().minusDays(days);
+        for (int i = 0; i < count; i++) {
+            int mode = random.nextInt(10) < 6 ? 0 : random.nextInt(MODES.length);
+            LocalDateTime start = firstDay.plusDays((long) i * days / count)
+                    .atTime(7 + random.nextInt(15), random.nextInt(60));
+            boolean completed = random.nextInt(100) < 80;
+            int planned = MODE_MINUTES[mode];
+            int actual = completed ? planned : random.nextInt(planned);
+            sessions.add(new SessionRecord(MODES[mode], planned, start, actual, completed));
+        }
+        return sessions;
+    }
+
+    /**
+     * Writes synthetic sessions as the sessions file in the given directory.
+     */
+    public static void writeSessions(Path dataDir, int count) {
+        new StorageHandler(dataDir.toString()).saveSessions(sessions(count, 42));
+    }
+
+    /**
+     * Recursively deletes a benchmark data directory.
+     */
+    public static void delete(Path dir) throws IOException {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.focusflow.benchmark;
+
+import com.focusflow.model.planner.Planner;
+import com.focusflow.view.planner.CalendarView;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for building and painting the calendar month and week views.
+ * Runs headless: the "render" benchmarks lay out and paint into an off-screen image.
+ *
+ * @author Gianluca Binetti
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Djava.awt.headless=true" })
+public class CalendarBenchmark {
+
+    private static final int WIDTH = 900;
+    private static final int HEIGHT = 700;
+
+    @Param({ "100", "1000", "5000" })
+    private int events;
+
+    private Path dataDir;
+    private CalendarView calendarView;
+    private BufferedImage image;
+    private Date today;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = BenchmarkData.useTempDataDirectory();
+        Path icsFile = IcsGenerator.write(dataDir.resolve("bench.ics"), events, 7);
+
+        Planner planner = new Planner();
+        planner.runBatch(() -> {
+            try {
+                planner.importFromICS(icsFile.toFile());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        calendarView = new CalendarView();
+        calendarView.setPlanner(planner);
+        calendarView.setSize(WIDTH, HEIGHT);
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        today = new Date();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.delete(dataDir);
+    }
+
+    @Benchmark
+    public CalendarView showMonth() {
+        calendarView.showMonth(today);
+        return calendarView;
+    }
+
+    @Benchmark
+    public CalendarView showWeek() {
+        calendarView.showWeek(today);
+        return calendarView;
+    }
+
+    @Benchmark
+    public BufferedImage renderMonth() {
+        calendarView.showMonth(today);
+        return paint();
+    }
+
+    @Benchmark
+    public BufferedImage renderWeek() {
+        calendarView.showWeek(today);
+        return paint();
+    }
+
+    private BufferedImage paint() {
+        layout(calendarView);
+        Graphics2D g = image.createGraphics();
+        try {
+            calendarView.paint(g);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Lays out the component tree without a native peer, which headless mode lacks.
+     */
+    private static void layout(Component component) {
+        if (component instanceof Container) {
+            Container container = (Container) component;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layout(child);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.focusflow.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * Writes synthetic iCalendar files for planner benchmarks.
+ * Events never overlap so every one of them can be imported; some carry
+ * weekly RRULEs and long descriptions folded across lines like real exports.
+ *
+ * @author Gianluca Binetti
+ */
+public final class IcsGenerator {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final String[] COURSES = { "Calculus", "Chemistry", "History", "Physics", "Data Structures" };
+    private static final int FOLD_WIDTH = 75;
+
+    private IcsGenerator() {
+    }
+
+    /**
+     * Writes an ICS file with the given number of events.
+     */
+    public static Path write(Path file, int eventCount, long seed) throws IOException {
+        Random random = new Random(seed);
+        LocalDateTime slot = LocalDateTime.now().withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("BEGIN:VCALENDAR\r\n");
+            writer.write("VERSION:2.0\r\n");
+            writer.write("PRODID:-//FocusFlow//Benchmark//EN\r\n");
+            for (int i = 0; i < eventCount; i++) {
+                String course = COURSES[random.nextInt(COURSES.length)];
+                LocalDateTime start = slot;
+                LocalDateTime end = start.plusMinutes(30 + random.nextInt(4) * 15);
+                // next event starts after this one, skipping to the next morning after 10pm
+                slot = end.plusMinutes(15);
+                if (slot.getHour() >= 22) {
+                    slot = slot.plusDays(1).withHour(8).withMinute(0);
+                }
+
+                writer.write("BEGIN:VEVENT\r\n");
+                writer.write("UID:bench-" + i + "@focusflow\r\n");
+                writer.write("SUMMARY:" + course + " assignment " + i + "\r\n");
+                writeFolded(writer, "DESCRIPTION:Read chapter " + (i % 20 + 1) + " of the " + course
+                        + " textbook and complete the practice problems at the end\\, then review lecture notes"
+                        + " and post questions on the course forum before the next class.");
+                writer.write("DTSTART:" + start.format(FORMAT) + "\r\n");
+                writer.write("DTEND:" + end.format(FORMAT) + "\r\n");
+                if (i % 10 == 0) {
+                    writer.write("RRULE:FREQ=WEEKLY;COUNT=10\r\n");
+                }
+                writer.write("END:VEVENT\r\n");
+            }
+            writer.write("END:VCALENDAR\r\n");
+        }
+        return file;
+    }
+
+    private static void writeFolded(BufferedWriter writer, String line) throws IOException {
+        writer.write(line.substring(0, Math.min(FOLD_WIDTH, line.length())));
+        writer.write("\r\n");
+        for (int pos = FOLD_WIDTH; pos < line.length(); pos += FOLD_WIDTH - 1) {
+            writer.write(" ");
+            writer.write(line.substring(pos, Math.min(pos + FOLD_WIDTH - 1, line.length())));
+            writer.write("\r\n");
+        }
+    }
+}
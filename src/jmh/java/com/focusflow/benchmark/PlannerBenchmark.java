@@ -0,0 +1,110 @@
+package com.focusflow.benchmark;
+
+import com.focusflow.controller.planner.ImportFileListener;
+import com.focusflow.model.planner.Planner;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for planner queries and ICS import/export.
+ * Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="PlannerBenchmark"
+ *
+ * @author Gianluca Binetti
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Djava.awt.headless=true" })
+public class PlannerBenchmark {
+
+    @Param({ "100", "1000", "5000" })
+    private int events;
+
+    private Path dataDir;
+    private File icsFile;
+    private File exportFile;
+    private Planner planner;
+    private ImportFileListener importListener;
+    private LocalDateTime probeStart;
+    private LocalDate probeDate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = BenchmarkData.useTempDataDirectory();
+        icsFile = IcsGenerator.write(dataDir.resolve("bench.ics"), events, 7).toFile();
+        exportFile = dataDir.resolve("export.ics").toFile();
+
+        planner = new Planner();
+        planner.runBatch(() -> {
+            try {
+                planner.importFromICS(icsFile);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        importListener = new ImportFileListener(planner);
+
+        // probe the middle of the schedule, where a linear scan does the most work
+        List<Planner.PlannerEvent> all = planner.getAllEvents();
+        LocalDateTime middle = all.get(all.size() / 2).getStartTime();
+        probeStart = middle.plusMinutes(5);
+        probeDate = middle.toLocalDate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.delete(dataDir);
+    }
+
+    @Benchmark
+    public boolean hasConflict() {
+        return planner.hasConflict(probeStart, probeStart.plusMinutes(30));
+    }
+
+    @Benchmark
+    public int getEventsForDate() {
+        return planner.getEventsForDate(probeDate).size();
+    }
+
+    @Benchmark
+    public List<Map<String, String>> parseICSFile() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(icsFile))) {
+            return importListener.parseICSFile(reader);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public File exportToICS() throws IOException {
+        planner.exportToICS(exportFile);
+        return exportFile;
+    }
+
+    /**
+     * Imports into an empty planner. Each added event rewrites the planner
+     * file, so this is timed per import rather than in a loop.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public int importFromICS() throws IOException {
+        Planner target = new Planner();
+        target.clearEvents();
+        target.importFromICS(icsFile);
+        return target.getAllEvents().size();
+    }
+}
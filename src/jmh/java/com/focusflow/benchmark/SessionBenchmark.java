@@ -0,0 +1,131 @@
+package com.focusflow.benchmark;
+
+import com.focusflow.model.session.SessionLogger;
+import com.focusflow.model.session.SessionRecord;
+import com.focusflow.model.session.StatisticsManager;
+import com.focusflow.view.history.HistoryPanel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the session logging and statistics hot paths.
+ * Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="SessionBenchmark -prof gc"
+ *
+ * @author Frank Watkins
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-Djava.awt.headless=true" })
+public class SessionBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int size;
+
+    private Path dataDir;
+    private SessionLogger sessionLogger;
+    private StatisticsManager statisticsManager;
+    private HistoryPanel historyPanel;
+    private LocalDate filterStart;
+    private LocalDate filterEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Each trial runs in its own fork, so the singleton sees only this data
+        dataDir = BenchmarkData.useTempDataDirectory();
+        BenchmarkData.writeSessions(dataDir, size);
+        sessionLogger = SessionLogger.getInstance();
+        statisticsManager = new StatisticsManager(sessionLogger);
+        historyPanel = new HistoryPanel();
+        filterEnd = LocalDate.now();
+        filterStart = filterEnd.minusDays(30);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.delete(dataDir);
+    }
+
+    /**
+     * Each call rewrites the current month's segment and the manifest, so this is timed per call.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public int logSession() {
+        SessionRecord record = new SessionRecord("Pomodoro", 25);
+        record.complete();
+        sessionLogger.logSession(record);
+        return sessionLogger.getSessionCount();
+    }
+
+    @Benchmark
+    public int applyDateFilter() {
+        sessionLogger.filterByDateRange(filterStart, filterEnd);
+        return sessionLogger.createIterator().getTotalCount();
+    }
+
+    @Benchmark
+    public int applyModeFilter() {
+        sessionLogger.filterByMode("Ultradian");
+        int count = sessionLogger.createIterator().getTotalCount();
+        sessionLogger.clearModeFilter();
+        return count;
+    }
+
+    @Benchmark
+    public int totalFocusMinutes() {
+        return sessionLogger.getTotalFocusMinutes();
+    }
+
+    @Benchmark
+    public int currentStreak() {
+        return statisticsManager.getCurrentStreak();
+    }
+
+    @Benchmark
+    public double averageSessionDuration() {
+        return statisticsManager.getAverageSessionDuration();
+    }
+
+    /**
+     * Lifetime per-weekday totals from the mapped history index.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<DayOfWeek, Integer> weekdayTotalsFromIndex() {
+        return statisticsManager.getFocusMinutesByWeekday();
+    }
+
+    /**
+     * The same totals computed from every session loaded as an object, for comparison.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] weekdayTotalsFromSessions() {
+        int[] minutes = new int[7];
+        for (SessionRecord session : sessionLogger.getAllSessions()) {
+            if (session.isCompleted()) {
+                minutes[session.getStartTime().getDayOfWeek().ordinal()] += session.getDurationMinutes();
+            }
+        }
+        return minutes;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public HistoryPanel historyTableRefresh() {
+        historyPanel.refreshData();
+        return historyPanel;
+    }
+}
@@ -0,0 +1,104 @@
+package com.focusflow.benchmark;
+
+import com.focusflow.model.session.SessionLogger;
+import com.focusflow.model.session.SessionRecord;
+import com.focusflow.model.session.StatisticsManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the statistics kernels with the per-object loops SessionLogger
+ * used before: focus minutes of completed sessions, completed count and a
+ * 90-day range total.
+ * Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="StatisticsBenchmark"
+ *
+ * @author Frank Watkins
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "--add-modules=jdk.incubator.vector" })
+public class StatisticsBenchmark {
+
+    @Param({ "100000", "1000000" })
+    private int size;
+
+    /** The *FromObjects benchmarks don't use the kernels, so they only need one setting. */
+    @Param({ "vector", "scalar" })
+    private String kernels;
+
+    private Path dataDir;
+    private StatisticsManager statisticsManager;
+    private List<SessionRecord> sessions;
+    private LocalDate rangeStart;
+    private LocalDate rangeEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = BenchmarkData.useTempDataDirectory();
+        BenchmarkData.writeSessions(dataDir, size);
+        System.setProperty("focusflow.vectorKernels", String.valueOf(kernels.equals("vector")));
+        SessionLogger sessionLogger = SessionLogger.getInstance();
+        statisticsManager = new StatisticsManager(sessionLogger);
+        sessions = sessionLogger.getAllSessions();
+        rangeEnd = LocalDate.now();
+        rangeStart = rangeEnd.minusDays(89);
+        // Builds the columns outside the measurement
+        statisticsManager.getSessionCount(null, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.delete(dataDir);
+    }
+
+    @Benchmark
+    public int focusMinutes() {
+        return statisticsManager.getFocusMinutes(null, null, null);
+    }
+
+    @Benchmark
+    public int completedCount() {
+        return statisticsManager.getCompletedSessionCount(null, null, null);
+    }
+
+    @Benchmark
+    public int rangeFocusMinutes() {
+        return statisticsManager.getFocusMinutes(rangeStart, rangeEnd, null);
+    }
+
+    /**
+     * The loop SessionLogger.getTotalFocusMinutes ran over every session before segments.
+     */
+    @Benchmark
+    public int focusMinutesFromObjects() {
+        int total = 0;
+        for (SessionRecord session : sessions) {
+            if (session.isCompleted()) {
+                total += session.getDurationMinutes();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * The loop SessionLogger.getCompletedSessionCount ran before segments.
+     */
+    @Benchmark
+    public int completedCountFromObjects() {
+        int count = 0;
+        for (SessionRecord session : sessions) {
+            if (session.isCompleted()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,130 @@
+package com.focusflow.benchmark;
+
+import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.session.SessionRecord;
+import com.focusflow.model.session.SessionRecordCodec;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for StorageHandler save and load across formats and data sizes.
+ * The bytesPerOp counter reports how much each operation writes or reads.
+ * Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="StorageBenchmark"
+ *
+ * @author Fareed Uddin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class StorageBenchmark {
+
+    private static final String JSON_FILE = "bench_sessions.json";
+    private static final String BINARY_FILE = "bench_sessions";
+    private static final String LINES_FILE = "bench_sessions.jsonl";
+    private static final String PRISTINE_LINES_FILE = "bench_sessions.pristine.jsonl";
+    private static final Type SESSION_LIST = new TypeToken<List<SessionRecord>>() {}.getType();
+
+    @Param({ "100", "10000", "100000" })
+    private int size;
+
+    private Path dataDir;
+    private StorageHandler storage;
+    private List<SessionRecord> sessions;
+    private SessionRecord extra;
+
+    /**
+     * Bytes written or read by the last operation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class IoCounters {
+        public long bytesPerOp;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = BenchmarkData.useTempDataDirectory();
+        storage = new StorageHandler(dataDir.toString());
+        sessions = BenchmarkData.sessions(size, 42);
+        extra = sessions.get(0);
+        storage.save(JSON_FILE, sessions);
+        storage.saveRecords(BINARY_FILE, sessions, SessionRecordCodec.INSTANCE);
+        for (SessionRecord session : sessions) {
+            storage.append(LINES_FILE, session);
+        }
+        Files.copy(dataDir.resolve(LINES_FILE), dataDir.resolve(PRISTINE_LINES_FILE));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.delete(dataDir);
+    }
+
+    /**
+     * Full rewrite, which is what every logSession call does today.
+     */
+    @Benchmark
+    public Object saveJson(IoCounters counters) throws IOException {
+        storage.save(JSON_FILE, sessions);
+        counters.bytesPerOp = Files.size(dataDir.resolve(JSON_FILE));
+        return counters;
+    }
+
+    @Benchmark
+    public List<SessionRecord> loadJson(IoCounters counters) throws IOException {
+        counters.bytesPerOp = Files.size(dataDir.resolve(JSON_FILE));
+        return storage.load(JSON_FILE, SESSION_LIST);
+    }
+
+    @Benchmark
+    public Object saveBinary(IoCounters counters) throws IOException {
+        storage.saveRecords(BINARY_FILE, sessions, SessionRecordCodec.INSTANCE);
+        counters.bytesPerOp = Files.size(dataDir.resolve(BINARY_FILE + ".ffr"));
+        return counters;
+    }
+
+    @Benchmark
+    public List<SessionRecord> loadBinary(IoCounters counters) throws IOException {
+        counters.bytesPerOp = Files.size(dataDir.resolve(BINARY_FILE + ".ffr"));
+        return storage.loadRecords(BINARY_FILE, SessionRecordCodec.INSTANCE);
+    }
+
+    /**
+     * Adding one record to a line-oriented log. The log is reset each
+     * iteration so it doesn't grow without bound.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object appendJsonLine(IoCounters counters) throws IOException {
+        long before = Files.size(dataDir.resolve(LINES_FILE));
+        storage.append(LINES_FILE, extra);
+        counters.bytesPerOp = Files.size(dataDir.resolve(LINES_FILE)) - before;
+        return counters;
+    }
+
+    @Benchmark
+    public List<SessionRecord> loadJsonLines(IoCounters counters) throws IOException {
+        counters.bytesPerOp = Files.size(dataDir.resolve(LINES_FILE));
+        return storage.loadAppended(LINES_FILE, SessionRecord.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void resetLog() throws IOException {
+        Path log = dataDir.resolve(LINES_FILE);
+        Path pristine = dataDir.resolve(PRISTINE_LINES_FILE);
+        if (Files.size(log) != Files.size(pristine)) {
+            Files.copy(pristine, log, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.focusflow.workload;
+
+import com.focusflow.controller.history.DateFilterListener;
+import com.focusflow.controller.history.ModeFilterListener;
+import com.focusflow.metrics.Counter;
+import com.focusflow.metrics.EdtWatchdog;
+import com.focusflow.metrics.Histogram;
+import com.focusflow.metrics.MetricsRegistry;
+import com.focusflow.model.planner.Planner;
+import com.focusflow.model.session.SessionLogger;
+import com.focusflow.model.settings.SettingsController;
+import com.focusflow.model.timer.CustomMode;
+import com.focusflow.model.timer.FiftyTwoSeventeenMode;
+import com.focusflow.model.timer.PomodoroMode;
+import com.focusflow.model.timer.TimerManager;
+import com.focusflow.model.timer.UltradianMode;
+import com.focusflow.observer.Event;
+import com.focusflow.view.history.HistoryPanel;
+import com.focusflow.view.planner.CalendarView;
+import com.focusflow.view.timer.TimerPanel;
+
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Headless load test: replays a scripted study day against a data directory
+ * at accelerated clock speed and reports throughput and latency.
+ * <p>
+ * The real timer, history and calendar panels are built off-screen, so every
+ * tick, session save and table refresh goes through the same EDT path as in
+ * the app. Script steps are run on the EDT and timed from the moment they are
+ * posted, which is the latency a user would feel. The replay runs against a
+ * temporary copy of the data, so a generated dataset can be reused.
+ * <p>
+ * Usage: {@code ReplayDriver <dataDir> [speed] [scriptFile]}. A script has one
+ * step per line, {@code HH:mm action [argument]}; see {@link #DEFAULT_SCRIPT}.
+ *
+ * @author Edward De Jesus
+ */
+public final class ReplayDriver {
+
+    /** A typical day: three study blocks with pauses, skips, history browsing and planning. */
+    public static final String DEFAULT_SCRIPT = String.join("\n",
+            "08:55 show-week",
+            "09:00 mode Pomodoro",
+            "09:00 start",
+            "09:12 pause",
+            "09:15 start",
+            "09:40 start",
+            "09:45 skip",
+            "09:46 start",
+            "10:15 filter-mode Pomodoro",
+            "10:15 refresh-history",
+            "10:16 filter-date This Week",
+            "10:16 refresh-history",
+            "10:17 filter-mode All",
+            "10:17 filter-date All Time",
+            "10:18 refresh-history",
+            "13:00 mode 52/17",
+            "13:00 start",
+            "13:30 pause",
+            "13:32 start",
+            "13:55 start",
+            "14:12 skip",
+            "14:15 add-event Chemistry review",
+            "14:15 show-week",
+            "19:00 mode Ultradian",
+            "19:00 start",
+            "20:35 start",
+            "20:45 reset",
+            "20:46 refresh-history",
+            "20:47 show-month");
+
+    private final double speed;
+    private final List<Step> steps;
+    private final Map<String, Histogram> latencies = new TreeMap<>();
+    private final AtomicLong ticks = new AtomicLong();
+
+    private TimerManager timerManager;
+    private SessionLogger sessionLogger;
+    private Planner planner;
+    private HistoryPanel historyPanel;
+    private CalendarView calendarView;
+    private int plannedEvents;
+
+    public ReplayDriver(double speed, List<Step> steps) {
+        this.speed = speed;
+        this.steps = steps;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayDriver <dataDir> [speed] [scriptFile]");
+            System.exit(1);
+        }
+        System.setProperty("java.awt.headless", "true");
+        Path source = Paths.get(args[0]);
+        double speed = args.length > 1 ? Double.parseDouble(args[1]) : 1000;
+        String script = args.length > 2 ? Files.readString(Paths.get(args[2])) : DEFAULT_SCRIPT;
+
+        Path copy = copyDataDirectory(source);
+        System.setProperty("focusflow.data.dir", copy.toString());
+        try {
+            new ReplayDriver(speed, parse(script)).run();
+        } finally {
+            deleteDirectory(copy);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Parses script lines of the form "HH:mm action [argument]". Blank lines and # comments are ignored.
+     */
+    public static List<Step> parse(String script) {
+        List<Step> steps = new ArrayList<>();
+        for (String line : script.split("\n")) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+", 3);
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("Bad script line: " + line);
+            }
+            steps.add(new Step(LocalTime.parse(parts[0]), parts[1], parts.length > 2 ? parts[2] : ""));
+        }
+        steps.sort(Comparator.comparing(step -> step.at));
+        return steps;
+    }
+
+    /**
+     * Builds the panels, replays every step and prints the report.
+     */
+    public void run() throws Exception {
+        int interval = (int) Math.max(1, Math.round(1000 / speed));
+        long[] setupNanos = new long[1];
+        EventQueue.invokeAndWait(() -> {
+            long start = System.nanoTime();
+            SettingsController.getInstance().setSetting(SettingsController.KEY_SOUND_ENABLED, false);
+            timerManager = TimerManager.getInstance();
+            timerManager.setTickInterval(interval);
+            timerManager.attach(event -> {
+                if (event.getType() == Event.EventType.TIMER_TICK) {
+                    ticks.incrementAndGet();
+                }
+            });
+            sessionLogger = SessionLogger.getInstance();
+            new TimerPanel();
+            historyPanel = new HistoryPanel();
+            planner = new Planner();
+            calendarView = new CalendarView();
+            calendarView.setPlanner(planner);
+            setupNanos[0] = System.nanoTime() - start;
+        });
+
+        EdtWatchdog watchdog = new EdtWatchdog(Paths.get(System.getProperty("focusflow.data.dir")));
+        watchdog.install();
+        int sessionsBefore = sessionLogger.getSessionCount();
+
+        LocalTime dayStart = steps.get(0).at;
+        long realStart = System.nanoTime();
+        for (Step step : steps) {
+            long due = realStart + (long) (Duration.between(dayStart, step.at).toNanos() / (1000.0 / interval));
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+            }
+            long posted = System.nanoTime();
+            EventQueue.invokeAndWait(() -> perform(step));
+            latencies.computeIfAbsent(step.action, k -> new Histogram()).recordSince(posted);
+        }
+        EventQueue.invokeAndWait(timerManager::pauseSession);
+        long realNanos = System.nanoTime() - realStart;
+        watchdog.uninstall();
+
+        report(dayStart, realNanos, setupNanos[0], sessionLogger.getSessionCount() - sessionsBefore, interval);
+    }
+
+    private void perform(Step step) {
+        switch (step.action) {
+            case "start":
+                timerManager.startSession();
+                break;
+            case "pause":
+                timerManager.pauseSession();
+                break;
+            case "reset":
+                timerManager.resetSession();
+                break;
+            case "skip":
+                timerManager.skipToNext();
+                break;
+            case "mode":
+                switch (step.argument) {
+                    case "52/17":
+                        timerManager.setTimerMode(new FiftyTwoSeventeenMode());
+                        break;
+                    case "Ultradian":
+                        timerManager.setTimerMode(new UltradianMode());
+                        break;
+                    case "Custom":
+                        timerManager.setTimerMode(new CustomMode(25, 5));
+                        break;
+                    default:
+                        timerManager.setTimerMode(new PomodoroMode());
+                }
+                break;
+            case "filter-mode":
+                new ModeFilterListener(sessionLogger).applyModeFilter(step.argument);
+                break;
+            case "filter-date":
+                new DateFilterListener(sessionLogger).applyDateFilter(step.argument);
+                break;
+            case "refresh-history":
+                historyPanel.refreshData();
+                break;
+            case "show-week":
+                calendarView.showWeek(new Date());
+                break;
+            case "show-month":
+                calendarView.showMonth(new Date());
+                break;
+            case "add-event":
+                // Tomorrow onwards, one per day, so the slot is never taken by an earlier step
+                plannedEvents++;
+                LocalDate day = LocalDate.now().plusDays(plannedEvents);
+                planner.addStudyEvent(step.argument, "Added by replay", day.atTime(step.at),
+                        day.atTime(step.at).plusMinutes(50), "POMODORO");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown action: " + step.action);
+        }
+    }
+
+    private void report(LocalTime dayStart, long realNanos, long setupNanos, int sessionsLogged, int interval) {
+        Duration simulated = Duration.between(dayStart, steps.get(steps.size() - 1).at);
+        double seconds = realNanos / 1e9;
+        System.out.printf("Replayed %d steps over %dh%02dm of simulated time in %.1f s (x%d clock)%n",
+                steps.size(), simulated.toHours(), simulated.toMinutesPart(), seconds, 1000 / interval);
+        System.out.printf("Startup: panels built over %,d sessions in %d ms%n",
+                sessionLogger.getSessionCount(), setupNanos / 1_000_000);
+        System.out.printf("Throughput: %,d timer ticks (%.0f/s), %d sessions logged, %.1f steps/s%n",
+                ticks.get(), ticks.get() / seconds, sessionsLogged, steps.size() / seconds);
+
+        System.out.println();
+        System.out.println("Step latency, posted to finished on the EDT (microseconds):");
+        System.out.printf("  %-16s %6s %10s %10s %10s%n", "action", "count", "p50", "p95", "max");
+        for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+            Histogram h = entry.getValue();
+            System.out.printf("  %-16s %6d %10d %10d %10d%n", entry.getKey(), h.getCount(),
+                    h.get50thPercentile(), h.get95thPercentile(), h.getMax());
+        }
+
+        System.out.println();
+        System.out.println("Runtime metrics:");
+        for (Map.Entry<String, Object> entry : MetricsRegistry.getInstance().getMetrics().entrySet()) {
+            Object metric = entry.getValue();
+            if (metric instanceof Histogram && ((Histogram) metric).getCount() > 0) {
+                System.out.printf("  %-26s %s%n", entry.getKey(), metric);
+            } else if (metric instanceof Counter) {
+                System.out.printf("  %-26s %,d%n", entry.getKey(), ((Counter) metric).getCount());
+            }
+        }
+    }
+
+    private static Path copyDataDirectory(Path source) throws IOException {
+        Path copy = Files.createTempDirectory("focusflow-replay");
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.walk(source)) {
+                for (Path file : files.filter(Files::isRegularFile).toList()) {
+                    Path target = copy.resolve(source.relativize(file).toString());
+                    Files.createDirectories(target.getParent());
+                    Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        return copy;
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * One scripted user action at a time of day.
+     */
+    public static final class Step {
+        private final LocalTime at;
+        private final String action;
+        private final String argument;
+
+        public Step(LocalTime at, String action, String argument) {
+            this.at = at;
+            this.action = action;
+            this.argument = argument;
+        }
+
+        @Override
+        public String toString() {
+            return at + " " + action + (argument.isEmpty() ? "" : " " + argument);
+        }
+    }
+}
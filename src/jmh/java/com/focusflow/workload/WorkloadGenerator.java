@@ -0,0 +1,292 @@
+package com.focusflow.workload;
+
+import com.focusflow.model.coach.Reflection;
+import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.planner.Planner.PlannerEvent;
+import com.focusflow.model.session.SessionRecord;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a realistic multi-year data directory for load testing:
+ * study sessions, planner calendar and reflections, all written through StorageHandler.
+ * <p>
+ * Sessions cluster around late morning, mid afternoon and evening, thin out at
+ * weekends and over the summer, and pile up before exams. About half use
+ * Pomodoro. Late-night and long sessions are abandoned more often.
+ * <p>
+ * Usage: {@code WorkloadGenerator <dataDir> [years] [seed]}
+ *
+ * @author Frank Watkins
+ */
+public final class WorkloadGenerator {
+
+    private static final String[] MODES = { "Pomodoro", "52/17", "Ultradian", "Custom" };
+    private static final int[] MODE_WEIGHTS = { 55, 20, 10, 15 };
+    private static final int[] MODE_MINUTES = { 25, 52, 90, 0 };
+
+    /** Relative chance of starting a session in each hour of the day. */
+    private static final int[] HOUR_WEIGHTS = {
+            0, 0, 0, 0, 0, 0, 1, 2, 4, 8, 10, 9, 5, 6, 9, 10, 8, 5, 4, 7, 9, 8, 5, 2 };
+
+    private static final String[] COURSES = { "Calculus", "Chemistry", "History", "Physics", "Data Structures",
+            "Statistics", "Biology", "Literature" };
+    private static final String[] MOODS = { "tired", "okay", "focused", "motivated", "stressed" };
+    private static final String[] GOOD = { "Finished the %s problem set early", "Really focused on %s today",
+            "Reviewed all my %s notes and it finally clicked", "Studying %s with the library group helped" };
+    private static final String[] BAD = { "Kept getting distracted during %s", "Too tired to concentrate on %s",
+            "Phone notifications ruined my %s session", "Procrastinated on %s until late at night" };
+
+    private final Random random;
+
+    public WorkloadGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: WorkloadGenerator <dataDir> [years] [seed]");
+            System.exit(1);
+        }
+        Path dataDir = Paths.get(args[0]);
+        int years = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        long start = System.nanoTime();
+        Summary summary = new WorkloadGenerator(seed).generate(dataDir, years);
+        System.out.printf("Generated %d years in %s in %d ms:%n", years, dataDir,
+                (System.nanoTime() - start) / 1_000_000);
+        System.out.println(summary);
+    }
+
+    /**
+     * Writes sessions.json, planner_events.json and reflections.jsonl into the directory.
+     */
+    public Summary generate(Path dataDir, int years) {
+        LocalDate today = LocalDate.now();
+        LocalDate first = today.minusYears(years);
+
+        List<SessionRecord> sessions = sessions(first, today);
+        List<PlannerEvent> events = plannerEvents(first, today.plusWeeks(4));
+        List<Reflection> reflections = reflections(sessions);
+
+        StorageHandler storage = new StorageHandler(dataDir.toString());
+        storage.saveSessions(sessions);
+        storage.save("planner_events.json", events);
+        for (Reflection reflection : reflections) {
+            storage.appendReflection(reflection);
+        }
+        return new Summary(sessions.size(), events.size(), reflections.size(), directorySize(dataDir));
+    }
+
+    /**
+     * Generates sessions for every day in [first, last), oldest first.
+     */
+    public List<SessionRecord> sessions(LocalDate first, LocalDate last) {
+        List<SessionRecord> sessions = new ArrayList<>();
+        for (LocalDate day = first; day.isBefore(last); day = day.plusDays(1)) {
+            int count = poisson(sessionsPerDay(day));
+            List<LocalDateTime> starts = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                starts.add(day.atTime(weighted(HOUR_WEIGHTS), random.nextInt(60)));
+            }
+            starts.sort(null);
+            for (LocalDateTime start : starts) {
+                sessions.add(session(start));
+            }
+        }
+        return sessions;
+    }
+
+    private double sessionsPerDay(LocalDate day) {
+        // Some days nobody studies at all
+        if (random.nextInt(100) < 15) {
+            return 0;
+        }
+        boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+        double mean = weekend ? 2 : 4;
+        Month month = day.getMonth();
+        if (month == Month.JUNE || month == Month.JULY || month == Month.AUGUST) {
+            mean *= 0.4;
+        } else if (isExamPeriod(day)) {
+            mean *= 1.6;
+        }
+        return mean;
+    }
+
+    private static boolean isExamPeriod(LocalDate day) {
+        return (day.getMonth() == Month.APRIL && day.getDayOfMonth() > 15)
+                || (day.getMonth() == Month.DECEMBER && day.getDayOfMonth() < 16)
+                || (day.getMonth() == Month.MAY && day.getDayOfMonth() < 8);
+    }
+
+    private SessionRecord session(LocalDateTime start) {
+        int mode = weighted(MODE_WEIGHTS);
+        int planned = MODE_MINUTES[mode] > 0 ? MODE_MINUTES[mode] : 20 + 5 * random.nextInt(9);
+        int abandonChance = 12;
+        if (start.getHour() >= 22) {
+            abandonChance += 20;
+        }
+        if (planned >= 60) {
+            abandonChance += 10;
+        }
+        boolean completed = random.nextInt(100) >= abandonChance;
+        int actual = completed ? planned : 1 + random.nextInt(planned - 1);
+        return new SessionRecord(MODES[mode], planned, start, actual, completed);
+    }
+
+    /**
+     * Generates a weekly class timetable during term plus study blocks and deadlines,
+     * never overlapping within a day.
+     */
+    public List<PlannerEvent> plannerEvents(LocalDate first, LocalDate last) {
+        List<PlannerEvent> events = new ArrayList<>();
+        for (LocalDate day = first; day.isBefore(last); day = day.plusDays(1)) {
+            Month month = day.getMonth();
+            boolean term = month != Month.JUNE && month != Month.JULY && month != Month.AUGUST;
+            DayOfWeek weekday = day.getDayOfWeek();
+            if (weekday == DayOfWeek.SATURDAY || weekday == DayOfWeek.SUNDAY) {
+                if (random.nextInt(100) < 30) {
+                    events.add(studyBlock(day, LocalTime.of(14, 0)));
+                }
+                continue;
+            }
+            if (term) {
+                // Two classes on Mon/Wed/Fri, two different ones on Tue/Thu
+                int offset = weekday.getValue() % 2 == 1 ? 0 : 2;
+                events.add(event(COURSES[offset] + " lecture", "Room " + (100 + offset), day.atTime(9, 0), 75));
+                events.add(event(COURSES[offset + 1] + " lecture", "Room " + (200 + offset), day.atTime(11, 0), 75));
+            }
+            if (random.nextInt(100) < 50) {
+                events.add(studyBlock(day, LocalTime.of(15, 0)));
+            }
+            if (random.nextInt(100) < 25) {
+                events.add(studyBlock(day, LocalTime.of(19, 30)));
+            }
+            if (term && random.nextInt(100) < 5) {
+                String course = COURSES[random.nextInt(COURSES.length)];
+                events.add(event(course + " assignment due", "Submit online", day.atTime(23, 0), 30));
+            }
+        }
+        return events;
+    }
+
+    private PlannerEvent studyBlock(LocalDate day, LocalTime time) {
+        String course = COURSES[random.nextInt(COURSES.length)];
+        PlannerEvent event = event("Study " + course, "Review notes and practice problems",
+                day.atTime(time), 50 + 10 * random.nextInt(7));
+        event.setStudyBlock(true);
+        event.setTimerMode(random.nextBoolean() ? "POMODORO" : "52/17");
+        return event;
+    }
+
+    private static PlannerEvent event(String title, String description, LocalDateTime start, int minutes) {
+        return new PlannerEvent(title, description, start, start.plusMinutes(minutes));
+    }
+
+    /**
+     * Writes a reflection after roughly one in three study days,
+     * rated by how many of that day's sessions were completed.
+     */
+    public List<Reflection> reflections(List<SessionRecord> sessions) {
+        List<Reflection> reflections = new ArrayList<>();
+        int i = 0;
+        while (i < sessions.size()) {
+            LocalDate day = sessions.get(i).getStartTime().toLocalDate();
+            int total = 0;
+            int completed = 0;
+            LocalDateTime lastEnd = null;
+            while (i < sessions.size() && sessions.get(i).getStartTime().toLocalDate().equals(day)) {
+                SessionRecord session = sessions.get(i);
+                total++;
+                completed += session.isCompleted() ? 1 : 0;
+                lastEnd = session.getStartTime().plusMinutes(session.getDurationMinutes());
+                i++;
+            }
+            if (random.nextInt(3) != 0) {
+                continue;
+            }
+            int rating = Math.max(1, Math.min(10, completed * 10 / total + random.nextInt(3) - 1));
+            String course = COURSES[random.nextInt(COURSES.length)];
+            String text = String.format((rating >= 6 ? GOOD : BAD)[random.nextInt(GOOD.length)], course) + ".";
+            if (random.nextInt(4) == 0) {
+                text += " Tomorrow I want to start earlier and take proper breaks.";
+            }
+            String mood = MOODS[Math.min(MOODS.length - 1, rating / 2)];
+            reflections.add(new Reflection(text, mood, rating, lastEnd.plusMinutes(5)));
+        }
+        return reflections;
+    }
+
+    private int weighted(int[] weights) {
+        int total = 0;
+        for (int w : weights) {
+            total += w;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private int poisson(double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            count++;
+            product *= random.nextDouble();
+        }
+        return count;
+    }
+
+    private static long directorySize(Path dir) {
+        try (var files = Files.list(dir)) {
+            return files.mapToLong(p -> p.toFile().length()).sum();
+        } catch (java.io.IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * What was generated.
+     */
+    public static final class Summary {
+        private final int sessions;
+        private final int plannerEvents;
+        private final int reflections;
+        private final long bytes;
+
+        Summary(int sessions, int plannerEvents, int reflections, long bytes) {
+            this.sessions = sessions;
+            this.plannerEvents = plannerEvents;
+            this.reflections = reflections;
+            this.bytes = bytes;
+        }
+
+        public int getSessions() { return sessions; }
+        public int getPlannerEvents() { return plannerEvents; }
+        public int getReflections() { return reflections; }
+        public long getBytes() { return bytes; }
+
+        @Override
+        public String toString() {
+            return String.format("  %,d sessions%n  %,d planner events%n  %,d reflections%n  %,d KB on disk",
+                    sessions, plannerEvents, reflections, bytes / 1024);
+        }
+    }
+}
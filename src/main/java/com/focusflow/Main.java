@@ -1,10 +1,26 @@
 package com.focusflow;
 
+import com.focusflow.cli.Cli;
+import com.focusflow.metrics.EdtLatencyProbe;
+import com.focusflow.metrics.EdtWatchdog;
+import com.focusflow.metrics.FlightRecording;
+import com.focusflow.metrics.MetricsRegistry;
+import com.focusflow.metrics.StartupTrace;
+import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.session.SessionLogger;
 import com.focusflow.model.settings.SettingsController;
 import com.focusflow.model.timer.TimerManager;
 import com.focusflow.view.MainFrame;
+import com.focusflow.view.history.HistoryPanel;
+import com.focusflow.view.planner.PlannerPanel;
+import com.focusflow.view.settings.SettingsPanel;
+import com.focusflow.view.timer.TimerPanel;
 
 import javax.swing.*;
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 
 /**
  * Main entry point for the FocusFlow application.
@@ -13,13 +29,29 @@ import javax.swing.*;
  */
 public class Main {
 
+    /** Set while building a class data sharing archive; startup runs once and the JVM exits. */
+    private static final boolean CDS_TRAINING = Boolean.getBoolean("focusflow.cdsTraining");
+
     public static void main(String[] args) {
+        // Any arguments mean command-line mode, which must not touch Swing
+        if (args.length > 0) {
+            Cli.main(args);
+            return;
+        }
+
         // set system look and feel
+        long start = StartupTrace.start();
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
             // ignore, use default
         }
+        StartupTrace.record("look and feel", start);
+
+        if (CDS_TRAINING && GraphicsEnvironment.isHeadless()) {
+            SwingUtilities.invokeLater(Main::trainHeadless);
+            return;
+        }
 
         SwingUtilities.invokeLater(() -> {
             initializeApplication();
@@ -27,13 +59,85 @@ public class Main {
     }
 
     private static void initializeApplication() {
+        long start = StartupTrace.start();
         SettingsController.getInstance().loadSettings();
+        StartupTrace.record("settings", start);
+        if (SettingsController.getInstance().isFlightRecordingEnabled()) {
+            start = StartupTrace.start();
+            startFlightRecording();
+            StartupTrace.record("flight recording", start);
+        }
+        start = StartupTrace.start();
         TimerManager.getInstance();
+        StartupTrace.record("timer manager", start);
 
+        start = StartupTrace.start();
         MainFrame mainFrame = new MainFrame();
+        StartupTrace.record("MainFrame", start);
+        start = StartupTrace.start();
         mainFrame.setVisible(true);
         mainFrame.setLocationRelativeTo(null);
+        StartupTrace.record("window shown", start);
+
+        start = StartupTrace.start();
+        startMetrics();
+        StartupTrace.record("metrics", start);
 
         System.out.println("FocusFlow started successfully!");
+        StartupTrace.finish();
+
+        if (CDS_TRAINING) {
+            // Let the first paint happen so its classes end up in the archive too
+            SwingUtilities.invokeLater(() -> System.exit(0));
+        }
+    }
+
+    /**
+     * Headless CDS training run for build machines without a display: builds every
+     * panel and runs a CLI command, then exits so the archive gets written.
+     */
+    private static void trainHeadless() {
+        long start = StartupTrace.start();
+        SettingsController.getInstance().loadSettings();
+        StartupTrace.record("settings", start);
+        new TimerPanel();
+        new HistoryPanel();
+        new PlannerPanel();
+        new SettingsPanel();
+        start = StartupTrace.start();
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        new Cli(discard, discard).run(new String[] { "stats", "--json" });
+        StartupTrace.record("cli stats", start);
+        StartupTrace.finish();
+        System.exit(0);
+    }
+
+    /**
+     * Records JFR events for the whole session; the file is written to the data folder on exit.
+     */
+    private static void startFlightRecording() {
+        try {
+            new FlightRecording().start(new StorageHandler().getDataPath());
+        } catch (Exception e) {
+            System.err.println("Could not start flight recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts metrics, EDT stall monitoring and JMX once the window is up, so they don't slow startup.
+     */
+    private static void startMetrics() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.gauge("sessions.count", () -> SessionLogger.getInstance().getSessionCount());
+        new EdtLatencyProbe().start();
+        try {
+            new EdtWatchdog(new StorageHandler().getDataPath()).install();
+        } catch (IOException e) {
+            System.err.println("Could not start EDT watchdog: " + e.getMessage());
+        }
+
+        Thread jmx = new Thread(registry::enableJmx, "focusflow-jmx");
+        jmx.setDaemon(true);
+        jmx.start();
     }
 }
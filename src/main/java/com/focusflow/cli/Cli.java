@@ -0,0 +1,389 @@
+package com.focusflow.cli;
+
+import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.planner.Planner;
+import com.focusflow.model.session.SessionLogger;
+import com.focusflow.model.session.SessionRecord;
+import com.focusflow.model.session.StatisticsManager;
+import com.focusflow.model.timer.CustomMode;
+import com.focusflow.model.timer.FiftyTwoSeventeenMode;
+import com.focusflow.model.timer.PomodoroMode;
+import com.focusflow.model.timer.TimerManager;
+import com.focusflow.model.timer.TimerMode;
+import com.focusflow.model.timer.UltradianMode;
+import com.focusflow.observer.Event;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Command-line interface for FocusFlow, for ssh sessions and scripts.
+ * Uses the same data folder as the desktop app but never loads AWT or Swing.
+ * <pre>
+ * focusflow timer [pomodoro|52/17|ultradian|custom WORK BREAK] [--cycles N] [--quiet] [--no-log]
+ * focusflow stats [--days N] [--mode NAME] [--json]
+ * focusflow export FILE        (.csv or .json for sessions, .ics for the planner)
+ * focusflow import FILE        (sessions from a .json export)
+ * focusflow import-ics FILE
+ * </pre>
+ * Exit status is 0 on success, 1 on failure and 2 for bad usage.
+ *
+ * @author Fareed Uddin
+ */
+public class Cli {
+
+    static final int OK = 0;
+    static final int FAILED = 1;
+    static final int USAGE = 2;
+
+    private static final String USAGE_TEXT = String.join(System.lineSeparator(),
+            "Usage: focusflow <command> [options]",
+            "",
+            "Commands:",
+            "  timer [pomodoro|52/17|ultradian|custom WORK BREAK] [--cycles N] [--quiet] [--no-log]",
+            "                       run a countdown in the terminal and log the session",
+            "  stats [--days N] [--mode NAME] [--json]",
+            "                       show study statistics",
+            "  export FILE          export sessions (.csv, .json) or the planner (.ics)",
+            "  import FILE          add sessions from a .json export, skipping ones already present",
+            "  import-ics FILE      add events from an iCalendar file to the planner",
+            "  help                 show this message");
+
+    private final PrintStream out;
+    private final PrintStream err;
+
+    public Cli(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    public static void main(String[] args) {
+        int status = new Cli(System.out, System.err).run(args);
+        System.out.flush();
+        System.exit(status);
+    }
+
+    /**
+     * Runs one command.
+     * @return the process exit status
+     */
+    public int run(String[] args) {
+        if (args.length == 0) {
+            err.println(USAGE_TEXT);
+            return USAGE;
+        }
+        String[] options = Arrays.copyOfRange(args, 1, args.length);
+        try {
+            switch (args[0]) {
+                case "timer":
+                    return timer(options);
+                case "stats":
+                    return stats(options);
+                case "export":
+                    return export(options);
+                case "import":
+                    return importJson(options);
+                case "import-ics":
+                    return importIcs(options);
+                case "help":
+                case "--help":
+                case "-h":
+                    out.println(USAGE_TEXT);
+                    return OK;
+                default:
+                    err.println("Unknown command: " + args[0]);
+                    err.println(USAGE_TEXT);
+                    return USAGE;
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            return USAGE;
+        } catch (IOException | UncheckedIOException e) {
+            err.println("Error: " + e.getMessage());
+            return FAILED;
+        }
+    }
+
+    // ---- timer ----
+
+    private int timer(String[] options) throws IOException {
+        List<String> args = new ArrayList<>(Arrays.asList(options));
+        int cycles = Math.max(1, intOption(args, "--cycles", 1));
+        boolean quiet = args.remove("--quiet");
+        boolean log = !args.remove("--no-log");
+        TimerMode mode = parseMode(args);
+        rejectExtra(args);
+
+        TimerManager timer = TimerManager.getHeadlessInstance();
+        timer.setTimerMode(mode);
+        CountdownRenderer renderer = new CountdownRenderer(System.console() != null);
+        Semaphore phaseEnded = new Semaphore(0);
+        boolean[] completing = new boolean[1];
+
+        timer.attach(event -> {
+            if (event.getType() == Event.EventType.TIMER_TICK && !quiet) {
+                Object[] state = (Object[]) event.getData();
+                int remaining = (Integer) state[0];
+                boolean work = (Boolean) state[1];
+                String line = renderer.render(mode.getName(), work, remaining,
+                        work ? mode.getWorkDuration() : mode.getBreakDuration());
+                if (line != null) {
+                    out.print(line);
+                    out.flush();
+                }
+            } else if (event.getType() == Event.EventType.TIMER_COMPLETED) {
+                completing[0] = true;
+            } else if (event.getType() == Event.EventType.TIMER_RESET && completing[0]) {
+                // The manager has switched phase; let the main thread carry on
+                completing[0] = false;
+                phaseEnded.release();
+            }
+        });
+
+        SessionLogger sessionLogger = SessionLogger.getInstance();
+        LocalDateTime[] workStart = new LocalDateTime[1];
+        Thread interruptHandler = new Thread(() -> {
+            if (log && timer.isWorkPhase() && workStart[0] != null) {
+                int elapsedMinutes = (mode.getWorkDuration() - timer.getRemainingTime()) / 60;
+                if (elapsedMinutes > 0) {
+                    sessionLogger.logSession(new SessionRecord(mode.getName(), mode.getWorkDuration() / 60,
+                            workStart[0], elapsedMinutes, false));
+                }
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(interruptHandler);
+
+        try {
+            for (int cycle = 1; cycle <= cycles; cycle++) {
+                workStart[0] = LocalDateTime.now();
+                runPhase(timer, phaseEnded);
+                out.print(renderer.endLine());
+                if (log) {
+                    sessionLogger.logSession(new SessionRecord(mode.getName(), mode.getWorkDuration() / 60,
+                            workStart[0], mode.getWorkDuration() / 60, true));
+                }
+                workStart[0] = null;
+                out.println("Focus session " + cycle + " of " + cycles + " complete.");
+                if (cycle < cycles) {
+                    runPhase(timer, phaseEnded);
+                    out.print(renderer.endLine());
+                    out.println("Break over.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return FAILED;
+        } finally {
+            Runtime.getRuntime().removeShutdownHook(interruptHandler);
+        }
+        return OK;
+    }
+
+    private static void runPhase(TimerManager timer, Semaphore phaseEnded) throws InterruptedException {
+        timer.startSession();
+        phaseEnded.acquire();
+    }
+
+    private static TimerMode parseMode(List<String> args) {
+        if (args.isEmpty()) {
+            return new PomodoroMode();
+        }
+        String name = args.remove(0).toLowerCase();
+        switch (name) {
+            case "pomodoro":
+                return new PomodoroMode();
+            case "52/17":
+            case "52-17":
+                return new FiftyTwoSeventeenMode();
+            case "ultradian":
+                return new UltradianMode();
+            case "custom":
+                if (args.size() < 2) {
+                    throw new IllegalArgumentException("custom needs WORK and BREAK minutes, e.g. custom 45 10");
+                }
+                return new CustomMode(parseInt(args.remove(0)), parseInt(args.remove(0)));
+            default:
+                throw new IllegalArgumentException("Unknown timer mode: " + name);
+        }
+    }
+
+    // ---- stats ----
+
+    private int stats(String[] options) {
+        List<String> args = new ArrayList<>(Arrays.asList(options));
+        int days = intOption(args, "--days", 0);
+        String mode = stringOption(args, "--mode");
+        boolean json = args.remove("--json");
+        rejectExtra(args);
+
+        SessionLogger sessionLogger = SessionLogger.getInstance();
+        StatisticsManager statistics = new StatisticsManager(sessionLogger);
+        LocalDate to = LocalDate.now();
+        LocalDate from = days > 0 ? to.minusDays(days - 1) : null;
+        int count = statistics.getSessionCount(from, to, mode);
+        int completed = statistics.getCompletedSessionCount(from, to, mode);
+        int focusMinutes = statistics.getFocusMinutes(from, to, mode);
+        int totalMinutes = statistics.getSessionMinutes(from, to, mode);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", count);
+        stats.put("completed", completed);
+        stats.put("focusMinutes", focusMinutes);
+        stats.put("averageMinutes", count == 0 ? 0 : Math.round(totalMinutes / (double) count));
+        stats.put("completionRate", count == 0 ? 0 : Math.round(completed * 100.0 / count));
+        stats.put("currentStreak", statistics.getCurrentStreak());
+        stats.put("longestStreak", statistics.getLongestStreak());
+
+        if (json) {
+            out.println(new GsonBuilder().create().toJson(stats));
+        } else {
+            out.println("Sessions:        " + stats.get("sessions") + " (" + completed + " completed)");
+            out.println("Focus time:      " + focusMinutes / 60 + "h " + focusMinutes % 60 + "m");
+            out.println("Average session: " + stats.get("averageMinutes") + " min");
+            out.println("Completion rate: " + stats.get("completionRate") + "%");
+            out.println("Current streak:  " + stats.get("currentStreak") + " days");
+            out.println("Longest streak:  " + stats.get("longestStreak") + " days");
+        }
+        return OK;
+    }
+
+    // ---- export / import ----
+
+    private int export(String[] options) throws IOException {
+        Path file = singleFile(options);
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".ics")) {
+            Planner planner = new Planner();
+            planner.exportToICS(file.toFile());
+            out.println("Exported " + planner.getAllEvents().size() + " planner events to " + file);
+            return OK;
+        }
+
+        List<SessionRecord> sessions = SessionLogger.getInstance().getAllSessions();
+        if (name.endsWith(".json")) {
+            Path parent = file.toAbsolutePath().getParent();
+            new StorageHandler(parent.toString()).save(file.getFileName().toString(), sessions);
+        } else if (name.endsWith(".csv")) {
+            writeCsv(file, sessions);
+        } else {
+            throw new IllegalArgumentException("Export file must end in .csv, .json or .ics");
+        }
+        out.println("Exported " + sessions.size() + " sessions to " + file);
+        return OK;
+    }
+
+    static void writeCsv(Path file, List<SessionRecord> sessions) throws IOException {
+        DateTimeFormatter format = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("start,mode,minutes,completed");
+            writer.newLine();
+            for (SessionRecord session : sessions) {
+                writer.write(session.getStartTime().format(format) + "," + csv(session.getModeName()) + ","
+                        + session.getDurationMinutes() + "," + session.isCompleted());
+                writer.newLine();
+            }
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    private int importJson(String[] options) throws IOException {
+        Path file = singleFile(options);
+        if (!Files.isRegularFile(file) || !file.getFileName().toString().toLowerCase().endsWith(".json")) {
+            throw new IOException("Not a .json file: " + file);
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        List<SessionRecord> sessions = new StorageHandler(parent.toString())
+                .load(file.getFileName().toString(), new TypeToken<List<SessionRecord>>() {}.getType());
+        if (sessions == null) {
+            throw new IOException("Could not read sessions from " + file);
+        }
+        int added = SessionLogger.getInstance().importSessions(sessions);
+        out.println("Imported " + added + " of " + sessions.size() + " sessions from " + file);
+        return OK;
+    }
+
+    private int importIcs(String[] options) throws IOException {
+        File file = singleFile(options).toFile();
+        if (!file.isFile()) {
+            throw new IOException("No such file: " + file);
+        }
+        Planner planner = new Planner();
+        int before = planner.getAllEvents().size();
+        IOException[] failure = new IOException[1];
+        planner.runBatch(() -> {
+            try {
+                planner.importFromICS(file);
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        out.println("Imported " + (planner.getAllEvents().size() - before) + " events from " + file);
+        return OK;
+    }
+
+    // ---- option parsing ----
+
+    private static Path singleFile(String[] options) {
+        if (options.length != 1) {
+            throw new IllegalArgumentException("Expected exactly one FILE argument");
+        }
+        return Paths.get(options[0]);
+    }
+
+    private static int intOption(List<String> args, String name, int defaultValue) {
+        String value = stringOption(args, name);
+        return value == null ? defaultValue : parseInt(value);
+    }
+
+    private static String stringOption(List<String> args, String name) {
+        int index = args.indexOf(name);
+        if (index < 0) {
+            return null;
+        }
+        if (index + 1 >= args.size()) {
+            throw new IllegalArgumentException(name + " needs a value");
+        }
+        args.remove(index);
+        return args.remove(index);
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + value);
+        }
+    }
+
+    private static void rejectExtra(List<String> args) {
+        if (!args.isEmpty()) {
+            throw new IllegalArgumentException("Unexpected argument: " + args.get(0));
+        }
+    }
+}
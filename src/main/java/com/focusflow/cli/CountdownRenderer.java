@@ -0,0 +1,45 @@
+package com.focusflow.cli;
+
+/**
+ * Draws the timer as a single terminal line that is redrawn in place.
+ * When output is not a terminal (a pipe or log file) it prints one plain
+ * line per minute instead, so scripts get readable output.
+ *
+ * @author Edward De Jesus
+ */
+public class CountdownRenderer {
+
+    private static final int BAR_WIDTH = 30;
+
+    private final boolean terminal;
+
+    public CountdownRenderer(boolean terminal) {
+        this.terminal = terminal;
+    }
+
+    /**
+     * @return the text to print for this second, or null if nothing should be printed
+     */
+    public String render(String modeName, boolean workPhase, int remainingSeconds, int totalSeconds) {
+        String phase = workPhase ? "Focus" : "Break";
+        String time = String.format("%02d:%02d", remainingSeconds / 60, remainingSeconds % 60);
+        if (!terminal) {
+            return remainingSeconds % 60 == 0
+                    ? modeName + " " + phase + " " + time + " remaining" + System.lineSeparator() : null;
+        }
+        int filled = totalSeconds <= 0 ? BAR_WIDTH
+                : (int) ((long) (totalSeconds - remainingSeconds) * BAR_WIDTH / totalSeconds);
+        StringBuilder bar = new StringBuilder(BAR_WIDTH);
+        for (int i = 0; i < BAR_WIDTH; i++) {
+            bar.append(i < filled ? '#' : '-');
+        }
+        return String.format("\r%-10s %-5s %s [%s]", modeName, phase, time, bar);
+    }
+
+    /**
+     * @return text that finishes the current line, if one is being redrawn
+     */
+    public String endLine() {
+        return terminal ? System.lineSeparator() : "";
+    }
+}
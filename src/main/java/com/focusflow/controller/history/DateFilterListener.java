@@ -2,6 +2,7 @@ package com.focusflow.controller.history;
 
 import com.focusflow.model.session.SessionLogger;
 
+import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.time.LocalDate;
@@ -27,7 +28,10 @@ public class DateFilterListener implements ActionListener {
 
     @Override
     public void actionPerformed(ActionEvent e) {
-        String command = e.getActionCommand();
+        // Combo boxes report "comboBoxChanged" as the command, so use the selection
+        String command = e.getSource() instanceof JComboBox<?> box
+                ? String.valueOf(box.getSelectedItem())
+                : e.getActionCommand();
         applyDateFilter(command);
     }
 
@@ -50,6 +54,10 @@ public class DateFilterListener implements ActionListener {
                 startDate = today.withDayOfMonth(1);
                 endDate = today;
                 break;
+            case "Last 7 Days":
+                startDate = today.minusDays(7);
+                endDate = today;
+                break;
             case "Last 30 Days":
                 startDate = today.minusDays(30);
                 endDate = today;
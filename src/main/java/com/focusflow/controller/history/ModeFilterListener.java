@@ -2,6 +2,7 @@ package com.focusflow.controller.history;
 
 import com.focusflow.model.session.SessionLogger;
 
+import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
@@ -22,7 +23,10 @@ public class ModeFilterListener implements ActionListener {
 
     @Override
     public void actionPerformed(ActionEvent e) {
-        String command = e.getActionCommand();
+        // Combo boxes report "comboBoxChanged" as the command, so use the selection
+        String command = e.getSource() instanceof JComboBox<?> box
+                ? String.valueOf(box.getSelectedItem())
+                : e.getActionCommand();
         applyModeFilter(command);
     }
 
@@ -32,7 +36,7 @@ public class ModeFilterListener implements ActionListener {
     public void applyModeFilter(String mode) {
         this.currentMode = mode;
 
-        if ("All".equals(mode)) {
+        if ("All".equals(mode) || "All Modes".equals(mode)) {
             sessionLogger.clearModeFilter();
         } else {
             sessionLogger.filterByMode(mode);
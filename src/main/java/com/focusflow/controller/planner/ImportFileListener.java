@@ -109,7 +109,7 @@ public class ImportFileListener implements ActionListener {
      * @return list of event data maps
      * @throws IOException if reading fails
      */
-    private List<Map<String, String>> parseICSFile(BufferedReader reader) throws IOException {
+    public List<Map<String, String>> parseICSFile(BufferedReader reader) throws IOException {
         List<Map<String, String>> events = new ArrayList<>();
         Map<String, String> currentEvent = null;
         String line;
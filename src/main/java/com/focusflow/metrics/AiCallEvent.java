@@ -0,0 +1,31 @@
+package com.focusflow.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a request to the AI provider.
+ *
+ * @author Fareed Uddin
+ */
+@Name("com.focusflow.AiCall")
+@Label("AI Call")
+@Category({ "FocusFlow", "AI" })
+public class AiCallEvent extends jdk.jfr.Event {
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Streamed")
+    public boolean streamed;
+
+    @Label("Prompt Characters")
+    public int promptChars;
+
+    @Label("Response Characters")
+    public int responseChars;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,11 @@
+package com.focusflow.metrics;
+
+/**
+ * JMX view of a {@link Counter}.
+ *
+ * @author Edward De Jesus
+ */
+public interface CounterMBean {
+
+    long getCount();
+}
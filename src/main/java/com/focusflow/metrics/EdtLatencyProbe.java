@@ -0,0 +1,49 @@
+package com.focusflow.metrics;
+
+import java.awt.EventQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a task waits before the Swing event dispatch thread runs it.
+ * Posts a tiny task every half second and records the delay in "edt.task.latency.us".
+ *
+ * @author Edward De Jesus
+ */
+public class EdtLatencyProbe {
+
+    private static final long INTERVAL_MS = 500;
+
+    private final Histogram latency;
+    private ScheduledExecutorService scheduler;
+
+    public EdtLatencyProbe() {
+        this.latency = MetricsRegistry.getInstance().histogram("edt.task.latency.us");
+    }
+
+    /**
+     * Starts probing on a daemon thread.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "focusflow-edt-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            long posted = System.nanoTime();
+            EventQueue.invokeLater(() -> latency.recordSince(posted));
+        }, INTERVAL_MS, INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
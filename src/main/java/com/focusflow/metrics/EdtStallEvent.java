@@ -0,0 +1,27 @@
+package com.focusflow.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for an EDT dispatch that took longer than the stall threshold.
+ *
+ * @author Edward De Jesus
+ */
+@Name("com.focusflow.EdtStall")
+@Label("EDT Stall")
+@Category({ "FocusFlow", "UI" })
+public class EdtStallEvent extends jdk.jfr.Event {
+
+    @Label("AWT Event")
+    public String awtEvent;
+
+    @Label("Top Application Frame")
+    public String topFrame;
+
+    @Label("Dispatch Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dispatchTime;
+}
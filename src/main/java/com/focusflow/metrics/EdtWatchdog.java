@@ -0,0 +1,232 @@
+package com.focusflow.metrics;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Watches the Swing event dispatch thread for stalls.
+ * Installs an EventQueue that times every dispatch into "edt.dispatch.us".
+ * A watchdog thread grabs the EDT's stack while a dispatch is still running
+ * past the threshold, so the report shows the listener that was actually busy
+ * (not just where the EDT ended up). Reports go to a rotating edt-stalls log.
+ *
+ * @author Edward De Jesus
+ */
+public class EdtWatchdog {
+
+    public static final long DEFAULT_THRESHOLD_MS = 100;
+    public static final String LOG_PATTERN = "edt-stalls.%g.log";
+
+    private static final int LOG_LIMIT_BYTES = 1_000_000;
+    private static final int LOG_FILES = 3;
+    private static final int MAX_FRAMES = 40;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private final Path logDirectory;
+    private final long thresholdNanos;
+    private final Histogram dispatchTime;
+    private final Counter stalls;
+
+    private MonitoredQueue queue;
+    private ScheduledExecutorService watchdog;
+    private ExecutorService reporter;
+    private Logger logger;
+    private FileHandler logHandler;
+
+    public EdtWatchdog(Path logDirectory) {
+        this(logDirectory, DEFAULT_THRESHOLD_MS);
+    }
+
+    public EdtWatchdog(Path logDirectory, long thresholdMillis) {
+        this.logDirectory = logDirectory;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.dispatchTime = MetricsRegistry.getInstance().histogram("edt.dispatch.us");
+        this.stalls = MetricsRegistry.getInstance().counter("edt.stalls");
+    }
+
+    /**
+     * Pushes the monitored queue and starts the watchdog thread.
+     */
+    public synchronized void install() throws IOException {
+        if (queue != null) {
+            return;
+        }
+        Files.createDirectories(logDirectory);
+        logHandler = new FileHandler(logDirectory.resolve(LOG_PATTERN).toString(), LOG_LIMIT_BYTES, LOG_FILES, true);
+        logHandler.setFormatter(new Formatter() {
+            @Override
+            public String format(LogRecord record) {
+                return record.getMessage() + System.lineSeparator();
+            }
+        });
+        logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(logHandler);
+
+        reporter = Executors.newSingleThreadExecutor(r -> daemon(r, "focusflow-edt-reporter"));
+        watchdog = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "focusflow-edt-watchdog"));
+        long period = Math.max(1, thresholdNanos / 4);
+        watchdog.scheduleAtFixedRate(this::checkForStall, period, period, TimeUnit.NANOSECONDS);
+
+        queue = new MonitoredQueue();
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(queue);
+    }
+
+    /**
+     * Restores the previous queue and stops the watchdog.
+     */
+    public synchronized void uninstall() {
+        if (queue == null) {
+            return;
+        }
+        queue.remove();
+        queue = null;
+        watchdog.shutdownNow();
+        reporter.shutdown();
+        try {
+            reporter.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logHandler.close();
+    }
+
+    /**
+     * @return number of stalls seen since the app started
+     */
+    public long getStallCount() {
+        return stalls.getCount();
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread thread = new Thread(r, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Runs on the watchdog thread: captures the stack of a dispatch that is taking too long.
+     */
+    private void checkForStall() {
+        MonitoredQueue q = queue;
+        if (q == null) {
+            return;
+        }
+        Dispatch current = q.current;
+        if (current != null && current.stack == null && System.nanoTime() - current.start >= thresholdNanos) {
+            current.stack = current.thread.getStackTrace();
+        }
+    }
+
+    private void report(Dispatch dispatch, long elapsedNanos) {
+        stalls.increment();
+        String event = describe(dispatch.event);
+        StackTraceElement[] stack = dispatch.stack;
+
+        EdtStallEvent jfrEvent = new EdtStallEvent();
+        if (jfrEvent.isEnabled()) {
+            jfrEvent.awtEvent = event;
+            jfrEvent.topFrame = stack == null ? null : topApplicationFrame(stack);
+            jfrEvent.dispatchTime = elapsedNanos;
+            jfrEvent.commit();
+        }
+
+        reporter.execute(() -> {
+            StringBuilder sb = new StringBuilder();
+            sb.append(LocalDateTime.now().format(TIME_FORMAT)).append(" EDT stall ")
+                    .append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append(" ms in ").append(event);
+            if (stack == null) {
+                sb.append(System.lineSeparator()).append("    (finished before the stack could be captured)");
+            } else {
+                for (int i = 0; i < Math.min(stack.length, MAX_FRAMES); i++) {
+                    sb.append(System.lineSeparator()).append("    at ").append(stack[i]);
+                }
+            }
+            logger.info(sb.toString());
+        });
+    }
+
+    private static String describe(AWTEvent event) {
+        String source = event.getSource() == null ? "null" : event.getSource().getClass().getName();
+        return event.getClass().getSimpleName() + " id=" + event.getID() + " from " + source;
+    }
+
+    /**
+     * @return the first frame in FocusFlow code, which is usually the slow listener
+     */
+    static String topApplicationFrame(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            String className = frame.getClassName();
+            if (className.startsWith("com.focusflow.") && !className.startsWith(EdtWatchdog.class.getName())) {
+                return frame.toString();
+            }
+        }
+        return stack.length > 0 ? stack[0].toString() : null;
+    }
+
+    /**
+     * One event being dispatched. Modal dialogs dispatch nested events,
+     * so each keeps a link to the one it interrupted.
+     */
+    private static class Dispatch {
+        private final AWTEvent event;
+        private final long start;
+        private final Thread thread;
+        private final Dispatch parent;
+        private volatile boolean nested;
+        private volatile StackTraceElement[] stack;
+
+        Dispatch(AWTEvent event, long start, Dispatch parent) {
+            this.event = event;
+            this.start = start;
+            this.thread = Thread.currentThread();
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * Event queue that times each dispatch.
+     */
+    private class MonitoredQueue extends EventQueue {
+        private volatile Dispatch current;
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            Dispatch parent = current;
+            Dispatch dispatch = new Dispatch(event, System.nanoTime(), parent);
+            if (parent != null) {
+                parent.nested = true;
+            }
+            current = dispatch;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                current = parent;
+                long elapsed = System.nanoTime() - dispatch.start;
+                dispatchTime.record(elapsed / 1000);
+                // A dispatch that ran a modal loop was waiting for the user, not stalled
+                if (elapsed >= thresholdNanos && !dispatch.nested) {
+                    report(dispatch, elapsed);
+                }
+            }
+        }
+
+        void remove() {
+            pop();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.focusflow.metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Continuous Flight Recorder recording using the packaged focusflow.jfc profile.
+ * Keeps the last half hour on disk and dumps it to focusflow.jfr on exit,
+ * so an incident report can come with a recording of what the EDT and I/O were doing.
+ *
+ * @author Edward De Jesus
+ */
+public class FlightRecording {
+
+    public static final String PROFILE = "/focusflow.jfc";
+    public static final String RECORDING_FILE = "focusflow.jfr";
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(30);
+
+    private Recording recording;
+
+    /**
+     * Loads the packaged profile.
+     */
+    public static Configuration loadProfile() throws IOException, ParseException {
+        InputStream in = FlightRecording.class.getResourceAsStream(PROFILE);
+        if (in == null) {
+            throw new IOException("Missing " + PROFILE);
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+
+    /**
+     * Starts recording; the file is written to the given directory when the app exits.
+     */
+    public synchronized void start(Path directory) throws IOException, ParseException {
+        if (recording != null) {
+            return;
+        }
+        recording = new Recording(loadProfile());
+        recording.setName("FocusFlow");
+        recording.setToDisk(true);
+        recording.setMaxAge(MAX_AGE);
+        recording.setDumpOnExit(true);
+        recording.setDestination(directory.resolve(RECORDING_FILE));
+        recording.start();
+    }
+
+    /**
+     * Writes what has been recorded so far without stopping.
+     */
+    public synchronized void dump(Path file) throws IOException {
+        if (recording != null) {
+            recording.dump(file);
+        }
+    }
+
+    public synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.focusflow.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Value read on demand, e.g. the number of loaded sessions.
+ *
+ * @author Edward De Jesus
+ */
+public class Gauge implements GaugeMBean {
+
+    private final LongSupplier supplier;
+
+    public Gauge(LongSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public long getValue() {
+        return supplier.getAsLong();
+    }
+}
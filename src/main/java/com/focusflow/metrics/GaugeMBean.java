@@ -0,0 +1,11 @@
+package com.focusflow.metrics;
+
+/**
+ * JMX view of a {@link Gauge}.
+ *
+ * @author Edward De Jesus
+ */
+public interface GaugeMBean {
+
+    long getValue();
+}
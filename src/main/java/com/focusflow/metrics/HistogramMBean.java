@@ -0,0 +1,21 @@
+package com.focusflow.metrics;
+
+/**
+ * JMX view of a {@link Histogram}.
+ *
+ * @author Edward De Jesus
+ */
+public interface HistogramMBean {
+
+    long getCount();
+
+    double getMean();
+
+    long getMax();
+
+    long get50thPercentile();
+
+    long get95thPercentile();
+
+    long get99thPercentile();
+}
@@ -0,0 +1,136 @@
+package com.focusflow.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Singleton registry of the application's runtime metrics.
+ * Metrics can be created at any time; they are published as JMX MBeans
+ * under the "com.focusflow" domain once {@link #enableJmx()} is called,
+ * so startup doesn't pay for the platform MBean server.
+ *
+ * @author Edward De Jesus
+ */
+public class MetricsRegistry {
+
+    private static final String DOMAIN = "com.focusflow";
+
+    private static MetricsRegistry instance;
+
+    private final Map<String, Object> metrics;
+    private volatile MBeanServer mbeanServer;
+
+    private MetricsRegistry() {
+        this.metrics = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the single instance.
+     */
+    public static synchronized MetricsRegistry getInstance() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets or creates the counter with the given name.
+     */
+    public Counter counter(String name) {
+        return getOrCreate(name, Counter.class, new Counter());
+    }
+
+    /**
+     * Gets or creates the histogram with the given name.
+     */
+    public Histogram histogram(String name) {
+        return getOrCreate(name, Histogram.class, new Histogram());
+    }
+
+    /**
+     * Registers a gauge, replacing any existing gauge with that name.
+     */
+    public Gauge gauge(String name, LongSupplier supplier) {
+        Gauge gauge = new Gauge(supplier);
+        Object previous = metrics.put(name, gauge);
+        if (previous != null) {
+            unregister(name, previous);
+        }
+        register(name, gauge);
+        return gauge;
+    }
+
+    private <T> T getOrCreate(String name, Class<T> type, T created) {
+        Object existing = metrics.putIfAbsent(name, created);
+        if (existing == null) {
+            register(name, created);
+            return created;
+        }
+        if (!type.isInstance(existing)) {
+            throw new IllegalArgumentException("Metric " + name + " is already a " + existing.getClass().getSimpleName());
+        }
+        return type.cast(existing);
+    }
+
+    /**
+     * @return all metrics by name, sorted
+     */
+    public Map<String, Object> getMetrics() {
+        return new TreeMap<>(metrics);
+    }
+
+    /**
+     * Publishes all current and future metrics as MBeans.
+     */
+    public synchronized void enableJmx() {
+        if (mbeanServer != null) {
+            return;
+        }
+        mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+            register(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void register(String name, Object metric) {
+        MBeanServer server = mbeanServer;
+        if (server == null) {
+            return;
+        }
+        try {
+            ObjectName objectName = objectName(name, metric);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metric, objectName);
+            }
+        } catch (JMException e) {
+            System.err.println("Failed to publish metric " + name + ": " + e.getMessage());
+        }
+    }
+
+    private void unregister(String name, Object metric) {
+        MBeanServer server = mbeanServer;
+        if (server == null) {
+            return;
+        }
+        try {
+            ObjectName objectName = objectName(name, metric);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            System.err.println("Failed to remove metric " + name + ": " + e.getMessage());
+        }
+    }
+
+    private ObjectName objectName(String name, Object metric) throws JMException {
+        return new ObjectName(DOMAIN + ":type=" + metric.getClass().getSimpleName()
+                + ",name=" + ObjectName.quote(name));
+    }
+}
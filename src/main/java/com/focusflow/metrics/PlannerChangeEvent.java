@@ -0,0 +1,22 @@
+package com.focusflow.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a planner mutation, including its save and observer updates.
+ *
+ * @author Gianluca Binetti
+ */
+@Name("com.focusflow.PlannerChange")
+@Label("Planner Change")
+@Category({ "FocusFlow", "Planner" })
+public class PlannerChangeEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Event Count")
+    public int eventCount;
+}
@@ -0,0 +1,105 @@
+package com.focusflow.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how long each startup phase takes and prints a breakdown once the
+ * window is up. Only active with -Dfocusflow.startupTrace=true; otherwise
+ * recording is a single boolean check.
+ *
+ * @author Edward De Jesus
+ */
+public final class StartupTrace {
+
+    private static final boolean ENABLED = Boolean.getBoolean("focusflow.startupTrace");
+    private static final long ORIGIN_NANOS = System.nanoTime();
+    private static final long ORIGIN_MILLIS = System.currentTimeMillis();
+
+    private static final List<Phase> phases = new ArrayList<>();
+    private static boolean finished;
+
+    private StartupTrace() {
+    }
+
+    /**
+     * @return true if startup tracing was requested
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return start time to pass to {@link #record}
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a phase that began at the given start time and ends now.
+     * Phases recorded after {@link #finish} are printed straight away.
+     */
+    public static void record(String name, long startNanos) {
+        if (!ENABLED) {
+            return;
+        }
+        Phase phase = new Phase(name, startNanos - ORIGIN_NANOS, System.nanoTime() - startNanos);
+        synchronized (phases) {
+            phases.add(phase);
+            if (finished) {
+                System.err.println("startup: " + phase.format() + " (after window shown)");
+            }
+        }
+    }
+
+    /**
+     * Prints the phases recorded so far to standard error.
+     */
+    public static void finish() {
+        if (!ENABLED) {
+            return;
+        }
+        long total = System.nanoTime() - ORIGIN_NANOS;
+        synchronized (phases) {
+            finished = true;
+            print(System.err, total);
+        }
+    }
+
+    private static void print(PrintStream out, long totalNanos) {
+        List<Phase> sorted = new ArrayList<>(phases);
+        sorted.sort((a, b) -> Long.compare(a.offsetNanos, b.offsetNanos));
+
+        out.println("Startup phases:");
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        out.printf("  %-32s %8.1f ms%n", "JVM start to main", (double) (ORIGIN_MILLIS - jvmStart));
+        for (Phase phase : sorted) {
+            out.println("  " + phase.format());
+        }
+        out.printf("  %-32s %8.1f ms%n", "total since main", totalNanos / 1e6);
+        out.printf("  %-32s %8d%n", "classes loaded",
+                ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount());
+    }
+
+    /**
+     * A finished phase, in nanoseconds relative to the trace origin.
+     */
+    private static class Phase {
+        private final String name;
+        private final long offsetNanos;
+        private final long durationNanos;
+
+        Phase(String name, long offsetNanos, long durationNanos) {
+            this.name = name;
+            this.offsetNanos = offsetNanos;
+            this.durationNanos = durationNanos;
+        }
+
+        String format() {
+            return String.format("%-32s %8.1f ms  (at +%.1f ms)", name, durationNanos / 1e6, offsetNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.focusflow.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a StorageHandler read or write.
+ *
+ * @author Edward De Jesus
+ */
+@Name("com.focusflow.Storage")
+@Label("Storage Operation")
+@Category({ "FocusFlow", "Storage" })
+public class StorageEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("File")
+    public String file;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,30 @@
+package com.focusflow.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one timer tick, including the observers it notified.
+ *
+ * @author Edward De Jesus
+ */
+@Name("com.focusflow.TimerTick")
+@Label("Timer Tick")
+@Category({ "FocusFlow", "Timer" })
+@Description("One second of the countdown, handled on the EDT")
+public class TimerTickEvent extends jdk.jfr.Event {
+
+    @Label("Remaining Seconds")
+    public int remainingSeconds;
+
+    @Label("Jitter")
+    @Description("How far the tick landed from the expected one-second interval")
+    @Timespan(Timespan.MICROSECONDS)
+    public long jitter;
+
+    @Label("Observers")
+    public int observers;
+}
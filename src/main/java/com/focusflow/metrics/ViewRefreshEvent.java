@@ -0,0 +1,24 @@
+package com.focusflow.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a view rebuild on the EDT.
+ *
+ * @author Gianluca Binetti
+ */
+@Name("com.focusflow.ViewRefresh")
+@Label("View Refresh")
+@Category({ "FocusFlow", "UI" })
+public class ViewRefreshEvent extends jdk.jfr.Event {
+
+    @Label("View")
+    public String view;
+
+    @Label("Items")
+    @Description("Table rows or components built")
+    public int items;
+}
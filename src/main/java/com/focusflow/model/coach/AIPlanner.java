@@ -1,85 +1,126 @@
 package com.focusflow.model.coach;
 
+import com.focusflow.metrics.AiCallEvent;
+import com.focusflow.metrics.Counter;
+import com.focusflow.metrics.Histogram;
+import com.focusflow.metrics.MetricsRegistry;
+import com.focusflow.model.session.SessionLogger;
+import com.focusflow.model.settings.SettingsController;
+import com.focusflow.model.storage.StorageBackends;
 import com.focusflow.observer.Event;
 import com.focusflow.observer.Observer;
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
-import okhttp3.*;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 /**
- * AI-powered planning assistant using Groq API.
- * Helps schedule study sessions using Llama models.
+ * AI-powered planning assistant.
+ * Helps schedule study sessions using a pluggable LLM provider (Groq by default).
  *
  * @author Fareed Uddin
  */
 public class AIPlanner implements Observer {
 
-    private static final String GROQ_API_URL = "https://api.groq.com/openai/v1/chat/completions";
-    private static final String DEFAULT_MODEL = "llama-3.3-70b-versatile";
+    private static final int RELEVANT_REFLECTION_DAYS = 90;
+    private static final int MAX_RELEVANT_REFLECTIONS = 3;
+    private static final Histogram CALL_LATENCY = MetricsRegistry.getInstance().histogram("ai.call.latency.us");
+    private static final Counter CALL_ERRORS = MetricsRegistry.getInstance().counter("ai.call.errors");
 
-    private String model;
-    private final OkHttpClient httpClient;
-    private final Gson gson;
+    private LlmProvider provider;
     private final StorageHandler storageHandler;
-    private final List<Reflection> reflections;
+    private final ReflectionStore reflections;
     private final List<Observer> observers;
+    private final ConversationMemory conversationMemory;
+    private AnalyticsDigest analyticsDigest;
 
     /**
      * Creates planner with default settings.
      */
     public AIPlanner() {
-        this.model = DEFAULT_MODEL;
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .build();
-        this.gson = new Gson();
-        this.storageHandler = new StorageHandler();
-        this.reflections = new ArrayList<>();
-        this.observers = new ArrayList<>();
-        loadReflections();
+        this(createDefaultProvider());
+    }
+
+    /**
+     * Creates planner that talks to the given provider and keeps reflections
+     * in the default storage backend.
+     */
+    public AIPlanner(LlmProvider provider) {
+        this(provider, new StorageHandler(), new ReflectionStore(StorageBackends.getDefault().reflections()));
     }
 
     /**
      * Creates planner with custom storage handler.
      */
     public AIPlanner(StorageHandler storageHandler) {
-        this();
+        this(createDefaultProvider(), storageHandler);
+    }
+
+    /**
+     * Creates planner that talks to the given provider and keeps reflections
+     * and the conversation in the handler's data directory.
+     */
+    public AIPlanner(LlmProvider provider, StorageHandler storageHandler) {
+        this(provider, storageHandler, new ReflectionStore(storageHandler));
     }
 
-    private String getApiKey() {
-        return com.focusflow.model.settings.SettingsController.getInstance().getGroqApiKey();
+    private AIPlanner(LlmProvider provider, StorageHandler storageHandler, ReflectionStore reflections) {
+        this.provider = provider;
+        this.storageHandler = storageHandler;
+        this.reflections = reflections;
+        this.observers = new ArrayList<>();
+        this.conversationMemory = new ConversationMemory(storageHandler);
+    }
+
+    /**
+     * Uses a local OpenAI-compatible server when one is configured, otherwise Groq.
+     */
+    private static LlmProvider createDefaultProvider() {
+        SettingsController settings = SettingsController.getInstance();
+        String endpoint = settings.getSetting(SettingsController.KEY_LLM_ENDPOINT, "");
+        if (endpoint != null && !endpoint.isEmpty()) {
+            String model = settings.getSetting(SettingsController.KEY_LLM_MODEL, "");
+            return new OpenAICompatibleProvider(endpoint, model);
+        }
+        return new GroqProvider();
     }
 
     /**
      * Sets the LLM model to use.
      */
     public void setModel(String model) {
-        this.model = model;
+        if (provider instanceof OpenAICompatibleProvider) {
+            ((OpenAICompatibleProvider) provider).setModel(model);
+        }
+    }
+
+    /**
+     * Switches to a different LLM provider.
+     */
+    public void setProvider(LlmProvider provider) {
+        if (provider != null) {
+            this.provider = provider;
+        }
+    }
+
+    public LlmProvider getProvider() {
+        return provider;
     }
 
     /**
      * @return true if there is data for feedback
      */
     public boolean hasEnoughData() {
-        return !reflections.isEmpty();
+        return !reflections.isEmpty() || SessionLogger.getInstance().getSessionCount() > 0;
     }
 
     /**
      * Sends a chat message and returns the response.
      */
     public String chat(String userMessage, com.focusflow.model.planner.Planner planner) {
-        String apiKey = getApiKey();
-        if (apiKey == null || apiKey.isEmpty()) {
-            return "Please configure your Groq API key in Settings to use the AI assistant.";
+        if (!provider.isConfigured()) {
+            return "Configure your API key in Settings to use the AI assistant.";
         }
 
         // Build the prompt
@@ -95,6 +136,13 @@ public class AIPlanner implements Observer {
                     .append("\n");
         }
 
+        appendRelevantReflections(prompt, userMessage);
+
+        String history = conversationMemory.buildContext();
+        if (!history.isEmpty()) {
+            prompt.append("\n").append(history);
+        }
+
         prompt.append("\nUser: ").append(userMessage).append("\n\n");
         prompt.append("INSTRUCTIONS:\n");
         prompt.append("1. Analyze the user's request and existing events.\n");
@@ -104,16 +152,67 @@ public class AIPlanner implements Observer {
         prompt.append("Example format:\n");
         prompt.append("[{\"action\": \"create_event\", \"title\": \"...\", \"start\": \"YYYY-MM-DDTHH:MM\", \"end\": \"YYYY-MM-DDTHH:MM\", \"isStudy\": true, \"mode\": \"POMODORO\"}]\n");
 
-        String response = callGroqAPI(prompt.toString());
-
-        // Try to parse JSON from response
-        String jsonToParse = extractJsonFromResponse(response);
-        
+        // Actions are applied as soon as each one is complete in the response
+        ActionParser parser = new ActionParser();
         List<String> addedSessions = new ArrayList<>();
-        if (jsonToParse != null) {
-            addedSessions = executeActions(jsonToParse, planner);
+        StringBuilder response = new StringBuilder();
+        AiCallEvent jfrEvent = startEvent(prompt.length(), true);
+        long start = System.nanoTime();
+        try {
+            provider.stream(prompt.toString(), chunk -> {
+                response.append(chunk);
+                addedSessions.addAll(executeActions(parser.feed(chunk), planner));
+            });
+            CALL_LATENCY.recordSince(start);
+            jfrEvent.success = true;
+        } catch (IOException e) {
+            CALL_ERRORS.increment();
+            response.setLength(0);
+            response.append("Connection error: ").append(e.getMessage());
+        }
+        jfrEvent.responseChars = response.length();
+        jfrEvent.commit();
+        parser.finish();
+        for (String error : parser.getErrors()) {
+            System.err.println("Skipped AI action: " + error);
         }
 
+        String reply = buildReply(response.toString().trim(), parser, addedSessions);
+        conversationMemory.addUserMessage(userMessage);
+        conversationMemory.addAssistantMessage(reply);
+        return reply;
+    }
+
+    /**
+     * Adds the few recent reflections that mention words from the user's message.
+     */
+    private void appendRelevantReflections(StringBuilder prompt, String userMessage) {
+        LocalDateTime since = LocalDateTime.now().minusDays(RELEVANT_REFLECTION_DAYS);
+        List<Reflection> relevant = new ArrayList<>();
+        for (String word : new java.util.LinkedHashSet<>(ReflectionStore.tokenize(userMessage))) {
+            for (Reflection r : reflections.search(word, since, null)) {
+                if (!relevant.contains(r)) {
+                    relevant.add(r);
+                }
+            }
+            if (relevant.size() >= MAX_RELEVANT_REFLECTIONS) {
+                break;
+            }
+        }
+        if (relevant.isEmpty()) {
+            return;
+        }
+        prompt.append("\nRelevant reflections from the user:\n");
+        for (Reflection r : relevant.subList(0, Math.min(MAX_RELEVANT_REFLECTIONS, relevant.size()))) {
+            prompt.append("- ").append(r.getTimestamp().toLocalDate()).append(" (rating ")
+                    .append(r.getProductivityRating()).append("): ").append(r.getText()).append("\n");
+        }
+    }
+
+    /**
+     * Builds the chat reply from the AI response and the actions applied.
+     */
+    private String buildReply(String response, ActionParser parser, List<String> addedSessions) {
         if (!addedSessions.isEmpty()) {
             StringBuilder sb = new StringBuilder();
             sb.append("I've added the following study session(s) to your calendar:\n\n");
@@ -122,7 +221,7 @@ public class AIPlanner implements Observer {
             }
             sb.append("\nCheck the calendar to see your updated schedule!");
             return sb.toString();
-        } else if (jsonToParse != null) {
+        } else if (parser.hasFoundJson()) {
             return "I've reviewed your schedule. No changes were needed at this time.";
         }
 
@@ -131,65 +230,23 @@ public class AIPlanner implements Observer {
     }
 
     /**
-     * Extracts JSON array from AI response.
+     * Applies the valid actions to the planner as a single batch.
+     * @return summaries of the events that were added
      */
-    private String extractJsonFromResponse(String response) {
-        String text = response.trim();
-        
-        // Look for JSON in code block
-        if (text.contains("```json")) {
-            int start = text.indexOf("```json") + 7;
-            int end = text.lastIndexOf("```");
-            if (end > start) {
-                return text.substring(start, end).trim();
-            }
-        }
-        
-        // Look for raw JSON array
-        if (text.contains("[") && text.contains("]")) {
-            int start = text.indexOf("[");
-            int end = text.lastIndexOf("]") + 1;
-            if (end > start) {
-                return text.substring(start, end).trim();
-            }
-        }
-        
-        return null;
-    }
-
-    private List<String> executeActions(String json, com.focusflow.model.planner.Planner planner) {
+    List<String> executeActions(List<PlannerAction> actions, com.focusflow.model.planner.Planner planner) {
         List<String> addedSessions = new ArrayList<>();
-
-        try {
-            JsonArray actions = gson.fromJson(json, JsonArray.class);
-            for (int i = 0; i < actions.size(); i++) {
-                JsonObject action = actions.get(i).getAsJsonObject();
-                String type = action.get("action").getAsString();
-
-                if ("create_event".equals(type)) {
-                    String title = action.get("title").getAsString();
-                    String desc = action.has("description") ? action.get("description").getAsString() : "";
-                    java.time.LocalDateTime start = java.time.LocalDateTime.parse(action.get("start").getAsString());
-                    java.time.LocalDateTime end = java.time.LocalDateTime.parse(action.get("end").getAsString());
-
-                    String mode = action.has("mode") ? action.get("mode").getAsString() : "POMODORO";
-                    boolean added = planner.addStudyEvent(title, desc, start, end, mode);
-                    if (added) {
-                        addedSessions.add(title + " on " + start.toLocalDate());
-                    }
-                } else if ("delete_event".equals(type)) {
-                    String title = action.get("title").getAsString();
-                    for (com.focusflow.model.planner.Planner.PlannerEvent e : planner.getAllEvents()) {
-                        if (e.getTitle().equals(title)) {
-                            planner.removeEvent(e.getId());
-                            break;
-                        }
+        planner.runBatch(() -> {
+            for (PlannerAction action : actions) {
+                try {
+                    String added = action.applyTo(planner);
+                    if (added != null) {
+                        addedSessions.add(added);
                     }
+                } catch (Exception e) {
+                    System.err.println("Failed to execute AI action " + action + ": " + e.getMessage());
                 }
             }
-        } catch (Exception e) {
-            System.err.println("Failed to execute AI actions: " + e.getMessage());
-        }
+        });
         return addedSessions;
     }
 
@@ -197,62 +254,77 @@ public class AIPlanner implements Observer {
      * Gets general productivity feedback from AI.
      */
     public String generateFeedback() {
-        if (getApiKey() == null || getApiKey().isEmpty()) {
+        if (!provider.isConfigured()) {
             return "Configure your API key in Settings to get AI feedback.";
         }
         if (!hasEnoughData()) {
             return "Not enough data yet. Complete a session to get AI feedback.";
         }
-        return callGroqAPI("Give 3 short productivity tips based on user data.");
+        String prompt = "You are a study coach. Here is a summary of the user's study data:\n"
+                + getAnalyticsDigest().getDigest(reflections.getAll())
+                + "\nGive 3 short, specific productivity tips based on this data.";
+        return callProvider(prompt);
     }
 
-    private String callGroqAPI(String prompt) {
+    private synchronized AnalyticsDigest getAnalyticsDigest() {
+        if (analyticsDigest == null) {
+            analyticsDigest = new AnalyticsDigest(SessionLogger.getInstance());
+        }
+        return analyticsDigest;
+    }
+
+    private String callProvider(String prompt) {
+        AiCallEvent jfrEvent = startEvent(prompt.length(), false);
+        long start = System.nanoTime();
         try {
-            JsonObject requestBody = new JsonObject();
-            requestBody.addProperty("model", model);
-            JsonArray messages = new JsonArray();
-            JsonObject msg = new JsonObject();
-            msg.addProperty("role", "user");
-            msg.addProperty("content", prompt);
-            messages.add(msg);
-            requestBody.add("messages", messages);
-            requestBody.addProperty("temperature", 0.7);
-
-            Request request = new Request.Builder()
-                    .url(GROQ_API_URL)
-                    .addHeader("Authorization", "Bearer " + getApiKey())
-                    .post(RequestBody.create(requestBody.toString(), MediaType.parse("application/json")))
-                    .build();
-
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    return "Error: " + response.code();
-                }
-                String body = response.body().string();
-                JsonObject jsonResponse = gson.fromJson(body, JsonObject.class);
-                return jsonResponse.getAsJsonArray("choices")
-                        .get(0).getAsJsonObject()
-                        .getAsJsonObject("message")
-                        .get("content").getAsString().trim();
-            }
-        } catch (Exception e) {
+            String response = provider.complete(prompt);
+            CALL_LATENCY.recordSince(start);
+            jfrEvent.success = true;
+            jfrEvent.responseChars = response == null ? 0 : response.length();
+            return response;
+        } catch (IOException e) {
+            CALL_ERRORS.increment();
             return "Connection error: " + e.getMessage();
+        } finally {
+            jfrEvent.commit();
         }
     }
 
+    private AiCallEvent startEvent(int promptChars, boolean streamed) {
+        AiCallEvent event = new AiCallEvent();
+        event.begin();
+        event.provider = provider.getName();
+        event.streamed = streamed;
+        event.promptChars = promptChars;
+        return event;
+    }
+
     /**
      * Saves a reflection to storage.
      */
     public void saveReflection(Reflection r) {
         reflections.add(r);
-        storageHandler.saveReflections(reflections);
     }
 
     /**
      * @return all saved reflections
      */
     public List<Reflection> getReflections() {
-        return new ArrayList<>(reflections);
+        return reflections.getAll();
+    }
+
+    /**
+     * @return the indexed reflection store
+     */
+    public ReflectionStore getReflectionStore() {
+        return reflections;
+    }
+
+    /**
+     * @return the memory of the current conversation
+     */
+    public ConversationMemory getConversationMemory() {
+        return conversationMemory;
     }
 
     /**
@@ -270,14 +342,6 @@ public class AIPlanner implements Observer {
         observers.remove(o);
     }
 
-    private void loadReflections() {
-        Type listType = new TypeToken<List<Reflection>>() {}.getType();
-        List<Reflection> loaded = storageHandler.loadReflections(listType);
-        if (loaded != null) {
-            reflections.addAll(loaded);
-        }
-    }
-
     @Override
     public void update(Event e) {
         // Handle events if needed
@@ -0,0 +1,258 @@
+package com.focusflow.model.coach;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental parser for the JSON action array returned by the AI.
+ * Text can be fed in chunks as it streams in; each action object is
+ * parsed and validated on its own as soon as it is complete, so one
+ * broken action does not discard the rest.
+ * <p>
+ * The array inside a ```json block is preferred. Without one, the first
+ * array that starts with an object is used, so brackets in the prose
+ * such as "[Chapter 3]" are skipped.
+ *
+ * @author Fareed Uddin
+ */
+public class ActionParser {
+
+    private static final String FENCE = "```json";
+
+    private final StringBuilder buffer;
+    private final List<String> errors;
+
+    private int scanPos;
+    private int depth;
+    private int objectStart;
+    private boolean inString;
+    private boolean escaped;
+    private boolean inFence;
+    private boolean arrayStarted;
+    private boolean arrayClosed;
+
+    public ActionParser() {
+        this.buffer = new StringBuilder();
+        this.errors = new ArrayList<>();
+        this.objectStart = -1;
+    }
+
+    /**
+     * Parses a complete response in one go.
+     * @return all valid actions found in the response
+     */
+    public static List<PlannerAction> parse(String response) {
+        ActionParser parser = new ActionParser();
+        List<PlannerAction> actions = parser.feed(response);
+        parser.finish();
+        return actions;
+    }
+
+    /**
+     * Appends more response text and returns any actions completed by it.
+     */
+    public List<PlannerAction> feed(String chunk) {
+        List<PlannerAction> completed = new ArrayList<>();
+        if (chunk == null || arrayClosed) {
+            return completed;
+        }
+        buffer.append(chunk);
+
+        if (!arrayStarted && !inFence) {
+            int fence = buffer.indexOf(FENCE, scanPos);
+            if (fence >= 0) {
+                // skip anything in the prose before the code block
+                inFence = true;
+                scanPos = fence + FENCE.length();
+            }
+        }
+
+        while (scanPos < buffer.length() && !arrayClosed) {
+            char c = buffer.charAt(scanPos);
+
+            if (!arrayStarted) {
+                if (!inFence && c == '`' && buffer.length() - scanPos < FENCE.length()
+                        && FENCE.startsWith(buffer.substring(scanPos))) {
+                    break; // may be the start of a fence; wait for more text
+                }
+                if (c == '[') {
+                    int next = nextNonWhitespace(scanPos + 1);
+                    if (next < 0) {
+                        break; // wait for more text to see what the array holds
+                    }
+                    if (inFence || buffer.charAt(next) == '{') {
+                        arrayStarted = true;
+                        depth = 1;
+                    }
+                }
+                scanPos++;
+                continue;
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                scanPos++;
+                continue;
+            }
+
+            switch (c) {
+                case '"':
+                    inString = true;
+                    break;
+                case '{':
+                case '[':
+                    if (depth == 1 && c == '{') {
+                        objectStart = scanPos;
+                    }
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    if (depth == 1 && c == '}' && objectStart >= 0) {
+                        PlannerAction action = parseAction(buffer.substring(objectStart, scanPos + 1));
+                        if (action != null) {
+                            completed.add(action);
+                        }
+                        objectStart = -1;
+                    } else if (depth == 0) {
+                        arrayClosed = true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            scanPos++;
+        }
+        return completed;
+    }
+
+    /**
+     * Marks the end of the response, recording an error for a truncated action.
+     */
+    public void finish() {
+        if (objectStart >= 0) {
+            errors.add("Incomplete action at end of response");
+            objectStart = -1;
+        }
+    }
+
+    /**
+     * @return true once the start of an action array has been seen
+     */
+    public boolean hasFoundJson() {
+        return arrayStarted;
+    }
+
+    /**
+     * @return true once the action array has been closed
+     */
+    public boolean isComplete() {
+        return arrayClosed;
+    }
+
+    /**
+     * @return descriptions of actions that were skipped as invalid
+     */
+    public List<String> getErrors() {
+        return new ArrayList<>(errors);
+    }
+
+    private PlannerAction parseAction(String json) {
+        String type = null;
+        String title = null;
+        String description = null;
+        String start = null;
+        String end = null;
+        String mode = null;
+
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                switch (name) {
+                    case "action": type = nextString(reader); break;
+                    case "title": title = nextString(reader); break;
+                    case "description": description = nextString(reader); break;
+                    case "start": start = nextString(reader); break;
+                    case "end": end = nextString(reader); break;
+                    case "mode": mode = nextString(reader); break;
+                    default: reader.skipValue(); break;
+                }
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException e) {
+            errors.add("Malformed action " + json + ": " + e.getMessage());
+            return null;
+        }
+
+        if (type == null) {
+            errors.add("Action without type: " + json);
+            return null;
+        }
+        if (title == null || title.isEmpty()) {
+            errors.add("Action without title: " + json);
+            return null;
+        }
+
+        if (PlannerAction.DELETE_EVENT.equals(type)) {
+            return new PlannerAction(type, title, description, null, null, mode);
+        }
+        if (!PlannerAction.CREATE_EVENT.equals(type)) {
+            errors.add("Unknown action type: " + type);
+            return null;
+        }
+
+        if (start == null || end == null) {
+            errors.add("Action without start or end time: " + title);
+            return null;
+        }
+        try {
+            LocalDateTime startTime = LocalDateTime.parse(start);
+            LocalDateTime endTime = LocalDateTime.parse(end);
+            if (!endTime.isAfter(startTime)) {
+                errors.add("Action ends before it starts: " + title);
+                return null;
+            }
+            return new PlannerAction(type, title, description, startTime, endTime, mode);
+        } catch (DateTimeParseException e) {
+            errors.add("Invalid time for action " + title + ": " + start + " to " + end);
+            return null;
+        }
+    }
+
+    /**
+     * @return position of the first non-whitespace character from the given one, or -1 if none yet
+     */
+    private int nextNonWhitespace(int from) {
+        for (int i = from; i < buffer.length(); i++) {
+            if (!Character.isWhitespace(buffer.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String nextString(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return reader.nextString();
+        }
+        reader.skipValue();
+        return null;
+    }
+}
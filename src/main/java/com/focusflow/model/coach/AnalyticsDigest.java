@@ -0,0 +1,258 @@
+package com.focusflow.model.coach;
+
+import com.focusflow.model.session.SessionLogger;
+import com.focusflow.model.session.SessionRecord;
+import com.focusflow.model.session.SessionVisitor;
+import com.focusflow.observer.Event;
+import com.focusflow.observer.Observer;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact summary of the user's study history for AI feedback prompts.
+ * Computed locally in one scan of the history, without building a
+ * SessionRecord per session, and cached until a session is logged or the
+ * day changes, so the prompt stays a fixed size however much history
+ * there is.
+ *
+ * @author Fareed Uddin
+ */
+public class AnalyticsDigest implements Observer {
+
+    private static final int TREND_WEEKS = 4;
+    private static final String[] TIME_BUCKETS = { "night", "morning", "afternoon", "evening" };
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final SessionLogger sessionLogger;
+    private String cachedDigest;
+    private int cachedReflectionCount;
+    private LocalDate cachedDate;
+
+    public AnalyticsDigest(SessionLogger sessionLogger) {
+        this.sessionLogger = sessionLogger;
+        this.cachedReflectionCount = -1;
+        sessionLogger.addObserver(this);
+    }
+
+    /**
+     * @return the digest text, recomputed only if sessions, reflections or the date changed
+     */
+    public synchronized String getDigest(List<Reflection> reflections) {
+        LocalDate today = LocalDate.now();
+        if (cachedDigest == null || reflections.size() != cachedReflectionCount || !today.equals(cachedDate)) {
+            Tally tally = new Tally(today);
+            sessionLogger.scanHistory(tally);
+            // read after the scan so every mode number it saw has a name
+            cachedDigest = format(tally, sessionLogger.getModeNames(), reflections, today);
+            cachedReflectionCount = reflections.size();
+            cachedDate = today;
+        }
+        return cachedDigest;
+    }
+
+    /**
+     * Drops the cached digest.
+     */
+    public synchronized void invalidate() {
+        cachedDigest = null;
+    }
+
+    /**
+     * Builds the digest text from the given history.
+     */
+    static String compute(List<SessionRecord> sessions, List<Reflection> reflections, LocalDate today) {
+        List<String> modeNames = new ArrayList<>();
+        Tally tally = new Tally(today);
+        for (SessionRecord session : sessions) {
+            if (session.getStartTime() == null) {
+                continue;
+            }
+            int mode = -1;
+            if (session.getModeName() != null) {
+                mode = modeNames.indexOf(session.getModeName());
+                if (mode < 0) {
+                    mode = modeNames.size();
+                    modeNames.add(session.getModeName());
+                }
+            }
+            tally.visit(session.getStartTime().toEpochSecond(ZoneOffset.UTC), session.getDurationMinutes(),
+                    mode, session.isCompleted());
+        }
+        return format(tally, modeNames, reflections, today);
+    }
+
+    private static String format(Tally tally, List<String> modeNames, List<Reflection> reflections,
+            LocalDate today) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Sessions: ").append(tally.total).append(" (").append(tally.completed).append(" completed, ")
+                .append(tally.focusMinutes / 60).append("h ").append(tally.focusMinutes % 60).append("m focus)\n");
+
+        sb.append("Focus minutes by weekday:");
+        for (DayOfWeek day : DayOfWeek.values()) {
+            sb.append(' ').append(day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
+                    .append('=').append(tally.weekdayMinutes[day.ordinal()]);
+        }
+        sb.append('\n');
+
+        sb.append("Completion rate by week (this week first):");
+        for (int week = 0; week < TREND_WEEKS; week++) {
+            int total = tally.weekTotal[week];
+            sb.append(' ').append(total == 0 ? "-" : (tally.weekCompleted[week] * 100 / total) + "%");
+        }
+        sb.append('\n');
+
+        int best = 0;
+        for (int i = 1; i < tally.bucketMinutes.length; i++) {
+            if (tally.bucketMinutes[i] > tally.bucketMinutes[best]) {
+                best = i;
+            }
+        }
+        sb.append("Best time of day: ").append(tally.completed == 0 ? "unknown" : TIME_BUCKETS[best]).append('\n');
+
+        sb.append("Streak: ").append(currentStreak(tally.activeDays, today)).append(" days current, ")
+                .append(longestStreak(tally.activeDays)).append(" days longest\n");
+
+        Map<String, Integer> modeCounts = new TreeMap<>();
+        for (int i = 0; i < tally.modeCounts.length && i < modeNames.size(); i++) {
+            if (tally.modeCounts[i] > 0) {
+                modeCounts.merge(modeNames.get(i), tally.modeCounts[i], Integer::sum);
+            }
+        }
+        sb.append("Mode mix:");
+        for (Map.Entry<String, Integer> entry : modeCounts.entrySet()) {
+            sb.append(' ').append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        sb.append('\n');
+
+        appendReflections(sb, reflections, today);
+        return sb.toString();
+    }
+
+    private static void appendReflections(StringBuilder sb, List<Reflection> reflections, LocalDate today) {
+        if (reflections.isEmpty()) {
+            sb.append("Reflections: none\n");
+            return;
+        }
+        int ratingSum = 0;
+        int recentSum = 0;
+        int recentCount = 0;
+        Reflection latest = null;
+        for (Reflection r : reflections) {
+            ratingSum += r.getProductivityRating();
+            if (r.getTimestamp() != null && !r.getTimestamp().toLocalDate().isBefore(today.minusDays(30))) {
+                recentSum += r.getProductivityRating();
+                recentCount++;
+            }
+            if (latest == null || latest.getTimestamp() == null
+                    || (r.getTimestamp() != null && r.getTimestamp().isAfter(latest.getTimestamp()))) {
+                latest = r;
+            }
+        }
+        sb.append("Reflections: ").append(reflections.size())
+                .append(String.format(", avg rating %.1f", (double) ratingSum / reflections.size()));
+        if (recentCount > 0) {
+            sb.append(String.format(", last 30 days %.1f", (double) recentSum / recentCount));
+        }
+        sb.append('\n');
+        if (latest != null && latest.getText() != null && !latest.getText().isEmpty()) {
+            String text = latest.getText().replace('\n', ' ');
+            sb.append("Latest reflection: \"").append(text.length() > 120 ? text.substring(0, 117) + "..." : text)
+                    .append("\"\n");
+        }
+    }
+
+    private static int timeBucket(int hour) {
+        if (hour >= 5 && hour < 12) return 1;
+        if (hour >= 12 && hour < 17) return 2;
+        if (hour >= 17 && hour < 22) return 3;
+        return 0;
+    }
+
+    private static int currentStreak(BitSet activeDays, LocalDate today) {
+        int day = (int) today.toEpochDay();
+        int streak = 0;
+        while (day - streak >= 0 && activeDays.get(day - streak)) {
+            streak++;
+        }
+        return streak;
+    }
+
+    private static int longestStreak(BitSet activeDays) {
+        int longest = 0;
+        for (int start = activeDays.nextSetBit(0); start >= 0; ) {
+            int end = activeDays.nextClearBit(start);
+            longest = Math.max(longest, end - start);
+            start = activeDays.nextSetBit(end);
+        }
+        return longest;
+    }
+
+    /**
+     * Running totals for one scan of the history.
+     */
+    private static class Tally implements SessionVisitor {
+        private final long today;
+        private final int[] weekdayMinutes = new int[7];
+        private final int[] bucketMinutes = new int[TIME_BUCKETS.length];
+        private final int[] weekTotal = new int[TREND_WEEKS];
+        private final int[] weekCompleted = new int[TREND_WEEKS];
+        private final BitSet activeDays = new BitSet();
+        private int[] modeCounts = new int[8];
+        private int total;
+        private int completed;
+        private int focusMinutes;
+
+        Tally(LocalDate today) {
+            this.today = today.toEpochDay();
+        }
+
+        @Override
+        public void visit(long startSecond, int durationMinutes, int mode, boolean completedSession) {
+            long day = Math.floorDiv(startSecond, SECONDS_PER_DAY);
+            total++;
+            if (mode >= 0) {
+                if (mode >= modeCounts.length) {
+                    modeCounts = Arrays.copyOf(modeCounts, Math.max(mode + 1, modeCounts.length * 2));
+                }
+                modeCounts[mode]++;
+            }
+
+            long weeksAgo = (today - day) / 7;
+            if (weeksAgo >= 0 && weeksAgo < TREND_WEEKS) {
+                weekTotal[(int) weeksAgo]++;
+            }
+            if (!completedSession) {
+                return;
+            }
+
+            completed++;
+            focusMinutes += durationMinutes;
+            // 1970-01-01 was a Thursday
+            weekdayMinutes[Math.floorMod(day + 3, 7)] += durationMinutes;
+            bucketMinutes[timeBucket((int) (Math.floorMod(startSecond, SECONDS_PER_DAY) / 3600))] += durationMinutes;
+            if (day >= 0 && day <= Integer.MAX_VALUE) {
+                activeDays.set((int) day);
+            }
+            if (weeksAgo >= 0 && weeksAgo < TREND_WEEKS) {
+                weekCompleted[(int) weeksAgo]++;
+            }
+        }
+    }
+
+    @Override
+    public void update(Event event) {
+        if (event.getType() == Event.EventType.SESSION_COMPLETED) {
+            invalidate();
+        }
+    }
+}
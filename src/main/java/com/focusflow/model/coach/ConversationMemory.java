@@ -0,0 +1,175 @@
+package com.focusflow.model.coach;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rolling memory of the chat with the AI assistant.
+ * The most recent turns are kept word for word, older turns are folded
+ * into a short summary, and the whole context is kept under a token budget
+ * so the prompt size stays roughly constant however long the chat runs.
+ * Safe to use from the chat worker and the event dispatch thread at once.
+ *
+ * @author Fareed Uddin
+ */
+public class ConversationMemory {
+
+    private static final int DEFAULT_MAX_TURNS = 6;
+    private static final int DEFAULT_TOKEN_BUDGET = 800;
+    private static final int SUMMARY_LINE_LENGTH = 100;
+
+    private final StorageHandler storageHandler;
+    private final int maxTurns;
+    private final int tokenBudget;
+    private MemoryState state;
+
+    public ConversationMemory(StorageHandler storageHandler) {
+        this(storageHandler, DEFAULT_MAX_TURNS, DEFAULT_TOKEN_BUDGET);
+    }
+
+    public ConversationMemory(StorageHandler storageHandler, int maxTurns, int tokenBudget) {
+        if (maxTurns <= 0 || tokenBudget <= 0) {
+            throw new IllegalArgumentException("Turn limit and token budget must be positive");
+        }
+        this.storageHandler = storageHandler;
+        this.maxTurns = maxTurns;
+        this.tokenBudget = tokenBudget;
+        this.state = new MemoryState();
+        load();
+    }
+
+    /**
+     * Rough token estimate (about four characters per token).
+     */
+    public static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + 3) / 4;
+    }
+
+    public synchronized void addUserMessage(String text) {
+        addTurn("User", text);
+    }
+
+    public synchronized void addAssistantMessage(String text) {
+        addTurn("Assistant", text);
+    }
+
+    private void addTurn(String role, String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return;
+        }
+        state.turns.add(new Turn(role, text.trim()));
+        compact();
+        save();
+    }
+
+    /**
+     * Folds the oldest turns into the summary until both limits hold,
+     * then trims the summary itself from the oldest line. A single turn that
+     * is too long on its own is cut short.
+     */
+    private void compact() {
+        while (state.turns.size() > 1
+                && (state.turns.size() > maxTurns || estimateTokens(buildContext()) > tokenBudget)) {
+            Turn oldest = state.turns.remove(0);
+            state.summary.add(oldest.role + " said: " + shorten(oldest.text));
+        }
+        while (!state.summary.isEmpty() && estimateTokens(buildContext()) > tokenBudget) {
+            state.summary.remove(0);
+        }
+        int excess = buildContext().length() - tokenBudget * 4;
+        if (excess > 0 && !state.turns.isEmpty()) {
+            Turn only = state.turns.get(0);
+            int keep = Math.max(0, only.text.length() - excess - 3);
+            state.turns.set(0, new Turn(only.role, only.text.substring(0, keep) + "..."));
+        }
+    }
+
+    private String shorten(String text) {
+        String line = text.replace('\n', ' ');
+        int sentenceEnd = line.indexOf(". ");
+        if (sentenceEnd > 0 && sentenceEnd < SUMMARY_LINE_LENGTH) {
+            return line.substring(0, sentenceEnd + 1);
+        }
+        return line.length() > SUMMARY_LINE_LENGTH ? line.substring(0, SUMMARY_LINE_LENGTH - 3) + "..." : line;
+    }
+
+    /**
+     * @return prompt text with the summary and the recent turns, or empty if there is no history
+     */
+    public synchronized String buildContext() {
+        StringBuilder sb = new StringBuilder();
+        if (!state.summary.isEmpty()) {
+            sb.append("Summary of earlier conversation:\n");
+            for (String line : state.summary) {
+                sb.append("- ").append(line).append("\n");
+            }
+        }
+        if (!state.turns.isEmpty()) {
+            sb.append("Recent conversation:\n");
+            for (Turn turn : state.turns) {
+                sb.append(turn.role).append(": ").append(turn.text).append("\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return number of turns kept verbatim
+     */
+    public synchronized int getTurnCount() {
+        return state.turns.size();
+    }
+
+    /**
+     * @return copy of the summary lines for older turns
+     */
+    public synchronized List<String> getSummary() {
+        return new ArrayList<>(state.summary);
+    }
+
+    /**
+     * Forgets the whole conversation.
+     */
+    public synchronized void clear() {
+        state = new MemoryState();
+        save();
+    }
+
+    private void save() {
+        if (storageHandler != null) {
+            storageHandler.saveConversation(state);
+        }
+    }
+
+    private void load() {
+        if (storageHandler == null) {
+            return;
+        }
+        MemoryState loaded = storageHandler.loadConversation(MemoryState.class);
+        if (loaded != null && loaded.turns != null && loaded.summary != null) {
+            state = loaded;
+            compact();
+        }
+    }
+
+    /**
+     * Persisted form of the memory.
+     */
+    private static class MemoryState {
+        private List<String> summary = new ArrayList<>();
+        private List<Turn> turns = new ArrayList<>();
+    }
+
+    /**
+     * A single message in the conversation.
+     */
+    private static class Turn {
+        private final String role;
+        private final String text;
+
+        Turn(String role, String text) {
+            this.role = role;
+            this.text = text;
+        }
+    }
+}
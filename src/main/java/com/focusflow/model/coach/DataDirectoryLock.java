@@ -0,0 +1,108 @@
+package com.focusflow.model.coach;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serialises changes to the files in one data directory, across threads,
+ * across StorageHandler instances and across processes. Each name hashes to
+ * one of a few stripes; a stripe is a ReentrantLock shared by every instance
+ * in this JVM plus a one-byte region of the directory's .lock file, locked
+ * with FileChannel so another FocusFlow process waits for it too.
+ * <p>
+ * If the lock file can't be opened or locked, changes still run, guarded by
+ * the in-process lock only.
+ *
+ * @author Fareed Uddin
+ */
+final class DataDirectoryLock {
+
+    static final int STRIPES = 16;
+    static final String LOCK_FILE = ".lock";
+
+    private static final Map<Path, DataDirectoryLock> locks = new HashMap<>();
+
+    private final Path lockFile;
+    private final ReentrantLock[] stripes;
+    private FileChannel channel;
+    private boolean channelFailed;
+
+    private DataDirectoryLock(Path directory) {
+        this.lockFile = directory.resolve(LOCK_FILE);
+        this.stripes = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * @return the lock shared by everything in this JVM that uses the directory
+     */
+    static synchronized DataDirectoryLock forDirectory(Path directory) {
+        return locks.computeIfAbsent(directory.toAbsolutePath().normalize(), DataDirectoryLock::new);
+    }
+
+    /**
+     * Runs the action holding the stripe for the name. Reentrant, so an
+     * action may take the same name again.
+     */
+    <T> T call(String name, Supplier<T> action) {
+        int stripe = Math.floorMod(name.hashCode(), STRIPES);
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        FileLock fileLock = null;
+        try {
+            // File locks belong to the whole JVM, so only the outermost hold takes one
+            if (lock.getHoldCount() == 1) {
+                fileLock = lockRegion(stripe);
+            }
+            return action.get();
+        } finally {
+            if (fileLock != null) {
+                try {
+                    fileLock.release();
+                } catch (IOException e) {
+                    System.err.println("Failed to release lock on " + lockFile + ": " + e.getMessage());
+                }
+            }
+            lock.unlock();
+        }
+    }
+
+    private FileLock lockRegion(int stripe) {
+        FileChannel lockChannel = channel();
+        if (lockChannel == null) {
+            return null;
+        }
+        try {
+            return lockChannel.lock(stripe, 1, false);
+        } catch (IOException e) {
+            System.err.println("Failed to lock " + lockFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Opens the lock file once and keeps it open: on some platforms closing
+     * any channel to a file drops every lock the JVM holds on it.
+     */
+    private synchronized FileChannel channel() {
+        if (channel == null && !channelFailed) {
+            try {
+                channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                channelFailed = true;
+                System.err.println("Failed to open " + lockFile + ", locking within this process only: "
+                        + e.getMessage());
+            }
+        }
+        return channel;
+    }
+}
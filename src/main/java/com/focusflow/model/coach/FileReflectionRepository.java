@@ -0,0 +1,50 @@
+package com.focusflow.model.coach;
+
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Appends reflections to reflections.jsonl; positions are byte offsets
+ * into it. A reflections.json from before the log existed is copied into
+ * the log the first time.
+ *
+ * @author Fareed Uddin
+ */
+public class FileReflectionRepository implements ReflectionRepository {
+
+    private final StorageHandler storageHandler;
+
+    public FileReflectionRepository(StorageHandler storageHandler) {
+        this.storageHandler = storageHandler;
+        migrate();
+    }
+
+    @Override
+    public void add(Reflection reflection) {
+        storageHandler.appendReflection(reflection);
+    }
+
+    @Override
+    public long readAfter(long position, List<Reflection> reflections) {
+        return storageHandler.readReflectionLog(Reflection.class, position, reflections);
+    }
+
+    private void migrate() {
+        storageHandler.updateReflectionLog(() -> {
+            if (storageHandler.hasReflectionLog()) {
+                return;
+            }
+            Type listType = new TypeToken<List<Reflection>>() {}.getType();
+            List<Reflection> loaded = storageHandler.loadReflections(listType);
+            if (loaded != null) {
+                for (Reflection r : loaded) {
+                    if (r != null) {
+                        storageHandler.appendReflection(r);
+                    }
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.focusflow.model.coach;
+
+import com.focusflow.model.settings.SettingsController;
+
+/**
+ * Provider for the hosted Groq API using Llama models.
+ *
+ * @author Fareed Uddin
+ */
+public class GroqProvider extends OpenAICompatibleProvider {
+
+    private static final String GROQ_API_URL = "https://api.groq.com/openai/v1/chat/completions";
+    private static final String DEFAULT_MODEL = "llama-3.3-70b-versatile";
+
+    public GroqProvider() {
+        super("groq", GROQ_API_URL, DEFAULT_MODEL,
+                () -> SettingsController.getInstance().getGroqApiKey(), 60, 4, true);
+    }
+
+    /**
+     * Groq needs an API key from Settings or the GROQ_API_KEY variable.
+     */
+    @Override
+    public boolean isConfigured() {
+        String apiKey = SettingsController.getInstance().getGroqApiKey();
+        return apiKey != null && !apiKey.isEmpty();
+    }
+}
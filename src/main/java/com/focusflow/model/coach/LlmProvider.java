@@ -0,0 +1,41 @@
+package com.focusflow.model.coach;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Backend that turns a prompt into a model response.
+ * Implementations own their own timeouts and concurrency limits.
+ *
+ * @author Fareed Uddin
+ */
+public interface LlmProvider {
+
+    /**
+     * @return short name used in logs and settings
+     */
+    String getName();
+
+    /**
+     * @return true if the provider has everything it needs to make calls
+     */
+    boolean isConfigured();
+
+    /**
+     * Sends the prompt and waits for the full response.
+     */
+    String complete(String prompt) throws IOException;
+
+    /**
+     * @return true if {@link #stream} delivers text as it is generated
+     */
+    boolean supportsStreaming();
+
+    /**
+     * Sends the prompt and passes the response to the consumer in chunks.
+     * Providers without streaming deliver the whole response as one chunk.
+     */
+    default void stream(String prompt, Consumer<String> onChunk) throws IOException {
+        onChunk.accept(complete(prompt));
+    }
+}
@@ -0,0 +1,89 @@
+package com.focusflow.model.coach;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Deterministic in-process provider for tests and benchmarks.
+ * Never touches the network.
+ *
+ * @author Fareed Uddin
+ */
+public class MockLlmProvider implements LlmProvider {
+
+    private final Function<String, String> responder;
+    private final int chunkSize;
+    private final List<String> prompts;
+
+    /**
+     * Creates a mock that cycles through the given responses.
+     */
+    public MockLlmProvider(String... responses) {
+        this(cycle(responses), 16);
+    }
+
+    /**
+     * Creates a mock that computes each response from the prompt.
+     *
+     * @param chunkSize characters per chunk when streaming
+     */
+    public MockLlmProvider(Function<String, String> responder, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.responder = responder;
+        this.chunkSize = chunkSize;
+        this.prompts = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    private static Function<String, String> cycle(String[] responses) {
+        if (responses.length == 0) {
+            return prompt -> "";
+        }
+        int[] next = { 0 };
+        return prompt -> {
+            synchronized (next) {
+                return responses[next[0]++ % responses.length];
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return "mock";
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return true;
+    }
+
+    @Override
+    public String complete(String prompt) {
+        prompts.add(prompt);
+        return responder.apply(prompt);
+    }
+
+    @Override
+    public boolean supportsStreaming() {
+        return true;
+    }
+
+    @Override
+    public void stream(String prompt, Consumer<String> onChunk) {
+        String response = complete(prompt);
+        for (int i = 0; i < response.length(); i += chunkSize) {
+            onChunk.accept(response.substring(i, Math.min(response.length(), i + chunkSize)));
+        }
+    }
+
+    /**
+     * @return every prompt received so far
+     */
+    public List<String> getPrompts() {
+        return new ArrayList<>(prompts);
+    }
+}
@@ -0,0 +1,201 @@
+package com.focusflow.model.coach;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import okhttp3.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Provider for any server that speaks the OpenAI chat-completions API,
+ * such as a local or on-prem inference server.
+ *
+ * @author Fareed Uddin
+ */
+public class OpenAICompatibleProvider implements LlmProvider {
+
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private final String name;
+    private final String endpointUrl;
+    private final Supplier<String> apiKeySupplier;
+    private final boolean streaming;
+    private final int timeoutSeconds;
+    private final Semaphore permits;
+    private final OkHttpClient httpClient;
+    private final Gson gson;
+    private String model;
+
+    /**
+     * Creates a provider for a local server that needs no API key.
+     */
+    public OpenAICompatibleProvider(String endpointUrl, String model) {
+        this("local", endpointUrl, model, () -> "", 60, 2, true);
+    }
+
+    /**
+     * Creates a provider with its own timeout and concurrency limit.
+     *
+     * @param timeoutSeconds        read timeout for a single call
+     * @param maxConcurrentRequests calls allowed in flight at once
+     * @param streaming             whether to request streamed responses
+     */
+    public OpenAICompatibleProvider(String name, String endpointUrl, String model, Supplier<String> apiKeySupplier,
+            int timeoutSeconds, int maxConcurrentRequests, boolean streaming) {
+        if (maxConcurrentRequests <= 0 || timeoutSeconds <= 0) {
+            throw new IllegalArgumentException("Timeout and concurrency limit must be positive");
+        }
+        this.name = name;
+        this.endpointUrl = endpointUrl;
+        this.model = model;
+        this.apiKeySupplier = apiKeySupplier;
+        this.streaming = streaming;
+        this.timeoutSeconds = timeoutSeconds;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.httpClient = new OkHttpClient.Builder()
+                .connectTimeout(Math.min(timeoutSeconds, 30), TimeUnit.SECONDS)
+                .readTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .writeTimeout(Math.min(timeoutSeconds, 30), TimeUnit.SECONDS)
+                .build();
+        this.gson = new Gson();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the model to request.
+     */
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return endpointUrl != null && !endpointUrl.isEmpty();
+    }
+
+    @Override
+    public boolean supportsStreaming() {
+        return streaming;
+    }
+
+    @Override
+    public String complete(String prompt) throws IOException {
+        acquirePermit();
+        try (Response response = httpClient.newCall(buildRequest(prompt, false)).execute()) {
+            checkResponse(response);
+            JsonObject json = gson.fromJson(response.body().string(), JsonObject.class);
+            return json.getAsJsonArray("choices")
+                    .get(0).getAsJsonObject()
+                    .getAsJsonObject("message")
+                    .get("content").getAsString().trim();
+        } catch (RuntimeException e) {
+            // malformed JSON or missing fields
+            throw new IOException("Unexpected response from " + name + ": " + e.getMessage(), e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void stream(String prompt, Consumer<String> onChunk) throws IOException {
+        if (!streaming) {
+            onChunk.accept(complete(prompt));
+            return;
+        }
+        acquirePermit();
+        try (Response response = httpClient.newCall(buildRequest(prompt, true)).execute()) {
+            checkResponse(response);
+            BufferedReader reader = new BufferedReader(response.body().charStream());
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Server-sent events: "data: {...}" lines ending with "data: [DONE]"
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+                String data = line.substring(5).trim();
+                if (data.equals("[DONE]")) {
+                    break;
+                }
+                String content = extractDelta(data);
+                if (content != null && !content.isEmpty()) {
+                    onChunk.accept(content);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private String extractDelta(String data) {
+        try {
+            JsonArray choices = gson.fromJson(data, JsonObject.class).getAsJsonArray("choices");
+            if (choices == null || choices.isEmpty()) {
+                return null;
+            }
+            JsonObject delta = choices.get(0).getAsJsonObject().getAsJsonObject("delta");
+            JsonElement content = delta != null ? delta.get("content") : null;
+            return content != null && !content.isJsonNull() ? content.getAsString() : null;
+        } catch (JsonSyntaxException | IllegalStateException e) {
+            System.err.println("Skipped malformed stream chunk from " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Request buildRequest(String prompt, boolean stream) {
+        JsonObject requestBody = new JsonObject();
+        requestBody.addProperty("model", model);
+        JsonArray messages = new JsonArray();
+        JsonObject msg = new JsonObject();
+        msg.addProperty("role", "user");
+        msg.addProperty("content", prompt);
+        messages.add(msg);
+        requestBody.add("messages", messages);
+        requestBody.addProperty("temperature", 0.7);
+        if (stream) {
+            requestBody.addProperty("stream", true);
+        }
+
+        Request.Builder builder = new Request.Builder()
+                .url(endpointUrl)
+                .post(RequestBody.create(requestBody.toString(), JSON));
+        String apiKey = apiKeySupplier.get();
+        if (apiKey != null && !apiKey.isEmpty()) {
+            builder.addHeader("Authorization", "Bearer " + apiKey);
+        }
+        return builder.build();
+    }
+
+    private void checkResponse(Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new IOException("Error: " + response.code());
+        }
+    }
+
+    private void acquirePermit() throws IOException {
+        try {
+            if (!permits.tryAcquire(timeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IOException(name + " is busy, try again shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + name);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.focusflow.model.coach;
+
+import com.focusflow.model.planner.Planner;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single calendar action requested by the AI assistant.
+ *
+ * @author Fareed Uddin
+ */
+public class PlannerAction {
+
+    public static final String CREATE_EVENT = "create_event";
+    public static final String DELETE_EVENT = "delete_event";
+
+    private final String type;
+    private final String title;
+    private final String description;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final String mode;
+
+    public PlannerAction(String type, String title, String description,
+            LocalDateTime start, LocalDateTime end, String mode) {
+        this.type = type;
+        this.title = title;
+        this.description = description != null ? description : "";
+        this.start = start;
+        this.end = end;
+        this.mode = mode != null ? mode : "POMODORO";
+    }
+
+    public String getType() { return type; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public LocalDateTime getStart() { return start; }
+    public LocalDateTime getEnd() { return end; }
+    public String getMode() { return mode; }
+
+    /**
+     * Applies this action to the planner.
+     * @return a short summary if an event was added, otherwise null
+     */
+    public String applyTo(Planner planner) {
+        if (CREATE_EVENT.equals(type)) {
+            if (planner.addStudyEvent(title, description, start, end, mode)) {
+                return title + " on " + start.toLocalDate();
+            }
+        } else if (DELETE_EVENT.equals(type)) {
+            for (Planner.PlannerEvent e : planner.getAllEvents()) {
+                if (e.getTitle().equals(title)) {
+                    planner.removeEvent(e.getId());
+                    break;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PlannerAction[type=%s, title=%s, start=%s, end=%s]", type, title, start, end);
+    }
+}
@@ -0,0 +1,32 @@
+package com.focusflow.model.coach;
+
+/**
+ * Converts one kind of record to and from the compact binary record format.
+ * Bump the version whenever the layout written by {@link #write} changes.
+ *
+ * @author Fareed Uddin
+ */
+public interface RecordCodec<T> {
+
+    /**
+     * @return name stored in the file header, checked on load
+     */
+    String getName();
+
+    /**
+     * @return layout version stored in the file header
+     */
+    int getVersion();
+
+    /**
+     * @return record class, used to read older JSON files
+     */
+    Class<T> getType();
+
+    void write(T record, RecordWriter out);
+
+    /**
+     * @param version layout version the file was written with
+     */
+    T read(RecordReader in, int version);
+}
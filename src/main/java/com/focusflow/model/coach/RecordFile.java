@@ -0,0 +1,162 @@
+package com.focusflow.model.coach;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Layout of a binary record file:
+ * <pre>
+ * "FFR" format-version
+ * codec-name codec-version base-epoch-second
+ * frame: dictionary (count, then each string)
+ * frame: record ...
+ * </pre>
+ * Every frame is a varint length, the payload and a CRC32C of the payload,
+ * so a damaged record is skipped without losing the ones after it.
+ *
+ * @author Fareed Uddin
+ */
+final class RecordFile {
+
+    static final String EXTENSION = ".ffr";
+
+    private static final byte[] MAGIC = { 'F', 'F', 'R' };
+    private static final int FORMAT_VERSION = 1;
+
+    private RecordFile() {
+    }
+
+    static <T> byte[] encode(List<T> records, RecordCodec<T> codec) {
+        RecordWriter writer = new RecordWriter();
+        RecordWriter body = new RecordWriter();
+        CRC32C crc = new CRC32C();
+        for (T record : records) {
+            writer.reset();
+            codec.write(record, writer);
+            writeFrame(body, writer, crc);
+        }
+
+        RecordWriter dictionary = new RecordWriter();
+        dictionary.writeVarint(writer.dictionary().size());
+        for (String entry : writer.dictionary()) {
+            dictionary.writeString(entry);
+        }
+
+        RecordWriter header = new RecordWriter();
+        for (byte b : MAGIC) {
+            header.writeByte(b);
+        }
+        header.writeByte(FORMAT_VERSION);
+        header.writeString(codec.getName());
+        header.writeVarint(codec.getVersion());
+        header.writeSignedVarint(writer.baseSeconds());
+        writeFrame(header, dictionary, crc);
+
+        byte[] file = new byte[header.size() + body.size()];
+        System.arraycopy(header.buffer(), 0, file, 0, header.size());
+        System.arraycopy(body.buffer(), 0, file, header.size(), body.size());
+        return file;
+    }
+
+    /**
+     * @param onSkip told why each damaged record was skipped
+     * @throws IOException if the header or dictionary is unusable
+     */
+    static <T> List<T> decode(byte[] data, RecordCodec<T> codec, Consumer<String> onSkip) throws IOException {
+        RecordReader frames = new RecordReader(data, List.of(), 0);
+        frames.limitTo(0, data.length);
+        CRC32C crc = new CRC32C();
+
+        List<String> dictionary = new ArrayList<>();
+        int version;
+        long baseSeconds;
+        try {
+            for (byte b : MAGIC) {
+                if (frames.readByte() != b) {
+                    throw new IOException("Not a FocusFlow record file");
+                }
+            }
+            int format = frames.readByte();
+            if (format > FORMAT_VERSION) {
+                throw new IOException("Record file format " + format + " is newer than this version of FocusFlow");
+            }
+            String name = frames.readString();
+            if (!codec.getName().equals(name)) {
+                throw new IOException("Expected " + codec.getName() + " records but found " + name);
+            }
+            version = frames.readInt();
+            if (version > codec.getVersion()) {
+                throw new IOException(name + " records version " + version + " are newer than this version of FocusFlow");
+            }
+            baseSeconds = frames.readSignedVarint();
+
+            int length = frames.readInt();
+            int start = frames.position();
+            if (length > frames.remaining() - 4 || !checksumMatches(data, start, length, crc)) {
+                throw new IOException("Damaged dictionary");
+            }
+            RecordReader reader = new RecordReader(data, List.of(), 0);
+            reader.limitTo(start, start + length);
+            int count = reader.readInt();
+            for (int i = 0; i < count; i++) {
+                dictionary.add(reader.readString());
+            }
+            frames.limitTo(start + length + 4, data.length);
+        } catch (IllegalStateException e) {
+            throw new IOException("Damaged header: " + e.getMessage());
+        }
+
+        RecordReader reader = new RecordReader(data, dictionary, baseSeconds);
+        List<T> records = new ArrayList<>();
+        while (frames.remaining() > 0) {
+            int length;
+            try {
+                length = frames.readInt();
+            } catch (IllegalStateException e) {
+                onSkip.accept("truncated record at end of file");
+                break;
+            }
+            int start = frames.position();
+            if (length > frames.remaining() - 4) {
+                onSkip.accept("truncated record at end of file");
+                break;
+            }
+            frames.limitTo(start + length + 4, data.length);
+            if (!checksumMatches(data, start, length, crc)) {
+                onSkip.accept("checksum mismatch at byte " + start);
+                continue;
+            }
+            reader.limitTo(start, start + length);
+            try {
+                records.add(codec.read(reader, version));
+            } catch (RuntimeException e) {
+                // codecs may also throw, e.g. when an end time is out of range
+                onSkip.accept("unreadable record at byte " + start + ": " + e.getMessage());
+            }
+        }
+        return records;
+    }
+
+    private static void writeFrame(RecordWriter out, RecordWriter payload, CRC32C crc) {
+        out.writeVarint(payload.size());
+        out.writeRaw(payload.buffer(), 0, payload.size());
+        crc.reset();
+        crc.update(payload.buffer(), 0, payload.size());
+        int checksum = (int) crc.getValue();
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            out.writeByte(checksum >>> shift);
+        }
+    }
+
+    private static boolean checksumMatches(byte[] data, int start, int length, CRC32C crc) {
+        crc.reset();
+        crc.update(data, start, length);
+        int expected = (int) crc.getValue();
+        int stored = ((data[start + length] & 0xFF) << 24) | ((data[start + length + 1] & 0xFF) << 16)
+                | ((data[start + length + 2] & 0xFF) << 8) | (data[start + length + 3] & 0xFF);
+        return expected == stored;
+    }
+}
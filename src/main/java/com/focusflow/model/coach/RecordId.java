@@ -0,0 +1,215 @@
+package com.focusflow.model.coach;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A record id held as two longs, written as a canonical UUID string in JSON
+ * and exports. New ids use the UUIDv7 layout: 48 bits of Unix milliseconds,
+ * the version, a 12-bit counter for ids made in the same millisecond, the
+ * variant and 62 random bits. So ids sort by creation time, both as numbers
+ * and as strings.
+ * <p>
+ * Ids are made without locking or SecureRandom. Within a process each id is
+ * greater than the last even if the wall clock steps back; an overflowing
+ * counter simply borrows from the next millisecond. Ids that aren't
+ * canonical UUIDs, e.g. from hand-edited files, are kept as text.
+ *
+ * @author Fareed Uddin
+ */
+@JsonAdapter(RecordId.Json.class)
+public final class RecordId implements Comparable<RecordId> {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    /** Milliseconds and counter of the last id made, as ms << 12 | counter. */
+    private static final AtomicLong last = new AtomicLong();
+
+    private final long high;
+    private final long low;
+    private final String text;
+
+    private RecordId(long high, long low, String text) {
+        this.high = high;
+        this.low = low;
+        this.text = text;
+    }
+
+    /**
+     * @return a new id, greater than any made before by this process
+     */
+    public static RecordId next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long previous;
+        long tick;
+        do {
+            previous = last.get();
+            tick = Math.max(now, previous + 1);
+        } while (!last.compareAndSet(previous, tick));
+
+        long high = (tick >>> COUNTER_BITS) << 16 | VERSION_7 | (tick & ((1 << COUNTER_BITS) - 1));
+        long low = ThreadLocalRandom.current().nextLong() & RANDOM_MASK | VARIANT;
+        return new RecordId(high, low, null);
+    }
+
+    public static RecordId of(long high, long low) {
+        return new RecordId(high, low, null);
+    }
+
+    /**
+     * Reads an id. A canonical lower-case UUID becomes two longs; anything
+     * else is kept as text.
+     * @return the id, or null for null
+     */
+    public static RecordId parse(String id) {
+        if (id == null) {
+            return null;
+        }
+        if (!isCanonical(id)) {
+            return new RecordId(0, 0, id);
+        }
+        long high = hex(id, 0, 8) << 32 | hex(id, 9, 13) << 16 | hex(id, 14, 18);
+        long low = hex(id, 19, 23) << 48 | hex(id, 24, 36);
+        return new RecordId(high, low, null);
+    }
+
+    /**
+     * @return true if the id is held as two longs rather than text
+     */
+    public boolean isCompact() {
+        return text == null;
+    }
+
+    /** Most significant 64 bits; 0 for a text id. */
+    public long getHigh() {
+        return high;
+    }
+
+    /** Least significant 64 bits; 0 for a text id. */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * @return when the id was made, in Unix milliseconds, or -1 if it isn't time-ordered
+     */
+    public long getTimestamp() {
+        return text == null && (high & 0xF000L) == VERSION_7 ? high >>> 16 : -1;
+    }
+
+    /**
+     * Time-ordered ids compare by creation time; text ids sort after all others.
+     */
+    @Override
+    public int compareTo(RecordId other) {
+        if (text != null || other.text != null) {
+            if (text == null) return -1;
+            if (other.text == null) return 1;
+            return text.compareTo(other.text);
+        }
+        int byHigh = Long.compareUnsigned(high, other.high);
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(low, other.low);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RecordId)) return false;
+        RecordId other = (RecordId) o;
+        return text == null ? other.text == null && high == other.high && low == other.low
+                : text.equals(other.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return text != null ? text.hashCode() : Long.hashCode(high * 31 + low);
+    }
+
+    /**
+     * @return the canonical UUID form, or the text the id was read from
+     */
+    @Override
+    public String toString() {
+        if (text != null) {
+            return text;
+        }
+        char[] out = new char[36];
+        digits(out, 0, high >>> 32, 8);
+        out[8] = '-';
+        digits(out, 9, high >>> 16, 4);
+        out[13] = '-';
+        digits(out, 14, high, 4);
+        out[18] = '-';
+        digits(out, 19, low >>> 48, 4);
+        out[23] = '-';
+        digits(out, 24, low, 12);
+        return new String(out);
+    }
+
+    /**
+     * @return true if the text is a UUID exactly as {@link #toString} would write it
+     */
+    private static boolean isCanonical(String id) {
+        if (id.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            boolean valid = i == 8 || i == 13 || i == 18 || i == 23
+                    ? c == '-'
+                    : c >= '0' && c <= '9' || c >= 'a' && c <= 'f';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hex(String s, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value << 4 | Character.digit(s.charAt(i), 16);
+        }
+        return value;
+    }
+
+    private static void digits(char[] out, int offset, long value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            out[i] = Character.forDigit((int) (value & 0xF), 16);
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * Reads and writes ids as strings, so JSON files keep their format.
+     */
+    static class Json extends TypeAdapter<RecordId> {
+        @Override
+        public void write(JsonWriter out, RecordId id) throws IOException {
+            if (id == null) {
+                out.nullValue();
+            } else {
+                out.value(id.toString());
+            }
+        }
+
+        @Override
+        public RecordId read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return parse(in.nextString());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.focusflow.model.coach;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Reads the fields of one record for a {@link RecordCodec}, mirroring {@link RecordWriter}.
+ * Malformed input throws {@link IllegalStateException}; the record is then skipped.
+ *
+ * @author Fareed Uddin
+ */
+public class RecordReader {
+
+    private final byte[] data;
+    private final List<String> dictionary;
+    private final long baseSeconds;
+    private int position;
+    private int limit;
+
+    RecordReader(byte[] data, List<String> dictionary, long baseSeconds) {
+        this.data = data;
+        this.dictionary = dictionary;
+        this.baseSeconds = baseSeconds;
+    }
+
+    public int readByte() {
+        require(1);
+        return data[position++] & 0xFF;
+    }
+
+    public long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Varint too long");
+    }
+
+    public long readSignedVarint() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a varint that must fit in an int, e.g. a duration or count.
+     */
+    public int readInt() {
+        long value = readVarint();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Value out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    public String readString() {
+        long length = readVarint();
+        if (length == 0) {
+            return null;
+        }
+        int bytes = (int) Math.min(length - 1, Integer.MAX_VALUE);
+        require(bytes);
+        String value = new String(data, position, bytes, StandardCharsets.UTF_8);
+        position += bytes;
+        return value;
+    }
+
+    public String readDictionary() {
+        long index = readVarint();
+        if (index == 0) {
+            return null;
+        }
+        if (index > dictionary.size()) {
+            throw new IllegalStateException("Unknown dictionary entry " + index);
+        }
+        return dictionary.get((int) index - 1);
+    }
+
+    public RecordId readId() {
+        long kind = readVarint();
+        if (kind == 0) {
+            return null;
+        }
+        if (kind == 2) {
+            return RecordId.parse(readString());
+        }
+        if (kind != 1) {
+            throw new IllegalStateException("Unknown id kind " + kind);
+        }
+        return RecordId.of(readLong(), readLong());
+    }
+
+    public LocalDateTime readTime() {
+        long delta = readSignedVarint();
+        try {
+            return LocalDateTime.ofEpochSecond(Math.addExact(baseSeconds, delta), 0, ZoneOffset.UTC);
+        } catch (ArithmeticException | DateTimeException e) {
+            throw new IllegalStateException("Time out of range: " + delta);
+        }
+    }
+
+    private long readLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private void require(int bytes) {
+        if (bytes < 0 || bytes > limit - position) {
+            throw new IllegalStateException("Record ends early");
+        }
+    }
+
+    // ---- used by RecordFile ----
+
+    void limitTo(int start, int end) {
+        this.position = start;
+        this.limit = end;
+    }
+
+    int position() {
+        return position;
+    }
+
+    int remaining() {
+        return limit - position;
+    }
+}
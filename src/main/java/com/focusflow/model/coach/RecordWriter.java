@@ -0,0 +1,166 @@
+package com.focusflow.model.coach;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the fields of one record for a {@link RecordCodec}.
+ * Numbers are varints, repeated strings go through a file-wide dictionary and
+ * timestamps are stored to the second as deltas from the first one written.
+ *
+ * @author Fareed Uddin
+ */
+public class RecordWriter {
+
+    private final Map<String, Integer> dictionaryIndex;
+    private final List<String> dictionary;
+    private byte[] buffer;
+    private int size;
+    private long baseSeconds;
+    private boolean hasBase;
+
+    RecordWriter() {
+        this.dictionaryIndex = new HashMap<>();
+        this.dictionary = new ArrayList<>();
+        this.buffer = new byte[128];
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a non-negative number in 1 to 10 bytes, 7 bits at a time.
+     */
+    public void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a number that may be negative, zigzag encoded so small magnitudes stay short.
+     */
+    public void writeSignedVarint(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a nullable string in full. Use for text that rarely repeats.
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length + 1L);
+        writeBytes(bytes);
+    }
+
+    /**
+     * Writes a nullable string as an index into the file's dictionary.
+     * Use for values that repeat, like mode names and titles.
+     */
+    public void writeDictionary(String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        Integer index = dictionaryIndex.get(value);
+        if (index == null) {
+            index = dictionary.size();
+            dictionary.add(value);
+            dictionaryIndex.put(value, index);
+        }
+        writeVarint(index + 1L);
+    }
+
+    /**
+     * Writes a nullable id, in 16 bytes unless it is held as text.
+     */
+    public void writeId(RecordId id) {
+        if (id == null) {
+            writeVarint(0);
+            return;
+        }
+        if (!id.isCompact()) {
+            writeVarint(2);
+            writeString(id.toString());
+            return;
+        }
+        writeVarint(1);
+        writeLong(id.getHigh());
+        writeLong(id.getLow());
+    }
+
+    /**
+     * Writes a non-null timestamp to the second.
+     */
+    public void writeTime(LocalDateTime time) {
+        long seconds = time.toEpochSecond(ZoneOffset.UTC);
+        if (!hasBase) {
+            baseSeconds = seconds;
+            hasBase = true;
+        }
+        writeSignedVarint(seconds - baseSeconds);
+    }
+
+    private void writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            byte[] grown = new byte[Math.max(buffer.length * 2, size + extra)];
+            System.arraycopy(buffer, 0, grown, 0, size);
+            buffer = grown;
+        }
+    }
+
+    // ---- used by RecordFile ----
+
+    void writeRaw(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    int size() {
+        return size;
+    }
+
+    List<String> dictionary() {
+        return dictionary;
+    }
+
+    long baseSeconds() {
+        return baseSeconds;
+    }
+}
@@ -1,7 +1,6 @@
 package com.focusflow.model.coach;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * Represents a user reflection entry after focus sessions.
@@ -17,21 +16,41 @@ public class Reflection {
     private LocalDateTime timestamp;
 
     public Reflection() {
-        this.id = UUID.randomUUID().toString();
+        this.id = RecordId.next().toString();
         this.timestamp = LocalDateTime.now();
         this.productivityRating = 5;
     }
 
     public Reflection(String text, String mood, int productivityRating) {
-        this.id = UUID.randomUUID().toString();
+        this.id = RecordId.next().toString();
         this.text = text;
         this.mood = mood;
         this.productivityRating = Math.max(1, Math.min(10, productivityRating));
         this.timestamp = LocalDateTime.now();
     }
 
+    /**
+     * Creates a reflection written at the given time, e.g. when importing history.
+     */
+    public Reflection(String text, String mood, int productivityRating, LocalDateTime timestamp) {
+        this(text, mood, productivityRating);
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Recreates a stored reflection with its original id, e.g. when loading from a database.
+     */
+    public Reflection(String id, String text, String mood, int productivityRating, LocalDateTime timestamp) {
+        this.id = id;
+        this.text = text;
+        this.mood = mood;
+        this.productivityRating = productivityRating;
+        this.timestamp = timestamp;
+    }
+
     public String getId() { return id; }
     public String getText() { return text; }
+    public String getMood() { return mood; }
     public int getProductivityRating() { return productivityRating; }
     public LocalDateTime getTimestamp() { return timestamp; }
 
@@ -48,7 +67,7 @@ public class Reflection {
     }
 
     public void saveReflection(StorageHandler storageHandler) {
-        storageHandler.saveReflections(this);
+        storageHandler.appendReflection(this);
     }
 
     @Override
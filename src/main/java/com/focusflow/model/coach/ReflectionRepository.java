@@ -0,0 +1,24 @@
+package com.focusflow.model.coach;
+
+import java.util.List;
+
+/**
+ * Where reflections are stored: an append-only sequence that readers
+ * follow with a position of their own, so several readers, in this
+ * instance or another, each see every reflection once.
+ * Implementations are thread-safe.
+ *
+ * @author Fareed Uddin
+ */
+public interface ReflectionRepository {
+
+    void add(Reflection reflection);
+
+    /**
+     * Reads the reflections added after a position, oldest first.
+     * @param position 0, or the value returned by an earlier call
+     * @param reflections receives the reflections read
+     * @return the position to pass next time
+     */
+    long readAfter(long position, List<Reflection> reflections);
+}
@@ -0,0 +1,228 @@
+package com.focusflow.model.coach;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Stores reflections in a {@link ReflectionRepository} and indexes them in
+ * memory by word, productivity rating and timestamp, so questions like
+ * "reflections mentioning tired in the last month" don't need a full scan.
+ * Reflections another instance adds are picked up by {@link #refresh},
+ * which reads only those added since the last read.
+ *
+ * @author Fareed Uddin
+ */
+public class ReflectionStore {
+
+    private static final int MAX_RATING = 10;
+    /** Newest first; reflections without a timestamp go last. */
+    private static final Comparator<Reflection> NEWEST_FIRST =
+            Comparator.comparing(Reflection::getTimestamp, Comparator.nullsLast(Comparator.reverseOrder()));
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "i", "if", "in", "is", "it",
+            "me", "my", "of", "on", "or", "so", "the", "to", "was", "we", "with"));
+
+    private final ReflectionRepository repository;
+    private final List<Reflection> reflections;
+    private final Map<String, BitSet> wordIndex;
+    private final BitSet[] ratingIndex;
+    private final TreeMap<LocalDateTime, BitSet> timeIndex;
+    private long position;
+
+    public ReflectionStore(StorageHandler storageHandler) {
+        this(new FileReflectionRepository(storageHandler));
+    }
+
+    public ReflectionStore(ReflectionRepository repository) {
+        this.repository = repository;
+        this.reflections = new ArrayList<>();
+        this.wordIndex = new HashMap<>();
+        this.ratingIndex = new BitSet[MAX_RATING + 1];
+        for (int i = 0; i <= MAX_RATING; i++) {
+            ratingIndex[i] = new BitSet();
+        }
+        this.timeIndex = new TreeMap<>();
+        readNew();
+    }
+
+    /**
+     * Adds a reflection. It is indexed as it is read back, together with
+     * any that other instances added first.
+     */
+    public synchronized void add(Reflection reflection) {
+        repository.add(reflection);
+        readNew();
+    }
+
+    /**
+     * Indexes reflections other instances have appended since the last read.
+     * @return true if there were any
+     */
+    public synchronized boolean refresh() {
+        return readNew();
+    }
+
+    /**
+     * @return copy of all reflections in the order they were added
+     */
+    public synchronized List<Reflection> getAll() {
+        return new ArrayList<>(reflections);
+    }
+
+    public synchronized int size() {
+        return reflections.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return reflections.isEmpty();
+    }
+
+    /**
+     * Finds reflections containing every word in the query within a time range.
+     * @param query words to match, or null/empty to match everything
+     * @param from  earliest timestamp, or null for no lower bound
+     * @param to    latest timestamp, or null for no upper bound
+     * @return matching reflections, newest first
+     */
+    public List<Reflection> search(String query, LocalDateTime from, LocalDateTime to) {
+        return search(query, from, to, 1, MAX_RATING);
+    }
+
+    /**
+     * Finds reflections by words, time range and productivity rating range.
+     * @return matching reflections, newest first
+     */
+    public synchronized List<Reflection> search(String query, LocalDateTime from, LocalDateTime to,
+            int minRating, int maxRating) {
+        BitSet matches = new BitSet();
+        matches.set(0, reflections.size());
+
+        for (String term : tokenize(query)) {
+            BitSet postings = wordIndex.get(term);
+            if (postings == null) {
+                return new ArrayList<>();
+            }
+            matches.and(postings);
+        }
+
+        if (from != null || to != null) {
+            BitSet inRange = new BitSet();
+            NavigableMap<LocalDateTime, BitSet> range;
+            if (from != null && to != null) {
+                range = timeIndex.subMap(from, true, to, true);
+            } else if (from != null) {
+                range = timeIndex.tailMap(from, true);
+            } else {
+                range = timeIndex.headMap(to, true);
+            }
+            for (BitSet positions : range.values()) {
+                inRange.or(positions);
+            }
+            matches.and(inRange);
+        }
+
+        if (minRating > 1 || maxRating < MAX_RATING) {
+            BitSet inRatings = new BitSet();
+            for (int rating = Math.max(0, minRating); rating <= Math.min(MAX_RATING, maxRating); rating++) {
+                inRatings.or(ratingIndex[rating]);
+            }
+            matches.and(inRatings);
+        }
+
+        List<Reflection> result = new ArrayList<>();
+        for (int i = matches.previousSetBit(reflections.size() - 1); i >= 0; i = matches.previousSetBit(i - 1)) {
+            result.add(reflections.get(i));
+        }
+        result.sort(NEWEST_FIRST);
+        return result;
+    }
+
+    /**
+     * Splits text into lowercase, lightly stemmed words without stop words.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String word : text.toLowerCase().split("[^a-z0-9']+")) {
+            word = word.replace("'", "");
+            if (word.isEmpty() || STOP_WORDS.contains(word)) {
+                continue;
+            }
+            tokens.add(stem(word));
+        }
+        return tokens;
+    }
+
+    /**
+     * Strips common English suffixes so "studying", "studied" and "studies" match.
+     */
+    static String stem(String word) {
+        int n = word.length();
+        if (n > 4 && (word.endsWith("ies") || word.endsWith("ied"))) {
+            return word.substring(0, n - 3) + "y";
+        }
+        String stemmed;
+        if (n >= 6 && word.endsWith("ing")) {
+            stemmed = word.substring(0, n - 3);
+        } else if (n >= 5 && word.endsWith("ed")) {
+            stemmed = word.substring(0, n - 2);
+        } else if (n >= 5 && word.endsWith("ly")) {
+            return word.substring(0, n - 2);
+        } else if (n >= 5 && word.endsWith("es") && endsWithSibilant(word.substring(0, n - 2))) {
+            return word.substring(0, n - 2);
+        } else if (n >= 4 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")
+                && !word.endsWith("is")) {
+            return word.substring(0, n - 1);
+        } else {
+            return word;
+        }
+        // "stopped" -> "stopp" -> "stop"
+        int m = stemmed.length();
+        if (m >= 4 && stemmed.charAt(m - 1) == stemmed.charAt(m - 2) && "lsz".indexOf(stemmed.charAt(m - 1)) < 0) {
+            stemmed = stemmed.substring(0, m - 1);
+        }
+        return stemmed;
+    }
+
+    private static boolean endsWithSibilant(String word) {
+        return word.endsWith("s") || word.endsWith("x") || word.endsWith("z")
+                || word.endsWith("ch") || word.endsWith("sh");
+    }
+
+    private void index(Reflection reflection) {
+        int position = reflections.size();
+        reflections.add(reflection);
+
+        for (String term : new HashSet<>(tokenize(reflection.getText()))) {
+            wordIndex.computeIfAbsent(term, k -> new BitSet()).set(position);
+        }
+        int rating = Math.max(0, Math.min(MAX_RATING, reflection.getProductivityRating()));
+        ratingIndex[rating].set(position);
+        if (reflection.getTimestamp() != null) {
+            timeIndex.computeIfAbsent(reflection.getTimestamp(), k -> new BitSet()).set(position);
+        }
+    }
+
+    private boolean readNew() {
+        List<Reflection> added = new ArrayList<>();
+        position = repository.readAfter(position, added);
+        for (Reflection r : added) {
+            if (r != null) {
+                index(r);
+            }
+        }
+        return !added.isEmpty();
+    }
+}
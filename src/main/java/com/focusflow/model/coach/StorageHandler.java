@@ -1,17 +1,53 @@
 package com.focusflow.model.coach;
 
+import com.focusflow.metrics.Counter;
+import com.focusflow.metrics.Histogram;
+import com.focusflow.metrics.MetricsRegistry;
+import com.focusflow.metrics.StorageEvent;
 import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 
 import java.io.*;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
 
 /**
- * Handles JSON file storage for sessions, settings, and reflections.
+ * Handles file storage for sessions, settings, and reflections.
+ * Sessions and planner events use the compact binary record format
+ * (see {@link RecordCodec}); everything else is JSON.
+ * <p>
+ * Whole-file saves go to a temp file that is forced to disk and renamed over
+ * the old one, so a crash leaves either the old or the new version. Loads
+ * keep every readable record of a damaged file, and the damaged file is
+ * copied aside as .corrupt before anything can overwrite it.
+ * <p>
+ * Several instances, in this process or others, may share a data directory.
+ * Read-modify-write changes go through {@link #withLock}, and
+ * {@link #getVersion} and {@link #readAppended} let an instance notice and
+ * read what another one wrote without reloading everything.
  *
  * @author Fareed Uddin
  */
@@ -19,14 +55,32 @@ public class StorageHandler {
 
     private static final String DATA_DIRECTORY = "focusflow_data";
     private static final String SESSIONS_FILE = "sessions.json";
+    private static final String SESSIONS_DIRECTORY = "sessions";
+    private static final String SESSION_MANIFEST = "manifest.json";
+    private static final String SESSION_INDEX = "index.ffx";
     private static final String SETTINGS_FILE = "settings.json";
     private static final String REFLECTIONS_FILE = "reflections.json";
+    private static final String CONVERSATION_FILE = "conversation.json";
+    private static final String REFLECTIONS_LOG = "reflections.jsonl";
+
+    private static final Histogram SAVE_LATENCY = MetricsRegistry.getInstance().histogram("storage.save.latency.us");
+    private static final Histogram LOAD_LATENCY = MetricsRegistry.getInstance().histogram("storage.load.latency.us");
+    private static final Counter SAVED_BYTES = MetricsRegistry.getInstance().counter("storage.save.bytes");
+    private static final Counter LOADED_BYTES = MetricsRegistry.getInstance().counter("storage.load.bytes");
+    private static final Counter ERRORS = MetricsRegistry.getInstance().counter("storage.errors");
+    private static final Counter SKIPPED = MetricsRegistry.getInstance().counter("storage.records.skipped");
 
     private final Gson gson;
+    private final Gson lineGson;
     private final Path dataPath;
+    private final DataDirectoryLock lock;
 
+    /**
+     * Uses the focusflow.data.dir system property if set, otherwise ~/focusflow_data.
+     */
     public StorageHandler() {
-        this(System.getProperty("user.home") + File.separator + DATA_DIRECTORY);
+        this(System.getProperty("focusflow.data.dir",
+                System.getProperty("user.home") + File.separator + DATA_DIRECTORY));
     }
 
     public StorageHandler(String dataDirectory) {
@@ -36,8 +90,14 @@ public class StorageHandler {
                 .registerTypeAdapter(LocalDateTime.class, new DateTimeSerializer())
                 .registerTypeAdapter(LocalDate.class, new DateSerializer())
                 .create();
+        // Same adapters without pretty printing, so each record fits on one line
+        this.lineGson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new DateTimeSerializer())
+                .registerTypeAdapter(LocalDate.class, new DateSerializer())
+                .create();
         this.dataPath = Paths.get(dataDirectory);
         ensureDataDirectoryExists();
+        this.lock = DataDirectoryLock.forDirectory(dataPath);
     }
 
     // Simple serializer for LocalDateTime - stores as string
@@ -80,38 +140,437 @@ public class StorageHandler {
      * Saves data to JSON file.
      */
     public <T> void save(String filename, T data) {
+        StorageEvent jfrEvent = startEvent("save", filename);
+        long start = System.nanoTime();
         Path filePath = dataPath.resolve(filename);
-        try (Writer writer = new FileWriter(filePath.toFile())) {
-            gson.toJson(data, writer);
-        } catch (IOException e) {
+        try {
+            writeAtomically(filePath, out -> {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                gson.toJson(data, writer);
+                writer.flush();
+            });
+        } catch (IOException | JsonIOException e) {
+            ERRORS.increment();
+            jfrEvent.commit();
             System.err.println("Failed to save data to " + filename + ": " + e.getMessage());
+            return;
         }
+        long bytes = filePath.toFile().length();
+        SAVED_BYTES.add(bytes);
+        SAVE_LATENCY.recordSince(start);
+        commitEvent(jfrEvent, bytes);
     }
 
     /**
-     * Loads data from JSON file.
-     * @return the loaded data, or null if file doesn't exist
+     * Loads data from JSON file. If a list file is damaged, the records
+     * before the damage are returned.
+     * @return the loaded data, or null if file doesn't exist or nothing could be read
      */
     public <T> T load(String filename, Type type) {
         Path filePath = dataPath.resolve(filename);
         if (!Files.exists(filePath)) {
             return null;
         }
-        try (Reader reader = new FileReader(filePath.toFile())) {
-            return gson.fromJson(reader, type);
+        StorageEvent jfrEvent = startEvent("load", filename);
+        long start = System.nanoTime();
+        try (Reader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            T data = gson.fromJson(reader, type);
+            long bytes = filePath.toFile().length();
+            LOADED_BYTES.add(bytes);
+            LOAD_LATENCY.recordSince(start);
+            commitEvent(jfrEvent, bytes);
+            return data;
         } catch (IOException e) {
+            ERRORS.increment();
+            jfrEvent.commit();
             System.err.println("Failed to load data from " + filename + ": " + e.getMessage());
             return null;
-        } catch (JsonSyntaxException e) {
+        } catch (JsonParseException | DateTimeException e) {
+            ERRORS.increment();
+            jfrEvent.commit();
             System.err.println("Corrupted data file " + filename + ": " + e.getMessage());
+            quarantine(filePath);
+            return recoverList(filePath, type);
+        }
+    }
+
+    /**
+     * Reads the elements of a damaged JSON array up to the first one that
+     * can't be parsed.
+     * @return the readable elements, or null if the type isn't a list
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T recoverList(Path filePath, Type type) {
+        if (!(type instanceof ParameterizedType)
+                || !List.class.isAssignableFrom(TypeToken.get(type).getRawType())) {
             return null;
         }
+        Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+        List<Object> records = new ArrayList<>();
+        try (JsonReader reader = gson.newJsonReader(
+                Files.newBufferedReader(filePath, StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                records.add(gson.fromJson(reader, elementType));
+            }
+        } catch (IOException | JsonParseException | DateTimeException | IllegalStateException e) {
+            SKIPPED.increment();
+            System.err.println("Recovered " + records.size() + " records from " + filePath.getFileName()
+                    + ", skipped the rest: " + e.getMessage());
+        }
+        records.removeIf(Objects::isNull);
+        return (T) records;
     }
 
     public <T> T load(String filename, Class<T> clazz) {
         return load(filename, (Type) clazz);
     }
 
+    /**
+     * Runs a read-modify-write change while holding the lock for the name,
+     * so no other thread, instance or process holding it can interleave.
+     * Use the file or group of files the change writes as the name.
+     */
+    public <T> T withLock(String name, Supplier<T> changes) {
+        return lock.call(name, changes);
+    }
+
+    public void withLock(String name, Runnable changes) {
+        lock.call(name, () -> {
+            changes.run();
+            return null;
+        });
+    }
+
+    /**
+     * Whole-file saves replace the file, so the version changes with every
+     * save even if size and timestamp happen to match.
+     * @return a token that changes whenever the file does, or null if it doesn't exist
+     */
+    public String getVersion(String filename) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(dataPath.resolve(filename),
+                    BasicFileAttributes.class);
+            return attributes.fileKey() + "/" + attributes.lastModifiedTime() + "/" + attributes.size();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return version of a file saved with {@link #saveRecords}
+     * @see #getVersion
+     */
+    public String getRecordsVersion(String filename) {
+        return getVersion(filename + RecordFile.EXTENSION);
+    }
+
+    /**
+     * Appends one record as a single JSON line without rewriting the file.
+     * The line ends with a tab and the CRC32C of the JSON, and is forced to
+     * disk before this returns. Appends to a file are serialised with
+     * {@link #withLock} on the filename.
+     * @return length of the file after the append, or -1 if it failed
+     */
+    public <T> long append(String filename, T record) {
+        return withLock(filename, () -> appendLine(filename, record));
+    }
+
+    private <T> long appendLine(String filename, T record) {
+        StorageEvent jfrEvent = startEvent("append", filename);
+        long start = System.nanoTime();
+        Path filePath = dataPath.resolve(filename);
+        String json = lineGson.toJson(record);
+        String line = json + '\t' + checksum(json) + System.lineSeparator();
+        long end;
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ)) {
+            end = channel.size();
+            // A crash mid-append can leave a line without its newline; start a fresh one
+            if (end > 0 && !endsWithNewline(channel, end)) {
+                line = System.lineSeparator() + line;
+            }
+            ByteBuffer bytes = StandardCharsets.UTF_8.encode(line);
+            while (bytes.hasRemaining()) {
+                end += channel.write(bytes, end);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            ERRORS.increment();
+            jfrEvent.commit();
+            System.err.println("Failed to append data to " + filename + ": " + e.getMessage());
+            return -1;
+        }
+        SAVED_BYTES.add(line.length());
+        SAVE_LATENCY.recordSince(start);
+        commitEvent(jfrEvent, line.length());
+        return end;
+    }
+
+    /**
+     * Loads every record from a file written with {@link #append}.
+     * Lines that cannot be parsed or fail their checksum are skipped.
+     * @return the loaded records, or null if file doesn't exist
+     */
+    public <T> List<T> loadAppended(String filename, Class<T> clazz) {
+        Path filePath = dataPath.resolve(filename);
+        if (!Files.exists(filePath)) {
+            return null;
+        }
+        StorageEvent jfrEvent = startEvent("loadAppended", filename);
+        long start = System.nanoTime();
+        List<T> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                parseLine(line, clazz, records, filename, "line " + lineNumber);
+            }
+        } catch (IOException e) {
+            ERRORS.increment();
+            jfrEvent.commit();
+            System.err.println("Failed to load data from " + filename + ": " + e.getMessage());
+            return records;
+        }
+        long bytes = filePath.toFile().length();
+        LOADED_BYTES.add(bytes);
+        LOAD_LATENCY.recordSince(start);
+        commitEvent(jfrEvent, bytes);
+        return records;
+    }
+
+    /**
+     * Reads the records appended to a file since the given offset. Only whole
+     * lines are read, so a line another process is still writing is picked
+     * up by the next call.
+     * @param offset where the previous call stopped, or 0 to read the whole file
+     * @param records receives the records read
+     * @return the offset to pass next time; if the file has shrunk, its new
+     *         length and nothing is read
+     */
+    public <T> long readAppended(String filename, Class<T> clazz, long offset, List<T> records) {
+        Path filePath = dataPath.resolve(filename);
+        if (!Files.exists(filePath)) {
+            return offset;
+        }
+        StorageEvent jfrEvent = startEvent("readAppended", filename);
+        long start = System.nanoTime();
+        byte[] data;
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= offset) {
+                return size;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size - offset));
+            while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) >= 0) {
+                // keep reading
+            }
+            data = buffer.array();
+        } catch (IOException | ArithmeticException e) {
+            ERRORS.increment();
+            jfrEvent.commit();
+            System.err.println("Failed to read new data from " + filename + ": " + e.getMessage());
+            return offset;
+        }
+        int complete = data.length;
+        while (complete > 0 && data[complete - 1] != '\n') {
+            complete--;
+        }
+        String text = new String(data, 0, complete, StandardCharsets.UTF_8);
+        for (String line : text.split("\r?\n")) {
+            parseLine(line, clazz, records, filename, "line after byte " + offset);
+        }
+        LOADED_BYTES.add(complete);
+        LOAD_LATENCY.recordSince(start);
+        commitEvent(jfrEvent, complete);
+        return offset + complete;
+    }
+
+    /**
+     * Parses one line written by {@link #append}, skipping it if it is damaged.
+     */
+    private <T> void parseLine(String line, Class<T> clazz, List<T> records, String filename, String where) {
+        if (line.isBlank()) {
+            return;
+        }
+        // Lines written before checksums were added have no tab
+        int tab = line.lastIndexOf('\t');
+        String json = tab < 0 ? line : line.substring(0, tab);
+        try {
+            if (tab >= 0 && !line.substring(tab + 1).equals(checksum(json))) {
+                throw new JsonParseException("checksum mismatch");
+            }
+            records.add(lineGson.fromJson(json, clazz));
+        } catch (JsonParseException | DateTimeException e) {
+            ERRORS.increment();
+            SKIPPED.increment();
+            System.err.println("Skipped corrupted " + where + " in " + filename);
+        }
+    }
+
+    /**
+     * Saves records in the binary record format, as filename + ".ffr".
+     */
+    public <T> void saveRecords(String filename, List<T> records, RecordCodec<T> codec) {
+        String file = filename + RecordFile.EXTENSION;
+        StorageEvent jfrEvent = startEvent("saveRecords", file);
+        long start = System.nanoTime();
+        byte[] data = RecordFile.encode(records, codec);
+        try {
+            writeAtomically(dataPath.resolve(file), out -> out.write(data));
+        } catch (IOException e) {
+            ERRORS.increment();
+            jfrEvent.commit();
+            System.err.println("Failed to save data to " + file + ": " + e.getMessage());
+            return;
+        }
+        SAVED_BYTES.add(data.length);
+        SAVE_LATENCY.recordSince(start);
+        commitEvent(jfrEvent, data.length);
+    }
+
+    /**
+     * Loads records saved with {@link #saveRecords}. Damaged records are skipped.
+     * If only an older filename + ".json" exists, it is read, converted to the
+     * binary format and kept as ".json.bak".
+     * @return the loaded records, or null if neither file exists
+     */
+    public <T> List<T> loadRecords(String filename, RecordCodec<T> codec) {
+        String file = filename + RecordFile.EXTENSION;
+        Path filePath = dataPath.resolve(file);
+        if (!Files.exists(filePath)) {
+            return convertJsonRecords(filename, codec);
+        }
+        StorageEvent jfrEvent = startEvent("loadRecords", file);
+        long start = System.nanoTime();
+        try {
+            byte[] data = Files.readAllBytes(filePath);
+            boolean[] damaged = new boolean[1];
+            List<T> records = RecordFile.decode(data, codec, reason -> {
+                ERRORS.increment();
+                SKIPPED.increment();
+                damaged[0] = true;
+                System.err.println("Skipped record in " + file + ": " + reason);
+            });
+            if (damaged[0]) {
+                quarantine(filePath);
+            }
+            LOADED_BYTES.add(data.length);
+            LOAD_LATENCY.recordSince(start);
+            commitEvent(jfrEvent, data.length);
+            return records;
+        } catch (IOException e) {
+            ERRORS.increment();
+            jfrEvent.commit();
+            System.err.println("Failed to load data from " + file + ": " + e.getMessage());
+            quarantine(filePath);
+            return null;
+        }
+    }
+
+    private <T> List<T> convertJsonRecords(String filename, RecordCodec<T> codec) {
+        String jsonFile = filename + ".json";
+        List<T> records = load(jsonFile, TypeToken.getParameterized(List.class, codec.getType()).getType());
+        if (records == null) {
+            return null;
+        }
+        records.removeIf(Objects::isNull);
+        saveRecords(filename, records, codec);
+        try {
+            Files.move(dataPath.resolve(jsonFile), dataPath.resolve(jsonFile + ".bak"),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            ERRORS.increment();
+            System.err.println("Failed to retire " + jsonFile + ": " + e.getMessage());
+        }
+        return records;
+    }
+
+    /**
+     * Writes a file through a temp file in the same directory: the data is
+     * forced to disk, then the temp file is renamed over the target.
+     */
+    private static void writeAtomically(Path target, FileContent content) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+                content.writeTo(out);
+                out.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            forceDirectory(target.getParent());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Makes the rename itself durable. Not every platform can open a directory, so failures are ignored.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // best effort
+        }
+    }
+
+    /**
+     * Keeps a copy of a damaged file as .corrupt, so saving the recovered
+     * data can't destroy what was left of it.
+     */
+    private static void quarantine(Path filePath) {
+        Path copy = filePath.resolveSibling(filePath.getFileName() + ".corrupt");
+        try {
+            Files.copy(filePath, copy, StandardCopyOption.REPLACE_EXISTING);
+            System.err.println("Kept a copy of the damaged file as " + copy.getFileName());
+        } catch (IOException e) {
+            ERRORS.increment();
+            System.err.println("Failed to copy damaged file " + filePath.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean endsWithNewline(FileChannel channel, long size) throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        return last.get(0) == '\n';
+    }
+
+    private static String checksum(String json) {
+        CRC32C crc = new CRC32C();
+        crc.update(json.getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", crc.getValue());
+    }
+
+    /**
+     * Writes a file's content to a stream.
+     */
+    @FunctionalInterface
+    private interface FileContent {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private static StorageEvent startEvent(String operation, String filename) {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        event.operation = operation;
+        event.file = filename;
+        return event;
+    }
+
+    private static void commitEvent(StorageEvent event, long bytes) {
+        event.bytes = bytes;
+        event.success = true;
+        event.commit();
+    }
+
     public void saveSessions(Object sessions) {
         save(SESSIONS_FILE, sessions);
     }
@@ -120,6 +579,100 @@ public class StorageHandler {
         return load(SESSIONS_FILE, type);
     }
 
+    /**
+     * Saves one month of sessions to sessions/yyyy-MM.ffr.
+     */
+    public <T> void saveSessionSegment(YearMonth month, List<T> sessions, RecordCodec<T> codec) {
+        ensureSessionsDirectoryExists();
+        saveRecords(segmentFile(month), sessions, codec);
+    }
+
+    public <T> List<T> loadSessionSegment(YearMonth month, RecordCodec<T> codec) {
+        return loadRecords(segmentFile(month), codec);
+    }
+
+    public void saveSessionManifest(Object manifest) {
+        ensureSessionsDirectoryExists();
+        save(SESSIONS_DIRECTORY + "/" + SESSION_MANIFEST, manifest);
+    }
+
+    public <T> T loadSessionManifest(Class<T> clazz) {
+        return load(SESSIONS_DIRECTORY + "/" + SESSION_MANIFEST, clazz);
+    }
+
+    /**
+     * @see #getVersion
+     */
+    public String getSessionManifestVersion() {
+        return getVersion(SESSIONS_DIRECTORY + "/" + SESSION_MANIFEST);
+    }
+
+    /**
+     * @return path of the fixed-width session index kept beside the segments
+     */
+    public Path getSessionIndexPath() {
+        ensureSessionsDirectoryExists();
+        return dataPath.resolve(SESSIONS_DIRECTORY).resolve(SESSION_INDEX);
+    }
+
+    /**
+     * @return the months that have a segment file, in no particular order
+     */
+    public List<YearMonth> listSessionSegments() {
+        List<YearMonth> months = new ArrayList<>();
+        Path directory = dataPath.resolve(SESSIONS_DIRECTORY);
+        if (!Files.isDirectory(directory)) {
+            return months;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                int dot = name.lastIndexOf('.');
+                String extension = dot < 0 ? "" : name.substring(dot);
+                if ((extension.equals(RecordFile.EXTENSION) || extension.equals(".json"))
+                        && !name.equals(SESSION_MANIFEST)) {
+                    try {
+                        YearMonth month = YearMonth.parse(name.substring(0, dot));
+                        if (!months.contains(month)) {
+                            months.add(month);
+                        }
+                    } catch (DateTimeParseException e) {
+                        // not a segment
+                    }
+                }
+            }
+        } catch (IOException e) {
+            ERRORS.increment();
+            System.err.println("Failed to list session segments: " + e.getMessage());
+        }
+        return months;
+    }
+
+    /**
+     * Renames sessions.json to sessions.json.bak once its contents live in segments.
+     */
+    public void retireSessions() {
+        try {
+            Files.move(dataPath.resolve(SESSIONS_FILE), dataPath.resolve(SESSIONS_FILE + ".bak"),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            ERRORS.increment();
+            System.err.println("Failed to retire " + SESSIONS_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private static String segmentFile(YearMonth month) {
+        return SESSIONS_DIRECTORY + "/" + month;
+    }
+
+    private void ensureSessionsDirectoryExists() {
+        try {
+            Files.createDirectories(dataPath.resolve(SESSIONS_DIRECTORY));
+        } catch (IOException e) {
+            System.err.println("Failed to create sessions directory: " + e.getMessage());
+        }
+    }
+
     public void saveSettings(Object settings) {
         save(SETTINGS_FILE, settings);
     }
@@ -140,6 +693,43 @@ public class StorageHandler {
         return load(REFLECTIONS_FILE, type);
     }
 
+    /**
+     * @return length of the log after the append, or -1 if it failed
+     */
+    public long appendReflection(Object reflection) {
+        return append(REFLECTIONS_LOG, reflection);
+    }
+
+    public <T> List<T> loadReflectionLog(Class<T> clazz) {
+        return loadAppended(REFLECTIONS_LOG, clazz);
+    }
+
+    /**
+     * @see #readAppended
+     */
+    public <T> long readReflectionLog(Class<T> clazz, long offset, List<T> reflections) {
+        return readAppended(REFLECTIONS_LOG, clazz, offset, reflections);
+    }
+
+    public boolean hasReflectionLog() {
+        return Files.exists(dataPath.resolve(REFLECTIONS_LOG));
+    }
+
+    /**
+     * Runs changes holding the lock that appends to the reflection log take.
+     */
+    public void updateReflectionLog(Runnable changes) {
+        withLock(REFLECTIONS_LOG, changes);
+    }
+
+    public void saveConversation(Object conversation) {
+        save(CONVERSATION_FILE, conversation);
+    }
+
+    public <T> T loadConversation(Class<T> clazz) {
+        return load(CONVERSATION_FILE, clazz);
+    }
+
     public Path getDataPath() {
         return dataPath;
     }
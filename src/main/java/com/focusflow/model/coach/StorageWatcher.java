@@ -0,0 +1,111 @@
+package com.focusflow.model.coach;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells listeners when files in the data directory change, so each instance
+ * can pick up what another FocusFlow process wrote. A save is a burst of
+ * events (temp file, rename), so the watcher waits for the burst to settle
+ * and then runs every listener once, on its own daemon thread. Listeners
+ * decide for themselves what changed, e.g. with {@link StorageHandler#getVersion}.
+ *
+ * @author Fareed Uddin
+ */
+public final class StorageWatcher implements AutoCloseable {
+
+    private static final long SETTLE_MILLIS = 100;
+
+    private final WatchService watchService;
+    private final List<Runnable> listeners;
+    private Thread thread;
+
+    /**
+     * Watches the data directory and the session segments in it.
+     */
+    public StorageWatcher(StorageHandler storageHandler) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.listeners = new CopyOnWriteArrayList<>();
+        register(storageHandler.getDataPath());
+        register(storageHandler.getSessionIndexPath().getParent());
+    }
+
+    private void register(Path directory) throws IOException {
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    /**
+     * Adds a listener. It runs on the watcher thread, so it must hand any
+     * Swing work to the EDT.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized void start() {
+        if (thread == null) {
+            thread = new Thread(this::watch, "storage-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.err.println("Failed to stop watching the data directory: " + e.getMessage());
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                boolean changed = drain(watchService.take());
+                WatchKey next;
+                while ((next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(next);
+                }
+                if (changed) {
+                    notifyListeners();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                System.err.println("Failed to pick up storage changes: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return true if any event was for a data file rather than a temp or lock file
+     */
+    private static boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || !event.context().toString().startsWith(".")) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -0,0 +1,168 @@
+package com.focusflow.model.planner;
+
+import com.focusflow.model.coach.RecordId;
+import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.planner.Planner.PlannerEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps planner events in memory and saves them all to planner_events.ffr
+ * after each change; older planner_events.json files are converted on load.
+ * <p>
+ * Changes hold the storage lock for the events file and start by reloading
+ * it if another instance has saved it since, so neither instance's changes
+ * are lost and conflicts are checked against everything saved so far.
+ *
+ * @author Gianluca Binetti
+ */
+public class FilePlannerRepository implements PlannerRepository {
+
+    private static final String EVENTS_FILE = "planner_events";
+
+    private final StorageHandler storageHandler;
+    private final List<PlannerEvent> events;
+    private int batchDepth;
+    private boolean batchChanged;
+    private String eventsVersion;
+
+    public FilePlannerRepository(StorageHandler storageHandler) {
+        this.storageHandler = storageHandler;
+        this.events = new ArrayList<>();
+        loadEvents();
+    }
+
+    @Override
+    public synchronized List<PlannerEvent> findAll() {
+        return new ArrayList<>(events);
+    }
+
+    @Override
+    public synchronized List<PlannerEvent> findStartingBetween(LocalDateTime from, LocalDateTime to) {
+        List<PlannerEvent> result = new ArrayList<>();
+        for (PlannerEvent e : events) {
+            if (e.getStartTime() != null && !e.getStartTime().isBefore(from) && e.getStartTime().isBefore(to)) {
+                result.add(e);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized int count() {
+        return events.size();
+    }
+
+    @Override
+    public synchronized boolean hasConflict(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null) return false;
+        for (PlannerEvent existing : events) {
+            if (existing.getStartTime() == null || existing.getEndTime() == null) continue;
+            boolean overlaps = startTime.isBefore(existing.getEndTime()) && endTime.isAfter(existing.getStartTime());
+            if (overlaps) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized boolean addIfNoConflict(PlannerEvent event) {
+        return change(() -> {
+            if (hasConflict(event.getStartTime(), event.getEndTime())) {
+                return false;
+            }
+            events.add(event);
+            saveEvents();
+            return true;
+        });
+    }
+
+    @Override
+    public synchronized boolean remove(String eventId) {
+        return change(() -> {
+            RecordId target = RecordId.parse(eventId);
+            boolean removed = events.removeIf(e -> e.getRecordId().equals(target));
+            if (removed) {
+                saveEvents();
+            }
+            return removed;
+        });
+    }
+
+    @Override
+    public synchronized void clear() {
+        change(() -> {
+            events.clear();
+            saveEvents();
+            return null;
+        });
+    }
+
+    /**
+     * Holds the lock for the whole batch and saves once at the end.
+     */
+    @Override
+    public synchronized void batch(Runnable changes) {
+        change(() -> {
+            batchDepth++;
+            try {
+                changes.run();
+            } finally {
+                batchDepth--;
+                if (batchDepth == 0 && batchChanged) {
+                    batchChanged = false;
+                    saveEvents();
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public synchronized boolean refresh() {
+        return reloadIfChanged();
+    }
+
+    /**
+     * Runs a change holding the events lock, after picking up any newer saved events.
+     */
+    private <T> T change(Supplier<T> changes) {
+        return storageHandler.withLock(EVENTS_FILE, () -> {
+            reloadIfChanged();
+            return changes.get();
+        });
+    }
+
+    private void saveEvents() {
+        if (batchDepth > 0) {
+            batchChanged = true;
+            return;
+        }
+        storageHandler.saveRecords(EVENTS_FILE, events, PlannerEventCodec.INSTANCE);
+        eventsVersion = storageHandler.getRecordsVersion(EVENTS_FILE);
+    }
+
+    private void loadEvents() {
+        eventsVersion = storageHandler.getRecordsVersion(EVENTS_FILE);
+        List<PlannerEvent> loaded = storageHandler.loadRecords(EVENTS_FILE, PlannerEventCodec.INSTANCE);
+        if (loaded != null) {
+            events.addAll(loaded);
+        }
+    }
+
+    private boolean reloadIfChanged() {
+        // A batch holds the lock, so nothing else can have saved; don't drop its unsaved changes
+        if (batchDepth > 0) {
+            return false;
+        }
+        String version = storageHandler.getRecordsVersion(EVENTS_FILE);
+        if (version == null || version.equals(eventsVersion)) {
+            return false;
+        }
+        events.clear();
+        loadEvents();
+        return true;
+    }
+}
@@ -1,9 +1,13 @@
 package com.focusflow.model.planner;
 
+import com.focusflow.metrics.Histogram;
+import com.focusflow.metrics.MetricsRegistry;
+import com.focusflow.metrics.PlannerChangeEvent;
+import com.focusflow.model.coach.RecordId;
 import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.storage.StorageBackends;
 import com.focusflow.observer.Event;
 import com.focusflow.observer.Observer;
-import com.google.gson.reflect.TypeToken;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
@@ -11,30 +15,41 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.lang.reflect.Type;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Manages calendar events and study planning.
+ * Events are kept in a {@link PlannerRepository}, which also answers
+ * conflict checks and date queries; by default that is the repository of
+ * the configured storage backend.
  *
  * @author Gianluca Binetti
  */
 public class Planner {
 
-    private final List<PlannerEvent> events;
+    private static final Histogram DISPATCH_TIME = MetricsRegistry.getInstance().histogram("observer.dispatch.us");
+
+    private final PlannerRepository repository;
     private final List<Observer> observers;
-    private final StorageHandler storageHandler;
+
+    private int batchDepth;
+    private boolean batchChanged;
 
     public Planner() {
-        this.events = new ArrayList<>();
+        this(StorageBackends.getDefault().plannerEvents());
+    }
+
+    public Planner(StorageHandler storageHandler) {
+        this(new FilePlannerRepository(storageHandler));
+    }
+
+    public Planner(PlannerRepository repository) {
+        this.repository = repository;
         this.observers = new ArrayList<>();
-        this.storageHandler = new StorageHandler();
-        loadEvents();
     }
 
     /**
@@ -42,13 +57,7 @@ public class Planner {
      * @return true if there is a conflict
      */
     public boolean hasConflict(LocalDateTime startTime, LocalDateTime endTime) {
-        if (startTime == null || endTime == null) return false;
-        for (PlannerEvent existing : events) {
-            if (existing.getStartTime() == null || existing.getEndTime() == null) continue;
-            boolean overlaps = startTime.isBefore(existing.getEndTime()) && endTime.isAfter(existing.getStartTime());
-            if (overlaps) return true;
-        }
-        return false;
+        return repository.hasConflict(startTime, endTime);
     }
 
     /**
@@ -56,13 +65,13 @@ public class Planner {
      * @return true if added successfully, false if conflict
      */
     public boolean addEvent(String title, String description, LocalDateTime startTime, LocalDateTime endTime) {
-        if (hasConflict(startTime, endTime)) {
+        PlannerChangeEvent jfrEvent = startChange("add");
+        PlannerEvent event = new PlannerEvent(title, description, startTime, endTime);
+        if (!repository.addIfNoConflict(event)) {
             return false;
         }
-        PlannerEvent event = new PlannerEvent(title, description, startTime, endTime);
-        events.add(event);
-        saveEvents();
         notifyObservers(new Event(Event.EventType.DATA_LOADED, event));
+        commitChange(jfrEvent);
         return true;
     }
 
@@ -72,15 +81,15 @@ public class Planner {
      */
     public boolean addStudyEvent(String title, String description, LocalDateTime startTime, LocalDateTime endTime,
             String mode) {
-        if (hasConflict(startTime, endTime)) {
-            return false;
-        }
+        PlannerChangeEvent jfrEvent = startChange("addStudy");
         PlannerEvent event = new PlannerEvent(title, description, startTime, endTime);
         event.setStudyBlock(true);
         event.setTimerMode(mode);
-        events.add(event);
-        saveEvents();
+        if (!repository.addIfNoConflict(event)) {
+            return false;
+        }
         notifyObservers(new Event(Event.EventType.DATA_LOADED, event));
+        commitChange(jfrEvent);
         return true;
     }
 
@@ -89,49 +98,85 @@ public class Planner {
      * @return true if event was found and removed
      */
     public boolean removeEvent(String eventId) {
-        PlannerEvent toRemove = null;
-        for (PlannerEvent e : events) {
-            if (e.getId().equals(eventId)) {
-                toRemove = e;
-                break;
-            }
-        }
-        if (toRemove != null) {
-            events.remove(toRemove);
-            saveEvents();
-            notifyObservers(new Event(Event.EventType.DATA_LOADED, null));
-            return true;
+        PlannerChangeEvent jfrEvent = startChange("remove");
+        if (!repository.remove(eventId)) {
+            return false;
         }
-        return false;
+        notifyObservers(new Event(Event.EventType.DATA_LOADED, null));
+        commitChange(jfrEvent);
+        return true;
     }
 
     /**
      * Removes all events from the planner.
      */
     public void clearEvents() {
-        events.clear();
-        saveEvents();
+        PlannerChangeEvent jfrEvent = startChange("clear");
+        repository.clear();
+        notifyObservers(new Event(Event.EventType.DATA_LOADED, null));
+        commitChange(jfrEvent);
+    }
+
+    /**
+     * Picks up events another instance has saved and notifies observers.
+     * @return true if anything changed
+     */
+    public boolean refresh() {
+        if (!repository.refresh()) {
+            return false;
+        }
         notifyObservers(new Event(Event.EventType.DATA_LOADED, null));
+        return true;
     }
 
     /**
      * @return copy of all events
      */
     public List<PlannerEvent> getAllEvents() {
-        return new ArrayList<>(events);
+        return repository.findAll();
     }
 
     /**
      * Gets events for a specific date.
      */
     public List<PlannerEvent> getEventsForDate(LocalDate date) {
-        List<PlannerEvent> result = new ArrayList<>();
-        for (PlannerEvent e : events) {
-            if (e.getStartTime().toLocalDate().equals(date)) {
-                result.add(e);
+        return repository.findStartingBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Runs several changes as one batch, saving and notifying observers
+     * once at the end instead of after every change.
+     */
+    public void runBatch(Runnable changes) {
+        PlannerChangeEvent jfrEvent = startChange("batch");
+        batchDepth++;
+        boolean outermost = batchDepth == 1;
+        try {
+            repository.batch(changes);
+        } finally {
+            batchDepth--;
+        }
+        if (outermost) {
+            if (batchChanged) {
+                batchChanged = false;
+                notifyObservers(new Event(Event.EventType.DATA_LOADED, null));
             }
+            commitChange(jfrEvent);
+        }
+    }
+
+    private static PlannerChangeEvent startChange(String operation) {
+        PlannerChangeEvent event = new PlannerChangeEvent();
+        event.begin();
+        event.operation = operation;
+        return event;
+    }
+
+    private void commitChange(PlannerChangeEvent event) {
+        if (event.shouldCommit()) {
+            event.eventCount = repository.count();
+            event.commit();
         }
-        return result;
     }
 
     public void addObserver(Observer observer) {
@@ -143,28 +188,22 @@ public class Planner {
     }
 
     private void notifyObservers(Event event) {
+        if (batchDepth > 0) {
+            batchChanged = true;
+            return;
+        }
+        long start = System.nanoTime();
         for (Observer observer : observers) {
             observer.update(event);
         }
-    }
-
-    private void saveEvents() {
-        storageHandler.save("planner_events.json", events);
-    }
-
-    private void loadEvents() {
-        Type listType = new TypeToken<List<PlannerEvent>>() {
-        }.getType();
-        List<PlannerEvent> loaded = storageHandler.load("planner_events.json", listType);
-        if (loaded != null) {
-            events.addAll(loaded);
-        }
+        DISPATCH_TIME.recordSince(start);
     }
 
     /**
      * Imports events from an ICS file.
      */
     public void importFromICS(File file) throws IOException {
+        PlannerChangeEvent jfrEvent = startChange("importICS");
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
 
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
@@ -212,6 +251,7 @@ public class Planner {
                 }
             }
         }
+        commitChange(jfrEvent);
     }
 
     /**
@@ -225,7 +265,7 @@ public class Planner {
             writer.write("VERSION:2.0\n");
             writer.write("PRODID:-//FocusFlow//Study Planner//EN\n");
 
-            for (PlannerEvent event : events) {
+            for (PlannerEvent event : repository.findAll()) {
                 writer.write("BEGIN:VEVENT\n");
                 writer.write("UID:" + event.getId() + "\n");
                 writer.write("SUMMARY:" + event.getTitle() + "\n");
@@ -246,10 +286,10 @@ public class Planner {
     }
 
     /**
-     * Inner class for calendar events.
+     * Inner class for calendar events. New events get time-ordered ids.
      */
     public static class PlannerEvent {
-        private final String id;
+        private final RecordId id;
         private String title;
         private String description;
         private LocalDateTime startTime;
@@ -258,7 +298,23 @@ public class Planner {
         private boolean isStudyBlock;
 
         public PlannerEvent(String title, String description, LocalDateTime startTime, LocalDateTime endTime) {
-            this.id = UUID.randomUUID().toString();
+            this(RecordId.next(), title, description, startTime, endTime);
+        }
+
+        /**
+         * Recreates a stored event with its original id, e.g. when loading from disk.
+         */
+        public PlannerEvent(String id, String title, String description, LocalDateTime startTime,
+                LocalDateTime endTime) {
+            this(RecordId.parse(id), title, description, startTime, endTime);
+        }
+
+        /**
+         * Recreates a stored event whose id is already parsed, e.g. from a binary record.
+         */
+        public PlannerEvent(RecordId id, String title, String description, LocalDateTime startTime,
+                LocalDateTime endTime) {
+            this.id = id;
             this.title = title;
             this.description = description;
             this.startTime = startTime;
@@ -267,7 +323,8 @@ public class Planner {
             this.timerMode = "POMODORO";
         }
 
-        public String getId() { return id; }
+        public String getId() { return id == null ? null : id.toString(); }
+        public RecordId getRecordId() { return id; }
         public String getTitle() { return title; }
         public String getDescription() { return description; }
         public LocalDateTime getStartTime() { return startTime; }
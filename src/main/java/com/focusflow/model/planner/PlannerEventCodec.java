@@ -0,0 +1,84 @@
+package com.focusflow.model.planner;
+
+import com.focusflow.model.coach.RecordCodec;
+import com.focusflow.model.coach.RecordId;
+import com.focusflow.model.coach.RecordReader;
+import com.focusflow.model.coach.RecordWriter;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Binary layout of a planner event: flags, id, start time, seconds until
+ * the end, title and timer mode (dictionary) and description.
+ * Times are kept to the second.
+ *
+ * @author Gianluca Binetti
+ */
+public class PlannerEventCodec implements RecordCodec<Planner.PlannerEvent> {
+
+    public static final PlannerEventCodec INSTANCE = new PlannerEventCodec();
+
+    private static final int STUDY_BLOCK = 1;
+    private static final int HAS_START = 1 << 1;
+    private static final int HAS_END = 1 << 2;
+
+    @Override
+    public String getName() {
+        return "planner-event";
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public Class<Planner.PlannerEvent> getType() {
+        return Planner.PlannerEvent.class;
+    }
+
+    @Override
+    public void write(Planner.PlannerEvent event, RecordWriter out) {
+        LocalDateTime start = event.getStartTime();
+        LocalDateTime end = event.getEndTime();
+        int flags = (event.isStudyBlock() ? STUDY_BLOCK : 0)
+                | (start != null ? HAS_START : 0)
+                | (end != null ? HAS_END : 0);
+        out.writeByte(flags);
+        out.writeId(event.getRecordId());
+        if (start != null) {
+            out.writeTime(start);
+        }
+        if (end != null) {
+            // relative to the start when there is one, as most events are short
+            if (start != null) {
+                out.writeSignedVarint(ChronoUnit.SECONDS.between(start, end));
+            } else {
+                out.writeTime(end);
+            }
+        }
+        out.writeDictionary(event.getTitle());
+        out.writeDictionary(event.getTimerMode());
+        out.writeString(event.getDescription());
+    }
+
+    @Override
+    public Planner.PlannerEvent read(RecordReader in, int version) {
+        int flags = in.readByte();
+        RecordId id = in.readId();
+        LocalDateTime start = (flags & HAS_START) != 0 ? in.readTime() : null;
+        LocalDateTime end = null;
+        if ((flags & HAS_END) != 0) {
+            end = start != null ? start.plusSeconds(in.readSignedVarint()) : in.readTime();
+        }
+        String title = in.readDictionary();
+        String timerMode = in.readDictionary();
+        String description = in.readString();
+
+        Planner.PlannerEvent event = new Planner.PlannerEvent(id, title, description, start, end);
+        event.setTimerMode(timerMode);
+        event.setStudyBlock((flags & STUDY_BLOCK) != 0);
+        return event;
+    }
+}
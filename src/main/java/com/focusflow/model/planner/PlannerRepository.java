@@ -0,0 +1,58 @@
+package com.focusflow.model.planner;
+
+import com.focusflow.model.planner.Planner.PlannerEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Where planner events are stored. Conflict checks and time-range queries
+ * are answered by the repository, so an indexed backend never has to hand
+ * every event to {@link Planner}. Implementations are thread-safe.
+ *
+ * @author Gianluca Binetti
+ */
+public interface PlannerRepository {
+
+    /**
+     * @return all events, in the order they were added
+     */
+    List<PlannerEvent> findAll();
+
+    /**
+     * @return events starting at or after from and before to
+     */
+    List<PlannerEvent> findStartingBetween(LocalDateTime from, LocalDateTime to);
+
+    int count();
+
+    /**
+     * @return true if the time slot overlaps a stored event
+     */
+    boolean hasConflict(LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * Adds the event unless it overlaps one already stored. The check and the
+     * add are one step, so two instances can't both take the same slot.
+     * @return true if added
+     */
+    boolean addIfNoConflict(PlannerEvent event);
+
+    /**
+     * @return true if an event with the id was found and removed
+     */
+    boolean remove(String eventId);
+
+    void clear();
+
+    /**
+     * Runs several changes as one: one save or one transaction.
+     */
+    void batch(Runnable changes);
+
+    /**
+     * Picks up events other instances have saved since this one last looked.
+     * @return true if anything changed
+     */
+    boolean refresh();
+}
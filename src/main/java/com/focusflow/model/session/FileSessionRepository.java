@@ -0,0 +1,578 @@
+package com.focusflow.model.session;
+
+import com.focusflow.metrics.Counter;
+import com.focusflow.metrics.MetricsRegistry;
+import com.focusflow.model.coach.RecordId;
+import com.focusflow.model.coach.StorageHandler;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Stores sessions in the data directory, one segment file per month, with a
+ * manifest of per-month totals. Only recent months are loaded up front. Older
+ * months are loaded when a query reaches them and kept off the Java heap in
+ * an {@link OffHeapSessionStore}, so a long history doesn't fill the old
+ * generation; queries get fresh SessionRecord objects for them. As with the
+ * soft references these months used to be held by, they are dropped when
+ * the heap runs short (see {@link MemoryPressure}) and read again on demand.
+ * The store's size can be set with the focusflow.coldSessions property.
+ * <p>
+ * Whole-history statistics use {@link #scan}, which reads a memory-mapped
+ * fixed-width index of every session instead of the segments.
+ * <p>
+ * Other instances, in this process or another, may log sessions to the same
+ * directory. Every change holds the storage lock for the sessions and first
+ * reloads the manifest if it has changed on disk; {@link #refresh} does the
+ * same between changes. Only months whose totals changed are read again.
+ *
+ * @author Frank Watkins
+ */
+public class FileSessionRepository implements SessionRepository {
+
+    private static final Counter SEGMENT_LOADS = MetricsRegistry.getInstance().counter("session.segment.loads");
+
+    /** Months always kept in memory, counting the current one. */
+    static final int RECENT_MONTHS = 3;
+    /** Older sessions kept off the heap before the store is cleared; at most about 80 MB. */
+    static final int COLD_CAPACITY = Integer.getInteger("focusflow.coldSessions", 2_000_000);
+    private static final Type LIST_TYPE = new TypeToken<List<SessionRecord>>(){}.getType();
+    /** Storage lock name for the segments, manifest and index. */
+    private static final String LOCK = "sessions";
+
+    private final StorageHandler storageHandler;
+    private final TreeMap<YearMonth, SegmentSummary> summaries;
+    /** Copies of the summaries as last read from or written to the manifest. */
+    private final Map<YearMonth, SegmentSummary> savedSummaries;
+    private final Map<YearMonth, List<SessionRecord>> recentSegments;
+    private final OffHeapSessionStore coldSegments;
+    private final List<String> modeNames;
+    private final Map<String, Integer> modeNumbers;
+    private SessionIndex index;
+    private boolean indexStale;
+    private String manifestVersion;
+    private boolean manifestDirty;
+
+    public FileSessionRepository(StorageHandler storageHandler) {
+        this.storageHandler = storageHandler;
+        this.summaries = new TreeMap<>();
+        this.savedSummaries = new HashMap<>();
+        this.recentSegments = new HashMap<>();
+        this.coldSegments = new OffHeapSessionStore(COLD_CAPACITY);
+        this.modeNames = new ArrayList<>();
+        this.modeNumbers = new HashMap<>();
+        storageHandler.withLock(LOCK, this::loadSessions);
+        MemoryPressure.register(this);
+    }
+
+    @Override
+    public synchronized void add(SessionRecord session) {
+        storageHandler.withLock(LOCK, () -> {
+            reloadManifest();
+            YearMonth month = monthOf(session);
+            List<SessionRecord> segment = segment(month);
+            segment.add(session);
+            summaries.computeIfAbsent(month, m -> new SegmentSummary()).add(session);
+            saveSegment(month, segment);
+            appendToIndex(List.of(session));
+            saveManifest();
+        });
+    }
+
+    /**
+     * Each affected month is saved once.
+     */
+    @Override
+    public synchronized int addAll(List<SessionRecord> sessions) {
+        return storageHandler.withLock(LOCK, () -> addSessions(sessions));
+    }
+
+    private int addSessions(List<SessionRecord> sessions) {
+        reloadManifest();
+        int added = 0;
+        Map<YearMonth, List<SessionRecord>> touched = new TreeMap<>();
+        Map<YearMonth, Set<RecordId>> idsByMonth = new HashMap<>();
+        List<SessionRecord> imported = new ArrayList<>();
+        for (SessionRecord session : sessions) {
+            if (session == null || session.getStartTime() == null) {
+                continue;
+            }
+            YearMonth month = monthOf(session);
+            List<SessionRecord> segment = touched.computeIfAbsent(month, this::segment);
+            Set<RecordId> ids = idsByMonth.computeIfAbsent(month, m -> {
+                Set<RecordId> existing = new HashSet<>();
+                for (SessionRecord logged : segment) {
+                    existing.add(logged.getRecordId());
+                }
+                return existing;
+            });
+            if (ids.add(session.getRecordId())) {
+                segment.add(session);
+                summaries.computeIfAbsent(month, m -> new SegmentSummary()).add(session);
+                imported.add(session);
+                added++;
+            }
+        }
+        for (Map.Entry<YearMonth, List<SessionRecord>> entry : touched.entrySet()) {
+            saveSegment(entry.getKey(), entry.getValue());
+        }
+        if (added > 0) {
+            appendToIndex(imported);
+            saveManifest();
+        }
+        return added;
+    }
+
+    @Override
+    public synchronized boolean refresh() {
+        return storageHandler.withLock(LOCK, () -> {
+            boolean reloaded = reloadManifest();
+            if (manifestDirty) {
+                saveManifest();
+            }
+            return reloaded;
+        });
+    }
+
+    /**
+     * Loads only the months the date range reaches.
+     */
+    @Override
+    public synchronized List<SessionRecord> find(LocalDate from, LocalDate to, String mode) {
+        List<SessionRecord> sessions = new ArrayList<>();
+        for (SessionRecord session : collect(from == null ? null : YearMonth.from(from),
+                to == null ? null : YearMonth.from(to))) {
+            LocalDate date = session.getStartTime().toLocalDate();
+            if ((from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to))
+                    && (mode == null || mode.equalsIgnoreCase(session.getModeName()))) {
+                sessions.add(session);
+            }
+        }
+        return sessions;
+    }
+
+    @Override
+    public synchronized int count() {
+        int count = 0;
+        for (SegmentSummary summary : summaries.values()) {
+            count += summary.getCount();
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized int countCompleted() {
+        int count = 0;
+        for (SegmentSummary summary : summaries.values()) {
+            count += summary.getCompleted();
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized int focusMinutes() {
+        int total = 0;
+        for (SegmentSummary summary : summaries.values()) {
+            total += summary.getFocusMinutes();
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized int sessionMinutes() {
+        int total = 0;
+        for (SegmentSummary summary : summaries.values()) {
+            total += summary.getTotalMinutes();
+        }
+        return total;
+    }
+
+    /**
+     * Answered from the manifest without loading the month.
+     * @return true if a completed session started on the date
+     */
+    @Override
+    public synchronized boolean hasCompletedSessionOn(LocalDate date) {
+        SegmentSummary summary = summaries.get(YearMonth.from(date));
+        return summary != null && summary.isActiveOn(date.getDayOfMonth());
+    }
+
+    /**
+     * Passes every logged session to the visitor without loading any months.
+     * Falls back to reading the segments if the index can't be used.
+     */
+    @Override
+    public synchronized void scan(SessionVisitor visitor) {
+        if (indexStale) {
+            rebuildIndex();
+        }
+        if (index != null) {
+            try {
+                index.scan(visitor);
+                return;
+            } catch (IOException e) {
+                System.err.println("Failed to read session index: " + e.getMessage());
+                index = null;
+            }
+        }
+        for (SessionRecord session : collect(null, null)) {
+            visitor.visit(SessionIndex.epochSecond(session.getStartTime()), session.getDurationMinutes(),
+                    modeNumber(session.getModeName()), session.isCompleted());
+        }
+    }
+
+    @Override
+    public synchronized List<String> getModeNames() {
+        return new ArrayList<>(modeNames);
+    }
+
+    /**
+     * Drops old months from memory; they are reloaded from disk when needed.
+     * Called by {@link MemoryPressure} when the heap runs short.
+     */
+    public synchronized void evictColdSegments() {
+        coldSegments.clear();
+        recentSegments.keySet().removeIf(month -> !isRecent(month));
+    }
+
+    /**
+     * @return true if the month's sessions are currently in memory
+     */
+    synchronized boolean isSegmentLoaded(YearMonth month) {
+        return recentSegments.containsKey(month) || coldSegments.contains(month);
+    }
+
+    /**
+     * Collects sessions from the stored months between from and to, inclusive;
+     * null bounds are open.
+     */
+    private List<SessionRecord> collect(YearMonth from, YearMonth to) {
+        Map<YearMonth, SegmentSummary> months = summaries;
+        if (from != null && to != null) {
+            months = from.isAfter(to) ? new TreeMap<>() : summaries.subMap(from, true, to, true);
+        }
+        List<SessionRecord> sessions = new ArrayList<>();
+        for (YearMonth month : months.keySet()) {
+            sessions.addAll(segment(month));
+        }
+        return sessions;
+    }
+
+    /**
+     * Returns the month's sessions, loading them if they are not in memory.
+     * Recent months share one list; older months come back as a new list
+     * each time, so changes to them must go through {@link #saveSegment}.
+     */
+    private List<SessionRecord> segment(YearMonth month) {
+        if (isRecent(month)) {
+            return recentSegments.computeIfAbsent(month, this::readSegment);
+        }
+        List<SessionRecord> segment = coldSegments.get(month, modeNames::get);
+        if (segment == null) {
+            segment = readSegment(month);
+            coldSegments.put(month, segment, this::modeNumber);
+        }
+        return segment;
+    }
+
+    /**
+     * Writes a changed month to disk and, if it is an older month, off the heap.
+     */
+    private void saveSegment(YearMonth month, List<SessionRecord> segment) {
+        storageHandler.saveSessionSegment(month, segment, SessionRecordCodec.INSTANCE);
+        if (!isRecent(month)) {
+            coldSegments.put(month, segment, this::modeNumber);
+        }
+    }
+
+    private List<SessionRecord> readSegment(YearMonth month) {
+        if (!summaries.containsKey(month)) {
+            return new ArrayList<>();
+        }
+        SEGMENT_LOADS.increment();
+        List<SessionRecord> loaded = storageHandler.loadSessionSegment(month, SessionRecordCodec.INSTANCE);
+        List<SessionRecord> segment = loaded != null ? new ArrayList<>(loaded) : new ArrayList<>();
+        segment.removeIf(session -> session == null || session.getStartTime() == null);
+
+        // Repair the manifest if a crash left it out of step with the segment;
+        // it is saved with the next change, once any newer manifest is merged in
+        SegmentSummary actual = SegmentSummary.of(segment);
+        if (!actual.equals(summaries.get(month))) {
+            summaries.put(month, actual);
+            indexStale = true;
+            manifestDirty = true;
+        }
+        return segment;
+    }
+
+    private static boolean isRecent(YearMonth month) {
+        return !month.isBefore(YearMonth.now().minusMonths(RECENT_MONTHS - 1));
+    }
+
+    private static YearMonth monthOf(SessionRecord session) {
+        return session.getStartTime() != null ? YearMonth.from(session.getStartTime()) : YearMonth.now();
+    }
+
+    private int modeNumber(String modeName) {
+        if (modeName == null) {
+            return -1;
+        }
+        Integer number = modeNumbers.get(modeName);
+        if (number == null) {
+            number = modeNames.size();
+            modeNames.add(modeName);
+            modeNumbers.put(modeName, number);
+        }
+        return number;
+    }
+
+    private void appendToIndex(List<SessionRecord> sessions) {
+        if (index == null || indexStale) {
+            return;
+        }
+        try {
+            List<SessionRecord> started = new ArrayList<>(sessions);
+            started.removeIf(session -> session.getStartTime() == null);
+            index.append(started, this::modeNumber);
+        } catch (IOException e) {
+            System.err.println("Failed to update session index: " + e.getMessage());
+            indexStale = true;
+        }
+    }
+
+    /**
+     * Opens the index, rebuilding it if it doesn't match the manifest.
+     */
+    private void openIndex(boolean modesKnown) {
+        try {
+            index = new SessionIndex(storageHandler.getSessionIndexPath());
+        } catch (IOException e) {
+            System.err.println("Failed to open session index: " + e.getMessage());
+            return;
+        }
+        if (indexStale || !modesKnown || index.size() != count()) {
+            rebuildIndex();
+        }
+    }
+
+    private void rebuildIndex() {
+        if (index == null) {
+            return;
+        }
+        storageHandler.withLock(LOCK, () -> {
+            reloadManifest();
+            try {
+                index.rebuild(collect(null, null), this::modeNumber);
+            } catch (IOException e) {
+                System.err.println("Failed to rebuild session index: " + e.getMessage());
+                index = null;
+            }
+            indexStale = false;
+            saveManifest();
+        });
+    }
+
+    /**
+     * Re-reads the index's record count after another instance has changed it.
+     */
+    private void reloadIndex() {
+        if (index == null) {
+            return;
+        }
+        try {
+            index.reload();
+        } catch (IOException e) {
+            System.err.println("Failed to read session index: " + e.getMessage());
+            index = null;
+            return;
+        }
+        if (index.size() != count()) {
+            indexStale = true;
+        }
+    }
+
+    /**
+     * Must be called holding the sessions lock.
+     */
+    private void saveManifest() {
+        Manifest manifest = new Manifest();
+        for (Map.Entry<YearMonth, SegmentSummary> entry : summaries.entrySet()) {
+            manifest.segments.put(entry.getKey().toString(), entry.getValue());
+            savedSummaries.put(entry.getKey(), entry.getValue().copy());
+        }
+        manifest.modes.addAll(modeNames);
+        storageHandler.saveSessionManifest(manifest);
+        manifestVersion = storageHandler.getSessionManifestVersion();
+        manifestDirty = false;
+    }
+
+    /**
+     * Merges in a manifest another instance saved since this one last read or
+     * wrote it. A month is taken from the file only if its totals there have
+     * changed; its cached sessions are dropped so they are read again.
+     * Must be called holding the sessions lock.
+     * @return true if any month changed
+     */
+    private boolean reloadManifest() {
+        String version = storageHandler.getSessionManifestVersion();
+        if (version == null || version.equals(manifestVersion)) {
+            return false;
+        }
+        Manifest manifest = storageHandler.loadSessionManifest(Manifest.class);
+        manifestVersion = version;
+        if (manifest == null || manifest.segments == null) {
+            return false;
+        }
+        mergeModes(manifest.modes);
+        boolean changed = false;
+        for (Map.Entry<String, SegmentSummary> entry : manifest.segments.entrySet()) {
+            YearMonth month = YearMonth.parse(entry.getKey());
+            SegmentSummary summary = entry.getValue();
+            if (!summary.equals(savedSummaries.get(month))) {
+                savedSummaries.put(month, summary.copy());
+                summaries.put(month, summary);
+                recentSegments.remove(month);
+                coldSegments.remove(month);
+                changed = true;
+            }
+        }
+        if (changed) {
+            reloadIndex();
+        }
+        return changed;
+    }
+
+    /**
+     * Adopts the mode numbers in a saved manifest. If this instance numbered
+     * a mode differently in the meantime, the file's numbering wins and
+     * everything stored by mode number is rebuilt.
+     */
+    private void mergeModes(List<String> modes) {
+        if (modes == null) {
+            return;
+        }
+        boolean agree = true;
+        for (int i = 0; i < modes.size() && agree; i++) {
+            String mode = modes.get(i);
+            if (i < modeNames.size()) {
+                agree = modeNames.get(i).equals(mode);
+            } else {
+                agree = !modeNumbers.containsKey(mode);
+                if (agree) {
+                    modeNumber(mode);
+                }
+            }
+        }
+        if (!agree) {
+            List<String> ours = new ArrayList<>(modeNames);
+            modeNames.clear();
+            modeNumbers.clear();
+            for (String mode : modes) {
+                modeNumber(mode);
+            }
+            for (String mode : ours) {
+                modeNumber(mode);
+            }
+            coldSegments.clear();
+            indexStale = true;
+        }
+    }
+
+    private void loadSessions() {
+        manifestVersion = storageHandler.getSessionManifestVersion();
+        Manifest manifest = storageHandler.loadSessionManifest(Manifest.class);
+        if (manifest != null && manifest.segments != null) {
+            for (Map.Entry<String, SegmentSummary> entry : manifest.segments.entrySet()) {
+                YearMonth month = YearMonth.parse(entry.getKey());
+                summaries.put(month, entry.getValue());
+                savedSummaries.put(month, entry.getValue().copy());
+            }
+        }
+        if (manifest != null && manifest.modes != null) {
+            for (String mode : manifest.modes) {
+                modeNumber(mode);
+            }
+        }
+
+        // Segments written just before a crash may be missing from the manifest
+        boolean repaired = false;
+        for (YearMonth month : storageHandler.listSessionSegments()) {
+            if (!summaries.containsKey(month)) {
+                summaries.put(month, new SegmentSummary());
+                segment(month);
+                repaired = true;
+            }
+        }
+        if (manifest == null) {
+            repaired |= migrateSessionsFile();
+        }
+        if (repaired) {
+            saveManifest();
+        }
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i < RECENT_MONTHS; i++) {
+            segment(current.minusMonths(i));
+        }
+        // Without a manifest, the mode numbers in an existing index mean nothing
+        openIndex(manifest != null);
+        if (manifestDirty) {
+            saveManifest();
+        }
+    }
+
+    /**
+     * Splits a sessions.json from before segments existed into monthly files.
+     * @return true if there was anything to migrate
+     */
+    private boolean migrateSessionsFile() {
+        List<SessionRecord> legacy = storageHandler.loadSessions(LIST_TYPE);
+        if (legacy == null) {
+            return false;
+        }
+        TreeMap<YearMonth, List<SessionRecord>> byMonth = new TreeMap<>();
+        for (SessionRecord session : legacy) {
+            if (session != null && session.getStartTime() != null) {
+                byMonth.computeIfAbsent(monthOf(session), m -> new ArrayList<>()).add(session);
+            }
+        }
+        for (Map.Entry<YearMonth, List<SessionRecord>> entry : byMonth.entrySet()) {
+            YearMonth month = entry.getKey();
+            List<SessionRecord> segment = segment(month);
+            // A migration interrupted before the rename may already have written this month
+            Set<RecordId> ids = new HashSet<>();
+            for (SessionRecord session : segment) {
+                ids.add(session.getRecordId());
+            }
+            for (SessionRecord session : entry.getValue()) {
+                if (ids.add(session.getRecordId())) {
+                    segment.add(session);
+                }
+            }
+            summaries.put(month, SegmentSummary.of(segment));
+            saveSegment(month, segment);
+        }
+        storageHandler.retireSessions();
+        return true;
+    }
+
+    /**
+     * Persisted form of the segment manifest, keyed by yyyy-MM.
+     */
+    private static class Manifest {
+        private int version = 1;
+        private Map<String, SegmentSummary> segments = new TreeMap<>();
+        /** Mode names by the number stored in the session index. */
+        private List<String> modes = new ArrayList<>();
+    }
+}
@@ -0,0 +1,77 @@
+package com.focusflow.model.session;
+
+import com.focusflow.metrics.Counter;
+import com.focusflow.metrics.MetricsRegistry;
+
+import javax.management.NotificationEmitter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Drops older months of sessions from every open repository when the heap
+ * is nearly full after a collection, which is when soft references would
+ * be cleared. Repositories are held weakly, so registering one doesn't
+ * keep it alive.
+ *
+ * @author Frank Watkins
+ */
+final class MemoryPressure {
+
+    /** Share of a heap pool still in use after a collection that counts as pressure. */
+    static final double THRESHOLD = 0.85;
+
+    private static final Counter EVICTIONS = MetricsRegistry.getInstance().counter("session.segment.evictions");
+    private static final Set<FileSessionRepository> repositories =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    static {
+        listen();
+    }
+
+    private MemoryPressure() {
+    }
+
+    static void register(FileSessionRepository repository) {
+        repositories.add(repository);
+    }
+
+    /**
+     * Evicts the older months of every registered repository.
+     */
+    static void relieve() {
+        List<FileSessionRepository> open;
+        synchronized (repositories) {
+            open = new ArrayList<>(repositories);
+        }
+        for (FileSessionRepository repository : open) {
+            repository.evictColdSegments();
+        }
+        EVICTIONS.increment();
+    }
+
+    private static void listen() {
+        boolean watched = false;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage().getMax();
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported() && max > 0) {
+                pool.setCollectionUsageThreshold((long) (max * THRESHOLD));
+                watched = true;
+            }
+        }
+        Object memory = ManagementFactory.getMemoryMXBean();
+        if (watched && memory instanceof NotificationEmitter) {
+            ((NotificationEmitter) memory).addNotificationListener((notification, handback) -> {
+                if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+                    relieve();
+                }
+            }, null, null);
+        }
+    }
+}
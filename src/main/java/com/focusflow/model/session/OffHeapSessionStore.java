@@ -0,0 +1,206 @@
+package com.focusflow.model.session;
+
+import com.focusflow.model.coach.RecordId;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Holds months of sessions outside the Java heap, so years of history add
+ * nothing to old-gen occupancy or GC work. Sessions are packed as fixed-width
+ * records into chunks allocated from a shared arena and turned back into
+ * SessionRecord objects only when a query asks for them.
+ * <p>
+ * Record layout (40 bytes): id as two longs, start second (long), end offset
+ * in seconds (int), planned minutes (int), actual minutes (int), mode (short),
+ * flags (byte) and one spare byte. Ids held as text are kept on the heap.
+ * <p>
+ * Not thread-safe; FileSessionRepository guards it with its own lock.
+ *
+ * @author Frank Watkins
+ */
+final class OffHeapSessionStore {
+
+    static final int RECORD_BYTES = 40;
+    static final int CHUNK_RECORDS = 4096;
+
+    private static final long ID_HIGH = 0;
+    private static final long ID_LOW = 8;
+    private static final long START = 16;
+    private static final long END_OFFSET = 24;
+    private static final long PLANNED = 28;
+    private static final long ACTUAL = 32;
+    private static final long MODE = 36;
+    private static final long FLAGS = 38;
+
+    private static final byte COMPLETED = 1;
+    private static final byte HAS_END = 2;
+    private static final byte TEXT_ID = 4;
+
+    private final int capacity;
+    private final List<MemorySegment> chunks;
+    private final Map<YearMonth, Range> months;
+    private final Map<Integer, RecordId> textIds;
+    private Arena arena;
+    private int rows;
+
+    /**
+     * @param capacity most records held before the store is cleared to make room
+     */
+    OffHeapSessionStore(int capacity) {
+        this.capacity = capacity;
+        this.chunks = new ArrayList<>();
+        this.months = new HashMap<>();
+        this.textIds = new HashMap<>();
+    }
+
+    boolean contains(YearMonth month) {
+        return months.containsKey(month);
+    }
+
+    /**
+     * Stores a month, replacing any earlier copy. Replaced records stay
+     * allocated until the store is next cleared.
+     * @param modes gives the mode number for a mode name
+     * @return false if the month alone is larger than the store
+     */
+    boolean put(YearMonth month, List<SessionRecord> sessions, ToIntFunction<String> modes) {
+        if (sessions.size() > capacity) {
+            months.remove(month);
+            return false;
+        }
+        if (rows + sessions.size() > capacity) {
+            clear();
+        }
+        int first = rows;
+        for (SessionRecord session : sessions) {
+            write(rows++, session, modes);
+        }
+        months.put(month, new Range(first, sessions.size()));
+        return true;
+    }
+
+    /**
+     * Forgets a month. Its records stay allocated until the store is next cleared.
+     */
+    void remove(YearMonth month) {
+        months.remove(month);
+    }
+
+    /**
+     * @param modeNames gives the mode name for a mode number
+     * @return new SessionRecord objects for the month, or null if it isn't stored
+     */
+    List<SessionRecord> get(YearMonth month, IntFunction<String> modeNames) {
+        Range range = months.get(month);
+        if (range == null) {
+            return null;
+        }
+        List<SessionRecord> sessions = new ArrayList<>(range.count);
+        for (int row = range.first; row < range.first + range.count; row++) {
+            sessions.add(read(row, modeNames));
+        }
+        return sessions;
+    }
+
+    /**
+     * Frees all off-heap memory.
+     */
+    void clear() {
+        if (arena != null) {
+            arena.close();
+            arena = null;
+        }
+        chunks.clear();
+        months.clear();
+        textIds.clear();
+        rows = 0;
+    }
+
+    /**
+     * @return bytes currently allocated off the heap
+     */
+    long allocatedBytes() {
+        return (long) chunks.size() * CHUNK_RECORDS * RECORD_BYTES;
+    }
+
+    private void write(int row, SessionRecord session, ToIntFunction<String> modes) {
+        MemorySegment chunk = chunkFor(row);
+        long offset = (long) (row % CHUNK_RECORDS) * RECORD_BYTES;
+        byte flags = session.isCompleted() ? COMPLETED : 0;
+
+        RecordId id = session.getRecordId();
+        if (id != null && id.isCompact()) {
+            chunk.set(ValueLayout.JAVA_LONG, offset + ID_HIGH, id.getHigh());
+            chunk.set(ValueLayout.JAVA_LONG, offset + ID_LOW, id.getLow());
+        } else {
+            flags |= TEXT_ID;
+            textIds.put(row, id);
+        }
+        long start = session.getStartTime().toEpochSecond(ZoneOffset.UTC);
+        chunk.set(ValueLayout.JAVA_LONG, offset + START, start);
+        if (session.getEndTime() != null) {
+            flags |= HAS_END;
+            chunk.set(ValueLayout.JAVA_INT, offset + END_OFFSET,
+                    (int) (session.getEndTime().toEpochSecond(ZoneOffset.UTC) - start));
+        }
+        chunk.set(ValueLayout.JAVA_INT, offset + PLANNED, session.getPlannedDurationMinutes());
+        chunk.set(ValueLayout.JAVA_INT, offset + ACTUAL, session.getActualDurationMinutes());
+        chunk.set(ValueLayout.JAVA_SHORT, offset + MODE, (short) modes.applyAsInt(session.getModeName()));
+        chunk.set(ValueLayout.JAVA_BYTE, offset + FLAGS, flags);
+    }
+
+    private SessionRecord read(int row, IntFunction<String> modeNames) {
+        MemorySegment chunk = chunks.get(row / CHUNK_RECORDS);
+        long offset = (long) (row % CHUNK_RECORDS) * RECORD_BYTES;
+        byte flags = chunk.get(ValueLayout.JAVA_BYTE, offset + FLAGS);
+
+        RecordId id = (flags & TEXT_ID) != 0
+                ? textIds.get(row)
+                : RecordId.of(chunk.get(ValueLayout.JAVA_LONG, offset + ID_HIGH),
+                        chunk.get(ValueLayout.JAVA_LONG, offset + ID_LOW));
+        long start = chunk.get(ValueLayout.JAVA_LONG, offset + START);
+        LocalDateTime startTime = LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC);
+        LocalDateTime endTime = (flags & HAS_END) == 0 ? null : LocalDateTime.ofEpochSecond(
+                start + chunk.get(ValueLayout.JAVA_INT, offset + END_OFFSET), 0, ZoneOffset.UTC);
+        short mode = chunk.get(ValueLayout.JAVA_SHORT, offset + MODE);
+
+        return new SessionRecord(id, mode < 0 ? null : modeNames.apply(mode), startTime, endTime,
+                chunk.get(ValueLayout.JAVA_INT, offset + PLANNED), chunk.get(ValueLayout.JAVA_INT, offset + ACTUAL),
+                (flags & COMPLETED) != 0);
+    }
+
+    private MemorySegment chunkFor(int row) {
+        int chunk = row / CHUNK_RECORDS;
+        while (chunks.size() <= chunk) {
+            if (arena == null) {
+                arena = Arena.ofShared();
+            }
+            chunks.add(arena.allocate((long) CHUNK_RECORDS * RECORD_BYTES, Long.BYTES));
+        }
+        return chunks.get(chunk);
+    }
+
+    /**
+     * Rows holding one month.
+     */
+    private static class Range {
+        private final int first;
+        private final int count;
+
+        Range(int first, int count) {
+            this.first = first;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.focusflow.model.session;
+
+/**
+ * Plain loops, used when the Vector API isn't available and for the tail
+ * of each vector loop.
+ *
+ * @author Frank Watkins
+ */
+final class ScalarKernels implements StatisticsKernels {
+
+    @Override
+    public int count(SessionColumns columns, int fromDay, int toDay, int mode, boolean completedOnly) {
+        return count(columns, 0, columns.size(), fromDay, toDay, mode, completedOnly);
+    }
+
+    @Override
+    public int sumDurations(SessionColumns columns, int fromDay, int toDay, int mode, boolean completedOnly) {
+        return sumDurations(columns, 0, columns.size(), fromDay, toDay, mode, completedOnly);
+    }
+
+    @Override
+    public int[] countByMode(SessionColumns columns, int modeCount) {
+        int[] counts = new int[modeCount];
+        countByMode(columns, 0, columns.size(), counts);
+        return counts;
+    }
+
+    static int count(SessionColumns columns, int from, int to, int fromDay, int toDay, int mode,
+            boolean completedOnly) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (matches(columns, i, fromDay, toDay, mode, completedOnly)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static int sumDurations(SessionColumns columns, int from, int to, int fromDay, int toDay, int mode,
+            boolean completedOnly) {
+        int total = 0;
+        for (int i = from; i < to; i++) {
+            if (matches(columns, i, fromDay, toDay, mode, completedOnly)) {
+                total += columns.durations[i];
+            }
+        }
+        return total;
+    }
+
+    static void countByMode(SessionColumns columns, int from, int to, int[] counts) {
+        for (int i = from; i < to; i++) {
+            int mode = columns.modes[i];
+            if (mode >= 0 && mode < counts.length) {
+                counts[mode]++;
+            }
+        }
+    }
+
+    private static boolean matches(SessionColumns columns, int i, int fromDay, int toDay, int mode,
+            boolean completedOnly) {
+        int day = columns.days[i];
+        return day >= fromDay && day <= toDay
+                && (mode == ANY_MODE || columns.modes[i] == mode)
+                && (!completedOnly || columns.completed[i] != 0);
+    }
+}
@@ -0,0 +1,94 @@
+package com.focusflow.model.session;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Totals for one month of sessions, kept in the segment manifest so lifetime
+ * statistics and streaks don't need old months loaded.
+ *
+ * @author Frank Watkins
+ */
+class SegmentSummary {
+
+    private int count;
+    private int completed;
+    private int focusMinutes;
+    private int totalMinutes;
+    /** Bit d-1 is set if a completed session started on day d of the month. */
+    private int activeDays;
+
+    /**
+     * Builds the summary for a month's sessions.
+     */
+    static SegmentSummary of(List<SessionRecord> sessions) {
+        SegmentSummary summary = new SegmentSummary();
+        for (SessionRecord session : sessions) {
+            summary.add(session);
+        }
+        return summary;
+    }
+
+    SegmentSummary copy() {
+        SegmentSummary copy = new SegmentSummary();
+        copy.count = count;
+        copy.completed = completed;
+        copy.focusMinutes = focusMinutes;
+        copy.totalMinutes = totalMinutes;
+        copy.activeDays = activeDays;
+        return copy;
+    }
+
+    void add(SessionRecord session) {
+        count++;
+        totalMinutes += session.getDurationMinutes();
+        if (session.isCompleted()) {
+            completed++;
+            focusMinutes += session.getDurationMinutes();
+            if (session.getStartTime() != null) {
+                activeDays |= 1 << (session.getStartTime().getDayOfMonth() - 1);
+            }
+        }
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int getCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return minutes of completed sessions
+     */
+    int getFocusMinutes() {
+        return focusMinutes;
+    }
+
+    /**
+     * @return minutes of all sessions, completed or not
+     */
+    int getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    boolean isActiveOn(int dayOfMonth) {
+        return (activeDays & (1 << (dayOfMonth - 1))) != 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SegmentSummary)) {
+            return false;
+        }
+        SegmentSummary other = (SegmentSummary) o;
+        return count == other.count && completed == other.completed && focusMinutes == other.focusMinutes
+                && totalMinutes == other.totalMinutes && activeDays == other.activeDays;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, completed, focusMinutes, totalMinutes, activeDays);
+    }
+}
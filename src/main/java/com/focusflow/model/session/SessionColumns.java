@@ -0,0 +1,80 @@
+package com.focusflow.model.session;
+
+import java.util.Arrays;
+
+/**
+ * The session history as parallel primitive arrays, one entry per session,
+ * for the aggregation kernels in {@link StatisticsKernels}.
+ *
+ * @author Frank Watkins
+ */
+final class SessionColumns {
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    /** Start date as an epoch day. */
+    final int[] days;
+    final int[] durations;
+    /** Index into SessionLogger's mode names, or -1. */
+    final int[] modes;
+    /** 1 if completed, otherwise 0. */
+    final int[] completed;
+    private final int size;
+
+    SessionColumns(int[] days, int[] durations, int[] modes, int[] completed, int size) {
+        this.days = days;
+        this.durations = durations;
+        this.modes = modes;
+        this.completed = completed;
+        this.size = size;
+    }
+
+    /**
+     * Builds the columns from a scan of the logger's history index.
+     */
+    static SessionColumns of(SessionLogger sessionLogger) {
+        Builder builder = new Builder(sessionLogger.getSessionCount());
+        sessionLogger.scanHistory(builder);
+        return builder.build();
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static class Builder implements SessionVisitor {
+        private int[] days;
+        private int[] durations;
+        private int[] modes;
+        private int[] completed;
+        private int size;
+
+        Builder(int expected) {
+            int capacity = Math.max(expected, 16);
+            days = new int[capacity];
+            durations = new int[capacity];
+            modes = new int[capacity];
+            completed = new int[capacity];
+        }
+
+        @Override
+        public void visit(long startSecond, int durationMinutes, int mode, boolean isCompleted) {
+            if (size == days.length) {
+                int capacity = size * 2;
+                days = Arrays.copyOf(days, capacity);
+                durations = Arrays.copyOf(durations, capacity);
+                modes = Arrays.copyOf(modes, capacity);
+                completed = Arrays.copyOf(completed, capacity);
+            }
+            days[size] = (int) Math.floorDiv(startSecond, SECONDS_PER_DAY);
+            durations[size] = durationMinutes;
+            modes[size] = mode;
+            completed[size] = isCompleted ? 1 : 0;
+            size++;
+        }
+
+        SessionColumns build() {
+            return new SessionColumns(days, durations, modes, completed, size);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.focusflow.model.session;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Fixed-width copy of the session history for whole-history statistics.
+ * Scans read the memory-mapped file directly, so they create no objects and
+ * reuse the OS page cache across restarts. The monthly segments stay the
+ * source of truth; FileSessionRepository rebuilds the index when the two disagree.
+ * <p>
+ * Layout: a 16-byte header (magic, version, record size, record count), then
+ * 24-byte records of start second (long), end offset in seconds or -1 (int),
+ * planned minutes (int), actual minutes (int), mode (short), flags (byte) and
+ * one spare byte. Bytes past the record count are ignored, so a partly
+ * written append is invisible until the header is updated.
+ *
+ * @author Frank Watkins
+ */
+final class SessionIndex {
+
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 24;
+
+    private static final int MAGIC = 0x46465358; // "FFSX"
+    private static final int VERSION = 1;
+    private static final byte COMPLETED = 1;
+
+    private final Path file;
+    private int count;
+    private MappedByteBuffer mapped;
+
+    /**
+     * Opens the index, treating a missing or unrecognised file as empty.
+     */
+    SessionIndex(Path file) throws IOException {
+        this.file = file;
+        this.count = readCount();
+    }
+
+    /**
+     * @return number of sessions in the index
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Re-reads the record count, to see sessions another instance appended.
+     */
+    void reload() throws IOException {
+        count = readCount();
+    }
+
+    /**
+     * Adds sessions to the end of the index. The caller must hold the
+     * sessions lock, since the count is re-read from the file first.
+     * @param modes gives the mode number for a mode name
+     */
+    void append(List<SessionRecord> sessions, ToIntFunction<String> modes) throws IOException {
+        count = readCount();
+        ByteBuffer records = ByteBuffer.allocate(sessions.size() * RECORD_BYTES);
+        for (SessionRecord session : sessions) {
+            put(records, session, modes);
+        }
+        records.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long position = HEADER_BYTES + (long) count * RECORD_BYTES;
+            while (records.hasRemaining()) {
+                position += channel.write(records, position);
+            }
+            writeHeader(channel, count + sessions.size());
+        }
+        count += sessions.size();
+    }
+
+    /**
+     * Replaces the contents of the index.
+     */
+    void rebuild(List<SessionRecord> sessions, ToIntFunction<String> modes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            writeHeader(channel, 0);
+        }
+        count = 0;
+        append(sessions, modes);
+    }
+
+    /**
+     * Passes every session to the visitor, in the order they were added.
+     */
+    void scan(SessionVisitor visitor) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        ByteBuffer view = map();
+        for (int i = 0, offset = HEADER_BYTES; i < count; i++, offset += RECORD_BYTES) {
+            int planned = view.getInt(offset + 12);
+            int actual = view.getInt(offset + 16);
+            visitor.visit(view.getLong(offset), actual > 0 ? actual : planned,
+                    view.getShort(offset + 20), (view.get(offset + 22) & COMPLETED) != 0);
+        }
+    }
+
+    private static void put(ByteBuffer buffer, SessionRecord session, ToIntFunction<String> modes) {
+        long start = epochSecond(session.getStartTime());
+        LocalDateTime end = session.getEndTime();
+        buffer.putLong(start);
+        buffer.putInt(end == null ? -1 : (int) (epochSecond(end) - start));
+        buffer.putInt(session.getPlannedDurationMinutes());
+        buffer.putInt(session.getActualDurationMinutes());
+        buffer.putShort((short) modes.applyAsInt(session.getModeName()));
+        buffer.put(session.isCompleted() ? COMPLETED : 0);
+        buffer.put((byte) 0);
+    }
+
+    static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * @return a read-only mapping covering all records, remapped if the index has grown
+     */
+    private ByteBuffer map() throws IOException {
+        long needed = HEADER_BYTES + (long) count * RECORD_BYTES;
+        if (needed > Integer.MAX_VALUE) {
+            throw new IOException("Session index too large to map: " + needed + " bytes");
+        }
+        if (mapped == null || mapped.capacity() < needed) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, needed);
+            }
+        }
+        return mapped;
+    }
+
+    private int readCount() throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getInt() != RECORD_BYTES) {
+                return 0;
+            }
+            int stored = header.getInt();
+            long available = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+            return stored < 0 || stored > available ? 0 : stored;
+        }
+    }
+
+    private static void writeHeader(FileChannel channel, int count) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_BYTES).putInt(count).flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+}
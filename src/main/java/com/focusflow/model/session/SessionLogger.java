@@ -1,11 +1,12 @@
 package com.focusflow.model.session;
 
+import com.focusflow.metrics.Histogram;
+import com.focusflow.metrics.MetricsRegistry;
 import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.storage.StorageBackends;
 import com.focusflow.observer.Event;
 import com.focusflow.observer.Observer;
-import com.google.gson.reflect.TypeToken;
 
-import java.lang.reflect.Type;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,17 +14,22 @@ import java.util.List;
 /**
  * Logs and manages session records with filtering and iteration capabilities.
  * Singleton to ensure all panels share the same session data.
+ * <p>
+ * Storage and queries are left to a {@link SessionRepository}; date-range
+ * and mode filters are passed down to it rather than applied here. By
+ * default that is the repository of the configured storage backend.
  *
  * @author Frank Watkins
  */
 public class SessionLogger implements Observer {
 
+    private static final Histogram DISPATCH_TIME = MetricsRegistry.getInstance().histogram("observer.dispatch.us");
+
     private static SessionLogger instance;
 
-    private final List<SessionRecord> allSessions;
-    private List<SessionRecord> filteredSessions;
-    private final StorageHandler storageHandler;
+    private final SessionRepository repository;
     private final List<Observer> observers;
+    private List<SessionRecord> filteredSessions;
 
     private LocalDate filterStartDate;
     private LocalDate filterEndDate;
@@ -34,18 +40,27 @@ public class SessionLogger implements Observer {
      */
     public static synchronized SessionLogger getInstance() {
         if (instance == null) {
-            instance = new SessionLogger();
+            instance = new SessionLogger(StorageBackends.getDefault().sessions());
         }
         return instance;
     }
 
-    private SessionLogger() {
-        this.allSessions = new ArrayList<>();
-        this.filteredSessions = new ArrayList<>();
-        this.storageHandler = new StorageHandler();
+    /**
+     * Drops the single instance, so the next {@link #getInstance()} uses the
+     * current default backend. For tests.
+     */
+    public static synchronized void resetInstance() {
+        instance = null;
+    }
+
+    public SessionLogger(SessionRepository repository) {
+        this.repository = repository;
         this.observers = new ArrayList<>();
         this.filterMode = null;
-        loadSessions();
+    }
+
+    SessionLogger(StorageHandler storageHandler) {
+        this(new FileSessionRepository(storageHandler));
     }
 
     /**
@@ -58,137 +73,175 @@ public class SessionLogger implements Observer {
     }
 
     /**
-     * Logs a completed session and saves to storage.
+     * Logs a completed session and saves it.
      */
     public void logSession(SessionRecord session) {
-        allSessions.add(session);
-        applyFilters();
-        saveSessions();
+        synchronized (this) {
+            repository.add(session);
+            filteredSessions = null;
+        }
         notifyObservers();
     }
 
+    /**
+     * Adds sessions from an export, skipping any whose id is already logged.
+     * @return number of sessions added
+     */
+    public int importSessions(List<SessionRecord> sessions) {
+        int added;
+        synchronized (this) {
+            added = repository.addAll(sessions);
+            if (added > 0) {
+                filteredSessions = null;
+            }
+        }
+        if (added > 0) {
+            notifyObservers();
+        }
+        return added;
+    }
+
+    /**
+     * Picks up sessions other instances have logged and notifies observers if there were any.
+     * @return true if anything changed
+     */
+    public boolean refresh() {
+        boolean changed;
+        synchronized (this) {
+            changed = repository.refresh();
+            if (changed) {
+                filteredSessions = null;
+            }
+        }
+        if (changed) {
+            notifyObservers();
+        }
+        return changed;
+    }
+
     private void notifyObservers() {
         Event event = new Event(Event.EventType.SESSION_COMPLETED, null);
+        long start = System.nanoTime();
         for (Observer observer : observers) {
             observer.update(event);
         }
+        DISPATCH_TIME.recordSince(start);
+    }
+
+    /**
+     * Reads the whole history, so prefer {@link #getSessions} when only a range is needed.
+     * @return copy of all sessions, oldest month first
+     */
+    public synchronized List<SessionRecord> getAllSessions() {
+        return repository.find(null, null, null);
     }
 
     /**
-     * @return copy of all sessions
+     * @return sessions that started between the two dates, inclusive
      */
-    public List<SessionRecord> getAllSessions() {
-        return new ArrayList<>(allSessions);
+    public synchronized List<SessionRecord> getSessions(LocalDate startDate, LocalDate endDate) {
+        return repository.find(startDate, endDate, null);
     }
 
     /**
      * @return copy of filtered sessions
      */
-    public List<SessionRecord> getFilteredSessions() {
-        return new ArrayList<>(filteredSessions);
+    public synchronized List<SessionRecord> getFilteredSessions() {
+        return new ArrayList<>(filtered());
     }
 
     /**
      * Creates iterator for traversing filtered sessions.
      */
-    public SessionIterator createIterator() {
-        return new SessionIterator(filteredSessions);
+    public synchronized SessionIterator createIterator() {
+        return new SessionIterator(filtered());
     }
 
     /**
      * Filters sessions by date range.
      */
-    public void filterByDateRange(LocalDate startDate, LocalDate endDate) {
+    public synchronized void filterByDateRange(LocalDate startDate, LocalDate endDate) {
         this.filterStartDate = startDate;
         this.filterEndDate = endDate;
-        applyFilters();
+        filteredSessions = null;
     }
 
     /**
      * Filters sessions by timer mode.
      */
-    public void filterByMode(String mode) {
+    public synchronized void filterByMode(String mode) {
         this.filterMode = mode;
-        applyFilters();
+        filteredSessions = null;
     }
 
     /**
      * Clears the mode filter.
      */
-    public void clearModeFilter() {
+    public synchronized void clearModeFilter() {
         this.filterMode = null;
-        applyFilters();
+        filteredSessions = null;
     }
 
     /**
      * Clears all active filters.
      */
-    public void clearFilters() {
+    public synchronized void clearFilters() {
         this.filterStartDate = null;
         this.filterEndDate = null;
         this.filterMode = null;
-        this.filteredSessions = new ArrayList<>(allSessions);
+        filteredSessions = null;
     }
 
-    private void applyFilters() {
-        filteredSessions = new ArrayList<>();
-        for (SessionRecord session : allSessions) {
-            if (matchesDateFilter(session) && matchesModeFilter(session)) {
-                filteredSessions.add(session);
-            }
+    /**
+     * Runs the filtered query on first use. The date filter applies once both ends are set.
+     */
+    private List<SessionRecord> filtered() {
+        if (filteredSessions == null) {
+            boolean dated = filterStartDate != null && filterEndDate != null;
+            filteredSessions = repository.find(dated ? filterStartDate : null, dated ? filterEndDate : null,
+                    filterMode);
         }
+        return filteredSessions;
     }
 
-    private boolean matchesDateFilter(SessionRecord session) {
-        if (filterStartDate == null || filterEndDate == null) {
-            return true;
-        }
-        LocalDate sessionDate = session.getStartTime().toLocalDate();
-        return !sessionDate.isBefore(filterStartDate) && !sessionDate.isAfter(filterEndDate);
+    public synchronized int getSessionCount() {
+        return repository.count();
     }
 
-    private boolean matchesModeFilter(SessionRecord session) {
-        if (filterMode == null) {
-            return true;
-        }
-        return session.getModeName().equalsIgnoreCase(filterMode);
+    public synchronized int getCompletedSessionCount() {
+        return repository.countCompleted();
     }
 
-    public int getSessionCount() {
-        return allSessions.size();
+    public synchronized int getTotalFocusMinutes() {
+        return repository.focusMinutes();
     }
 
-    public int getCompletedSessionCount() {
-        int count = 0;
-        for (SessionRecord session : allSessions) {
-            if (session.isCompleted()) {
-                count++;
-            }
-        }
-        return count;
+    /**
+     * @return minutes of all sessions, completed or not
+     */
+    public synchronized int getTotalSessionMinutes() {
+        return repository.sessionMinutes();
     }
 
-    public int getTotalFocusMinutes() {
-        int total = 0;
-        for (SessionRecord session : allSessions) {
-            if (session.isCompleted()) {
-                total += session.getDurationMinutes();
-            }
-        }
-        return total;
+    /**
+     * @return true if a completed session started on the date
+     */
+    public synchronized boolean hasCompletedSessionOn(LocalDate date) {
+        return repository.hasCompletedSessionOn(date);
     }
 
-    private void saveSessions() {
-        storageHandler.saveSessions(allSessions);
+    /**
+     * Passes every logged session to the visitor without building SessionRecords.
+     */
+    public synchronized void scanHistory(SessionVisitor visitor) {
+        repository.scan(visitor);
     }
 
-    private void loadSessions() {
-        Type listType = new TypeToken<List<SessionRecord>>(){}.getType();
-        List<SessionRecord> loaded = storageHandler.loadSessions(listType);
-        if (loaded != null) {
-            allSessions.addAll(loaded);
-            filteredSessions = new ArrayList<>(allSessions);
-        }
+    /**
+     * @return mode names, indexed by the mode number passed to a {@link SessionVisitor}
+     */
+    public synchronized List<String> getModeNames() {
+        return repository.getModeNames();
     }
 
     @Override
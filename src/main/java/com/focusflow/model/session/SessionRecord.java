@@ -1,16 +1,17 @@
 package com.focusflow.model.session;
 
+import com.focusflow.model.coach.RecordId;
+
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
- * Represents a single focus session record.
+ * Represents a single focus session record. New records get time-ordered ids.
  *
  * @author Frank Watkins
  */
 public class SessionRecord {
 
-    private final String id;
+    private final RecordId id;
     private final LocalDateTime startTime;
     private LocalDateTime endTime;
     private final String modeName;
@@ -22,7 +23,7 @@ public class SessionRecord {
      * Creates a new session record.
      */
     public SessionRecord(String modeName, int plannedDurationMinutes) {
-        this.id = UUID.randomUUID().toString();
+        this.id = RecordId.next();
         this.startTime = LocalDateTime.now();
         this.modeName = modeName;
         this.plannedDurationMinutes = plannedDurationMinutes;
@@ -30,6 +31,45 @@ public class SessionRecord {
         this.completed = false;
     }
 
+    /**
+     * Creates a record for a session that already happened, e.g. when importing history.
+     */
+    public SessionRecord(String modeName, int plannedDurationMinutes, LocalDateTime startTime,
+            int actualDurationMinutes, boolean completed) {
+        this.id = RecordId.next();
+        this.startTime = startTime;
+        this.modeName = modeName;
+        this.plannedDurationMinutes = plannedDurationMinutes;
+        this.actualDurationMinutes = actualDurationMinutes;
+        this.completed = completed;
+        if (completed) {
+            this.endTime = startTime.plusMinutes(actualDurationMinutes);
+        }
+    }
+
+    /**
+     * Recreates a stored record with its original id, e.g. when loading from disk.
+     */
+    public SessionRecord(String id, String modeName, LocalDateTime startTime, LocalDateTime endTime,
+            int plannedDurationMinutes, int actualDurationMinutes, boolean completed) {
+        this(RecordId.parse(id), modeName, startTime, endTime, plannedDurationMinutes, actualDurationMinutes,
+                completed);
+    }
+
+    /**
+     * Recreates a stored record whose id is already parsed, e.g. from a binary record.
+     */
+    public SessionRecord(RecordId id, String modeName, LocalDateTime startTime, LocalDateTime endTime,
+            int plannedDurationMinutes, int actualDurationMinutes, boolean completed) {
+        this.id = id;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.modeName = modeName;
+        this.plannedDurationMinutes = plannedDurationMinutes;
+        this.actualDurationMinutes = actualDurationMinutes;
+        this.completed = completed;
+    }
+
     /**
      * Marks the session as completed.
      */
@@ -46,8 +86,15 @@ public class SessionRecord {
         }
     }
 
-    public String getId() { return id; }
+    /**
+     * @return the id as text; prefer {@link #getRecordId()}, which doesn't build a string
+     */
+    public String getId() { return id == null ? null : id.toString(); }
+    public RecordId getRecordId() { return id; }
     public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public int getPlannedDurationMinutes() { return plannedDurationMinutes; }
+    public int getActualDurationMinutes() { return actualDurationMinutes; }
     public String getModeName() { return modeName; }
     public boolean isCompleted() { return completed; }
 
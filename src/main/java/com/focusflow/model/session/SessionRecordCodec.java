@@ -0,0 +1,78 @@
+package com.focusflow.model.session;
+
+import com.focusflow.model.coach.RecordCodec;
+import com.focusflow.model.coach.RecordId;
+import com.focusflow.model.coach.RecordReader;
+import com.focusflow.model.coach.RecordWriter;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Binary layout of a session record: flags, id, start time, seconds until
+ * the end, mode name (dictionary), planned and actual minutes.
+ * Times are kept to the second.
+ *
+ * @author Frank Watkins
+ */
+public class SessionRecordCodec implements RecordCodec<SessionRecord> {
+
+    public static final SessionRecordCodec INSTANCE = new SessionRecordCodec();
+
+    private static final int COMPLETED = 1;
+    private static final int HAS_START = 1 << 1;
+    private static final int HAS_END = 1 << 2;
+
+    @Override
+    public String getName() {
+        return "session";
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public Class<SessionRecord> getType() {
+        return SessionRecord.class;
+    }
+
+    @Override
+    public void write(SessionRecord session, RecordWriter out) {
+        LocalDateTime start = session.getStartTime();
+        LocalDateTime end = session.getEndTime();
+        int flags = (session.isCompleted() ? COMPLETED : 0)
+                | (start != null ? HAS_START : 0)
+                | (start != null && end != null ? HAS_END : 0);
+        out.writeByte(flags);
+        out.writeId(session.getRecordId());
+        if (start != null) {
+            out.writeTime(start);
+            if (end != null) {
+                out.writeSignedVarint(ChronoUnit.SECONDS.between(start, end));
+            }
+        }
+        out.writeDictionary(session.getModeName());
+        out.writeVarint(session.getPlannedDurationMinutes());
+        out.writeVarint(session.getActualDurationMinutes());
+    }
+
+    @Override
+    public SessionRecord read(RecordReader in, int version) {
+        int flags = in.readByte();
+        RecordId id = in.readId();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        if ((flags & HAS_START) != 0) {
+            start = in.readTime();
+            if ((flags & HAS_END) != 0) {
+                end = start.plusSeconds(in.readSignedVarint());
+            }
+        }
+        String mode = in.readDictionary();
+        int planned = in.readInt();
+        int actual = in.readInt();
+        return new SessionRecord(id, mode, start, end, planned, actual, (flags & COMPLETED) != 0);
+    }
+}
@@ -0,0 +1,69 @@
+package com.focusflow.model.session;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Where session history is stored. {@link SessionLogger} keeps observers and
+ * filters and leaves storage and queries to one of these, so a backend with
+ * indexes can answer date-range and mode queries itself.
+ * Implementations are thread-safe.
+ *
+ * @author Frank Watkins
+ */
+public interface SessionRepository {
+
+    /**
+     * Stores a finished session.
+     */
+    void add(SessionRecord session);
+
+    /**
+     * Stores sessions, skipping any whose id is already stored or that have no start time.
+     * @return number of sessions added
+     */
+    int addAll(List<SessionRecord> sessions);
+
+    /**
+     * @param from earliest start date, inclusive, or null for no lower bound
+     * @param to   latest start date, inclusive, or null for no upper bound
+     * @param mode mode name, compared ignoring case, or null for every mode
+     * @return matching sessions, oldest month first
+     */
+    List<SessionRecord> find(LocalDate from, LocalDate to, String mode);
+
+    int count();
+
+    int countCompleted();
+
+    /**
+     * @return minutes of completed sessions
+     */
+    int focusMinutes();
+
+    /**
+     * @return minutes of all sessions, completed or not
+     */
+    int sessionMinutes();
+
+    /**
+     * @return true if a completed session started on the date
+     */
+    boolean hasCompletedSessionOn(LocalDate date);
+
+    /**
+     * Passes every stored session to the visitor as plain values.
+     */
+    void scan(SessionVisitor visitor);
+
+    /**
+     * @return mode names, indexed by the mode number passed to a {@link SessionVisitor}
+     */
+    List<String> getModeNames();
+
+    /**
+     * Picks up sessions other instances have stored since this one last looked.
+     * @return true if anything changed
+     */
+    boolean refresh();
+}
@@ -0,0 +1,20 @@
+package com.focusflow.model.session;
+
+/**
+ * Receives sessions from {@link SessionLogger#scanHistory} as plain values,
+ * so whole-history statistics don't need a SessionRecord per session.
+ *
+ * @author Frank Watkins
+ */
+@FunctionalInterface
+public interface SessionVisitor {
+
+    /**
+     * @param startSecond start as local date-time seconds since 1970-01-01T00:00;
+     *                    floorDiv by 86400 gives the epoch day
+     * @param durationMinutes same as {@link SessionRecord#getDurationMinutes()}
+     * @param mode index into {@link SessionLogger#getModeNames()}, or -1 if the session has no mode
+     * @param completed whether the session was completed
+     */
+    void visit(long startSecond, int durationMinutes, int mode, boolean completed);
+}
@@ -0,0 +1,41 @@
+package com.focusflow.model.session;
+
+/**
+ * Reductions over {@link SessionColumns} used by StatisticsManager.
+ * Sessions match if they started between fromDay and toDay inclusive (epoch
+ * days), have the given mode unless it is {@link #ANY_MODE}, and are
+ * completed if completedOnly is set.
+ *
+ * @author Frank Watkins
+ */
+interface StatisticsKernels {
+
+    int ANY_MODE = Integer.MIN_VALUE;
+
+    /**
+     * @return number of matching sessions
+     */
+    int count(SessionColumns columns, int fromDay, int toDay, int mode, boolean completedOnly);
+
+    /**
+     * @return total minutes of matching sessions
+     */
+    int sumDurations(SessionColumns columns, int fromDay, int toDay, int mode, boolean completedOnly);
+
+    /**
+     * @return number of sessions for each mode from 0 to modeCount - 1
+     */
+    int[] countByMode(SessionColumns columns, int modeCount);
+
+    /**
+     * Uses the Vector API when the JVM was started with
+     * --add-modules jdk.incubator.vector, unless -Dfocusflow.vectorKernels=false.
+     */
+    static StatisticsKernels create() {
+        boolean allowed = !"false".equals(System.getProperty("focusflow.vectorKernels"));
+        if (allowed && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return new VectorKernels();
+        }
+        return new ScalarKernels();
+    }
+}
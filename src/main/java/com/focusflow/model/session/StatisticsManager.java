@@ -1,22 +1,41 @@
 package com.focusflow.model.session;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Manages and calculates session statistics for insights and reports.
+ * Lifetime totals come from the segment manifest; queries by date range or
+ * mode run {@link StatisticsKernels} over a column copy of the history,
+ * which is rebuilt when the number of sessions or the mode numbering changes.
  *
  * @author Frank Watkins
  */
 public class StatisticsManager {
 
+    private static final long SECONDS_PER_DAY = 86_400;
+
     private final SessionLogger sessionLogger;
+    private final StatisticsKernels kernels;
+    private SessionColumns columns;
+    /** Mode names as numbered in {@link #columns}. */
+    private List<String> columnModes;
 
     /**
      * Creates manager with given session logger.
      */
     public StatisticsManager(SessionLogger sessionLogger) {
+        this(sessionLogger, StatisticsKernels.create());
+    }
+
+    StatisticsManager(SessionLogger sessionLogger, StatisticsKernels kernels) {
         this.sessionLogger = sessionLogger;
+        this.kernels = kernels;
     }
 
     /**
@@ -61,23 +80,15 @@ public class StatisticsManager {
      * @return average session length in minutes
      */
     public double getAverageSessionDuration() {
-        List<SessionRecord> sessions = sessionLogger.getAllSessions();
-        if (sessions.isEmpty()) return 0;
-        
-        int total = 0;
-        for (SessionRecord session : sessions) {
-            total += session.getDurationMinutes();
-        }
-        return (double) total / sessions.size();
+        int count = sessionLogger.getSessionCount();
+        if (count == 0) return 0;
+        return (double) sessionLogger.getTotalSessionMinutes() / count;
     }
 
     /**
      * @return current consecutive days with sessions
      */
     public int getCurrentStreak() {
-        List<SessionRecord> sessions = sessionLogger.getAllSessions();
-        if (sessions.isEmpty()) return 0;
-
         LocalDate today = LocalDate.now();
         int streak = 0;
         LocalDate checkDate = today;
@@ -90,14 +101,148 @@ public class StatisticsManager {
         return streak;
     }
 
-    private boolean hasSessionOnDate(LocalDate date) {
-        for (SessionRecord session : sessionLogger.getAllSessions()) {
-            if (session.isCompleted()) {
-                if (session.getStartTime().toLocalDate().equals(date)) {
-                    return true;
-                }
+    /**
+     * @return longest run of consecutive days with a completed session
+     */
+    public int getLongestStreak() {
+        BitSet days = new BitSet();
+        sessionLogger.scanHistory((startSecond, durationMinutes, mode, completed) -> {
+            long day = Math.floorDiv(startSecond, SECONDS_PER_DAY);
+            if (completed && day >= 0) {
+                days.set((int) day);
+            }
+        });
+        int longest = 0;
+        for (int start = days.nextSetBit(0); start >= 0; ) {
+            int end = days.nextClearBit(start);
+            longest = Math.max(longest, end - start);
+            start = days.nextSetBit(end);
+        }
+        return longest;
+    }
+
+    /**
+     * @return completed focus minutes for each day of the week
+     */
+    public Map<DayOfWeek, Integer> getFocusMinutesByWeekday() {
+        int[] minutes = new int[7];
+        sessionLogger.scanHistory((startSecond, durationMinutes, mode, completed) -> {
+            if (completed) {
+                // 1970-01-01 was a Thursday
+                int weekday = Math.floorMod(Math.floorDiv(startSecond, SECONDS_PER_DAY) + 3, 7);
+                minutes[weekday] += durationMinutes;
             }
+        });
+        Map<DayOfWeek, Integer> byWeekday = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            byWeekday.put(day, minutes[day.ordinal()]);
         }
-        return false;
+        return byWeekday;
+    }
+
+    /**
+     * @return completed focus minutes for each timer mode, in order of first use
+     */
+    public synchronized Map<String, Integer> getFocusMinutesByMode() {
+        SessionColumns history = columns();
+        List<String> names = columnModes;
+        Map<String, Integer> byMode = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            byMode.put(names.get(i), kernels.sumDurations(history, Integer.MIN_VALUE, Integer.MAX_VALUE, i, true));
+        }
+        return byMode;
+    }
+
+    /**
+     * @return number of sessions for each timer mode, in order of first use
+     */
+    public synchronized Map<String, Integer> getSessionCountByMode() {
+        SessionColumns history = columns();
+        List<String> names = columnModes;
+        int[] counts = kernels.countByMode(history, names.size());
+        Map<String, Integer> byMode = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            byMode.put(names.get(i), counts[i]);
+        }
+        return byMode;
+    }
+
+    /**
+     * Counts sessions that started between two dates, inclusive.
+     * @param from first day, or null for no lower bound
+     * @param to last day, or null for no upper bound
+     * @param mode timer mode, ignoring case, or null for every mode
+     */
+    public int getSessionCount(LocalDate from, LocalDate to, String mode) {
+        return aggregate(from, to, mode,
+                (history, fromDay, toDay, m) -> kernels.count(history, fromDay, toDay, m, false));
+    }
+
+    /**
+     * Like {@link #getSessionCount(LocalDate, LocalDate, String)}, for completed sessions.
+     */
+    public int getCompletedSessionCount(LocalDate from, LocalDate to, String mode) {
+        return aggregate(from, to, mode,
+                (history, fromDay, toDay, m) -> kernels.count(history, fromDay, toDay, m, true));
+    }
+
+    /**
+     * @return minutes of completed sessions in the range; see {@link #getSessionCount(LocalDate, LocalDate, String)}
+     */
+    public int getFocusMinutes(LocalDate from, LocalDate to, String mode) {
+        return aggregate(from, to, mode,
+                (history, fromDay, toDay, m) -> kernels.sumDurations(history, fromDay, toDay, m, true));
+    }
+
+    /**
+     * @return minutes of all sessions in the range, completed or not
+     */
+    public int getSessionMinutes(LocalDate from, LocalDate to, String mode) {
+        return aggregate(from, to, mode,
+                (history, fromDay, toDay, m) -> kernels.sumDurations(history, fromDay, toDay, m, false));
+    }
+
+    private synchronized int aggregate(LocalDate from, LocalDate to, String mode, Aggregation aggregation) {
+        SessionColumns history = columns();
+        int fromDay = from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+        int toDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+        if (mode == null) {
+            return aggregation.apply(history, fromDay, toDay, StatisticsKernels.ANY_MODE);
+        }
+        // Mode names are matched like the history filter, so "pomodoro" finds "Pomodoro"
+        int total = 0;
+        List<String> names = columnModes;
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i).equalsIgnoreCase(mode)) {
+                total += aggregation.apply(history, fromDay, toDay, i);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return the history as columns, rebuilt if sessions were added or modes
+     *         renumbered, e.g. after a refresh from another instance, since the last call
+     */
+    private SessionColumns columns() {
+        if (columns == null || columns.size() != sessionLogger.getSessionCount()
+                || !columnModes.equals(sessionLogger.getModeNames())) {
+            columns = SessionColumns.of(sessionLogger);
+            // read after the scan so every mode number in the columns has a name
+            columnModes = sessionLogger.getModeNames();
+        }
+        return columns;
+    }
+
+    private boolean hasSessionOnDate(LocalDate date) {
+        return sessionLogger.hasCompletedSessionOn(date);
+    }
+
+    /**
+     * One kernel call for a single mode number.
+     */
+    @FunctionalInterface
+    private interface Aggregation {
+        int apply(SessionColumns history, int fromDay, int toDay, int mode);
     }
 }
@@ -0,0 +1,68 @@
+package com.focusflow.model.session;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels using the incubating Vector API: each step compares a full vector
+ * of days, modes and flags into a mask, then counts or adds under the mask.
+ * Only loaded when the jdk.incubator.vector module is present.
+ *
+ * @author Frank Watkins
+ */
+final class VectorKernels implements StatisticsKernels {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public int count(SessionColumns columns, int fromDay, int toDay, int mode, boolean completedOnly) {
+        int bound = SPECIES.loopBound(columns.size());
+        int count = 0;
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            count += mask(columns, i, fromDay, toDay, mode, completedOnly).trueCount();
+        }
+        return count + ScalarKernels.count(columns, bound, columns.size(), fromDay, toDay, mode, completedOnly);
+    }
+
+    @Override
+    public int sumDurations(SessionColumns columns, int fromDay, int toDay, int mode, boolean completedOnly) {
+        int bound = SPECIES.loopBound(columns.size());
+        IntVector sums = IntVector.zero(SPECIES);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            VectorMask<Integer> mask = mask(columns, i, fromDay, toDay, mode, completedOnly);
+            sums = sums.add(IntVector.fromArray(SPECIES, columns.durations, i), mask);
+        }
+        return sums.reduceLanes(VectorOperators.ADD)
+                + ScalarKernels.sumDurations(columns, bound, columns.size(), fromDay, toDay, mode, completedOnly);
+    }
+
+    @Override
+    public int[] countByMode(SessionColumns columns, int modeCount) {
+        int[] counts = new int[modeCount];
+        int bound = SPECIES.loopBound(columns.size());
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            IntVector modes = IntVector.fromArray(SPECIES, columns.modes, i);
+            for (int mode = 0; mode < modeCount; mode++) {
+                counts[mode] += modes.compare(VectorOperators.EQ, mode).trueCount();
+            }
+        }
+        ScalarKernels.countByMode(columns, bound, columns.size(), counts);
+        return counts;
+    }
+
+    private static VectorMask<Integer> mask(SessionColumns columns, int i, int fromDay, int toDay, int mode,
+            boolean completedOnly) {
+        IntVector days = IntVector.fromArray(SPECIES, columns.days, i);
+        VectorMask<Integer> mask = days.compare(VectorOperators.GE, fromDay)
+                .and(days.compare(VectorOperators.LE, toDay));
+        if (mode != ANY_MODE) {
+            mask = mask.and(IntVector.fromArray(SPECIES, columns.modes, i).compare(VectorOperators.EQ, mode));
+        }
+        if (completedOnly) {
+            mask = mask.and(IntVector.fromArray(SPECIES, columns.completed, i).compare(VectorOperators.NE, 0));
+        }
+        return mask;
+    }
+}
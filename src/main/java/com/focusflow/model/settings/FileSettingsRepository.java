@@ -0,0 +1,32 @@
+package com.focusflow.model.settings;
+
+import com.focusflow.model.coach.StorageHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps settings in settings.json.
+ *
+ * @author Gianluca Binetti
+ */
+public class FileSettingsRepository implements SettingsRepository {
+
+    private final StorageHandler storageHandler;
+
+    public FileSettingsRepository(StorageHandler storageHandler) {
+        this.storageHandler = storageHandler;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> load() {
+        Map<String, Object> loaded = storageHandler.loadSettings(HashMap.class);
+        return loaded != null ? loaded : new HashMap<>();
+    }
+
+    @Override
+    public void save(Map<String, Object> settings) {
+        storageHandler.saveSettings(settings);
+    }
+}
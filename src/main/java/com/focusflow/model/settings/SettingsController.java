@@ -1,6 +1,8 @@
 package com.focusflow.model.settings;
 
-import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.metrics.Histogram;
+import com.focusflow.metrics.MetricsRegistry;
+import com.focusflow.model.storage.StorageBackends;
 import com.focusflow.observer.Event;
 import com.focusflow.observer.Event.EventType;
 import com.focusflow.observer.Observer;
@@ -17,11 +19,13 @@ import java.util.Map;
  */
 public class SettingsController {
 
+    private static final Histogram DISPATCH_TIME = MetricsRegistry.getInstance().histogram("observer.dispatch.us");
+
     private static SettingsController instance;
 
     private Map<String, Object> settings;
     private List<Observer> observers;
-    private StorageHandler storageHandler;
+    private SettingsRepository repository;
 
     // Settings keys
     public static final String KEY_SOUND_ENABLED = "soundEnabled";
@@ -31,11 +35,14 @@ public class SettingsController {
     public static final String KEY_AUTO_START_BREAKS = "autoStartBreaks";
     public static final String KEY_AUTO_START_WORK = "autoStartWork";
     public static final String KEY_GROQ_API_KEY = "groqApiKey";
+    public static final String KEY_LLM_ENDPOINT = "llmEndpoint";
+    public static final String KEY_LLM_MODEL = "llmModel";
+    public static final String KEY_FLIGHT_RECORDING = "flightRecording";
 
-    private SettingsController() {
+    private SettingsController(SettingsRepository repository) {
         this.settings = new HashMap<>();
         this.observers = new ArrayList<>();
-        this.storageHandler = new StorageHandler();
+        this.repository = repository;
         loadDefaultSettings();
     }
 
@@ -44,13 +51,14 @@ public class SettingsController {
      */
     public static synchronized SettingsController getInstance() {
         if (instance == null) {
-            instance = new SettingsController();
+            instance = new SettingsController(StorageBackends.getDefault().settings());
         }
         return instance;
     }
 
     /**
-     * Resets singleton for testing purposes.
+     * Resets singleton for testing purposes. The next instance uses the
+     * current default backend, see {@link StorageBackends#setDefault}.
      */
     public static synchronized void resetInstance() {
         instance = null;
@@ -64,6 +72,9 @@ public class SettingsController {
         settings.put(KEY_AUTO_START_BREAKS, false);
         settings.put(KEY_AUTO_START_WORK, false);
         settings.put(KEY_GROQ_API_KEY, "");
+        settings.put(KEY_LLM_ENDPOINT, "");
+        settings.put(KEY_LLM_MODEL, "");
+        settings.put(KEY_FLIGHT_RECORDING, false);
 
         loadSettings();
     }
@@ -107,22 +118,22 @@ public class SettingsController {
      * Saves settings to disk and notifies observers.
      */
     public void saveSettings() {
-        storageHandler.saveSettings(settings);
+        repository.save(settings);
         notifyObservers(new Event(EventType.SETTINGS_CHANGED, settings));
     }
 
-    @SuppressWarnings("unchecked")
     public void loadSettings() {
-        Map<String, Object> loaded = storageHandler.loadSettings(HashMap.class);
-        if (loaded != null) {
-            settings.putAll(loaded);
-        }
+        settings.putAll(repository.load());
     }
 
     public boolean isSoundEnabled() {
         return getSetting(KEY_SOUND_ENABLED, true);
     }
 
+    public boolean isFlightRecordingEnabled() {
+        return getSetting(KEY_FLIGHT_RECORDING, false);
+    }
+
     public String getTheme() {
         return getSetting(KEY_THEME, "light");
     }
@@ -138,9 +149,11 @@ public class SettingsController {
     }
 
     private void notifyObservers(Event event) {
+        long start = System.nanoTime();
         for (Observer observer : observers) {
             observer.update(event);
         }
+        DISPATCH_TIME.recordSince(start);
     }
 
     public Map<String, Object> getAllSettings() {
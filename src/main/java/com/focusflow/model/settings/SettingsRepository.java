@@ -0,0 +1,22 @@
+package com.focusflow.model.settings;
+
+import java.util.Map;
+
+/**
+ * Where settings are stored. Values are strings, booleans, numbers (read
+ * back as doubles) or nested maps and lists of those.
+ *
+ * @author Gianluca Binetti
+ */
+public interface SettingsRepository {
+
+    /**
+     * @return the stored settings, or an empty map if none were saved
+     */
+    Map<String, Object> load();
+
+    /**
+     * Saves the settings, replacing the stored values of the same keys.
+     */
+    void save(Map<String, Object> settings);
+}
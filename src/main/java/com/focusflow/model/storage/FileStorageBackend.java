@@ -0,0 +1,70 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.coach.FileReflectionRepository;
+import com.focusflow.model.coach.ReflectionRepository;
+import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.planner.FilePlannerRepository;
+import com.focusflow.model.planner.PlannerRepository;
+import com.focusflow.model.session.FileSessionRepository;
+import com.focusflow.model.session.SessionRepository;
+import com.focusflow.model.settings.FileSettingsRepository;
+import com.focusflow.model.settings.SettingsRepository;
+
+/**
+ * Keeps everything in files in the data directory through a
+ * {@link StorageHandler}. Repositories are created on first use, so a
+ * command that only reads settings never loads the session history.
+ *
+ * @author Fareed Uddin
+ */
+public class FileStorageBackend implements StorageBackend {
+
+    private final StorageHandler storageHandler;
+    private SessionRepository sessions;
+    private PlannerRepository plannerEvents;
+    private ReflectionRepository reflections;
+    private SettingsRepository settings;
+
+    public FileStorageBackend(StorageHandler storageHandler) {
+        this.storageHandler = storageHandler;
+    }
+
+    @Override
+    public synchronized SessionRepository sessions() {
+        if (sessions == null) {
+            sessions = new FileSessionRepository(storageHandler);
+        }
+        return sessions;
+    }
+
+    @Override
+    public synchronized PlannerRepository plannerEvents() {
+        if (plannerEvents == null) {
+            plannerEvents = new FilePlannerRepository(storageHandler);
+        }
+        return plannerEvents;
+    }
+
+    @Override
+    public synchronized ReflectionRepository reflections() {
+        if (reflections == null) {
+            reflections = new FileReflectionRepository(storageHandler);
+        }
+        return reflections;
+    }
+
+    @Override
+    public synchronized SettingsRepository settings() {
+        if (settings == null) {
+            settings = new FileSettingsRepository(storageHandler);
+        }
+        return settings;
+    }
+
+    /**
+     * Every change is already on disk, so there is nothing to release.
+     */
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,82 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.coach.RecordId;
+import com.focusflow.model.planner.Planner.PlannerEvent;
+import com.focusflow.model.planner.PlannerRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Planner events in a list, in the order they were added.
+ *
+ * @author Gianluca Binetti
+ */
+class InMemoryPlannerRepository implements PlannerRepository {
+
+    private final List<PlannerEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized List<PlannerEvent> findAll() {
+        return new ArrayList<>(events);
+    }
+
+    @Override
+    public synchronized List<PlannerEvent> findStartingBetween(LocalDateTime from, LocalDateTime to) {
+        List<PlannerEvent> result = new ArrayList<>();
+        for (PlannerEvent e : events) {
+            if (e.getStartTime() != null && !e.getStartTime().isBefore(from) && e.getStartTime().isBefore(to)) {
+                result.add(e);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized int count() {
+        return events.size();
+    }
+
+    @Override
+    public synchronized boolean hasConflict(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null) return false;
+        for (PlannerEvent existing : events) {
+            if (existing.getStartTime() == null || existing.getEndTime() == null) continue;
+            if (startTime.isBefore(existing.getEndTime()) && endTime.isAfter(existing.getStartTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized boolean addIfNoConflict(PlannerEvent event) {
+        if (hasConflict(event.getStartTime(), event.getEndTime())) {
+            return false;
+        }
+        events.add(event);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean remove(String eventId) {
+        RecordId target = RecordId.parse(eventId);
+        return events.removeIf(e -> e.getRecordId().equals(target));
+    }
+
+    @Override
+    public synchronized void clear() {
+        events.clear();
+    }
+
+    @Override
+    public synchronized void batch(Runnable changes) {
+        changes.run();
+    }
+
+    @Override
+    public boolean refresh() {
+        return false;
+    }
+}
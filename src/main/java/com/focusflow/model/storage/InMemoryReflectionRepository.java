@@ -0,0 +1,29 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.coach.Reflection;
+import com.focusflow.model.coach.ReflectionRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reflections in a list; a position is the number already read.
+ *
+ * @author Fareed Uddin
+ */
+class InMemoryReflectionRepository implements ReflectionRepository {
+
+    private final List<Reflection> reflections = new ArrayList<>();
+
+    @Override
+    public synchronized void add(Reflection reflection) {
+        reflections.add(reflection);
+    }
+
+    @Override
+    public synchronized long readAfter(long position, List<Reflection> reflections) {
+        int from = (int) Math.min(position, this.reflections.size());
+        reflections.addAll(this.reflections.subList(from, this.reflections.size()));
+        return this.reflections.size();
+    }
+}
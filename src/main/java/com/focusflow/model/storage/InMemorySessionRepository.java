@@ -0,0 +1,147 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.coach.RecordId;
+import com.focusflow.model.session.SessionRecord;
+import com.focusflow.model.session.SessionRepository;
+import com.focusflow.model.session.SessionVisitor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Sessions ordered by start time, with totals kept up to date as sessions
+ * are added.
+ *
+ * @author Frank Watkins
+ */
+class InMemorySessionRepository implements SessionRepository {
+
+    private final TreeMap<LocalDateTime, List<SessionRecord>> sessions = new TreeMap<>();
+    private final Set<RecordId> ids = new HashSet<>();
+    private final List<String> modeNames = new ArrayList<>();
+    private final Map<String, Integer> modeNumbers = new HashMap<>();
+    private int count;
+    private int completed;
+    private int focusMinutes;
+    private int sessionMinutes;
+
+    @Override
+    public synchronized void add(SessionRecord session) {
+        ids.add(session.getRecordId());
+        sessions.computeIfAbsent(session.getStartTime(), t -> new ArrayList<>()).add(session);
+        modeNumber(session.getModeName());
+        count++;
+        sessionMinutes += session.getDurationMinutes();
+        if (session.isCompleted()) {
+            completed++;
+            focusMinutes += session.getDurationMinutes();
+        }
+    }
+
+    @Override
+    public synchronized int addAll(List<SessionRecord> sessions) {
+        int added = 0;
+        for (SessionRecord session : sessions) {
+            if (session != null && session.getStartTime() != null && !ids.contains(session.getRecordId())) {
+                add(session);
+                added++;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public synchronized List<SessionRecord> find(LocalDate from, LocalDate to, String mode) {
+        NavigableMap<LocalDateTime, List<SessionRecord>> range = sessions;
+        if (from != null) {
+            range = range.tailMap(from.atStartOfDay(), true);
+        }
+        if (to != null) {
+            range = range.headMap(to.plusDays(1).atStartOfDay(), false);
+        }
+        List<SessionRecord> result = new ArrayList<>();
+        for (List<SessionRecord> started : range.values()) {
+            for (SessionRecord session : started) {
+                if (mode == null || mode.equalsIgnoreCase(session.getModeName())) {
+                    result.add(session);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized int count() {
+        return count;
+    }
+
+    @Override
+    public synchronized int countCompleted() {
+        return completed;
+    }
+
+    @Override
+    public synchronized int focusMinutes() {
+        return focusMinutes;
+    }
+
+    @Override
+    public synchronized int sessionMinutes() {
+        return sessionMinutes;
+    }
+
+    @Override
+    public synchronized boolean hasCompletedSessionOn(LocalDate date) {
+        for (List<SessionRecord> started : sessions.subMap(date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                .values()) {
+            for (SessionRecord session : started) {
+                if (session.isCompleted()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void scan(SessionVisitor visitor) {
+        for (List<SessionRecord> started : sessions.values()) {
+            for (SessionRecord session : started) {
+                visitor.visit(session.getStartTime().toEpochSecond(ZoneOffset.UTC), session.getDurationMinutes(),
+                        modeNumber(session.getModeName()), session.isCompleted());
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<String> getModeNames() {
+        return new ArrayList<>(modeNames);
+    }
+
+    /**
+     * Nothing is shared with other instances.
+     */
+    @Override
+    public boolean refresh() {
+        return false;
+    }
+
+    private int modeNumber(String mode) {
+        if (mode == null) {
+            return -1;
+        }
+        return modeNumbers.computeIfAbsent(mode, m -> {
+            modeNames.add(m);
+            return modeNames.size() - 1;
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.settings.SettingsRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings in a map, copied in and out so callers can't change the saved values.
+ *
+ * @author Gianluca Binetti
+ */
+class InMemorySettingsRepository implements SettingsRepository {
+
+    private final Map<String, Object> settings = new HashMap<>();
+
+    @Override
+    public synchronized Map<String, Object> load() {
+        return new HashMap<>(settings);
+    }
+
+    @Override
+    public synchronized void save(Map<String, Object> settings) {
+        this.settings.putAll(settings);
+    }
+}
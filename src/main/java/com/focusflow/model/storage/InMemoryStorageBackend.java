@@ -0,0 +1,44 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.coach.ReflectionRepository;
+import com.focusflow.model.planner.PlannerRepository;
+import com.focusflow.model.session.SessionRepository;
+import com.focusflow.model.settings.SettingsRepository;
+
+/**
+ * Keeps everything in memory and saves nothing, for tests and for trying
+ * the app without touching the data directory.
+ *
+ * @author Fareed Uddin
+ */
+public class InMemoryStorageBackend implements StorageBackend {
+
+    private final InMemorySessionRepository sessions = new InMemorySessionRepository();
+    private final InMemoryPlannerRepository plannerEvents = new InMemoryPlannerRepository();
+    private final InMemoryReflectionRepository reflections = new InMemoryReflectionRepository();
+    private final InMemorySettingsRepository settings = new InMemorySettingsRepository();
+
+    @Override
+    public SessionRepository sessions() {
+        return sessions;
+    }
+
+    @Override
+    public PlannerRepository plannerEvents() {
+        return plannerEvents;
+    }
+
+    @Override
+    public ReflectionRepository reflections() {
+        return reflections;
+    }
+
+    @Override
+    public SettingsRepository settings() {
+        return settings;
+    }
+
+    @Override
+    public void close() {
+    }
+}
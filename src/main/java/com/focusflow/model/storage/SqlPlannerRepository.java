@@ -0,0 +1,178 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.planner.Planner.PlannerEvent;
+import com.focusflow.model.planner.PlannerRepository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Planner events in the planner_events table, in the order they were added.
+ * Time-range queries and overlap checks use the (start_time, end_time) index;
+ * an add checks for overlaps and inserts in one serializable transaction.
+ *
+ * @author Gianluca Binetti
+ */
+class SqlPlannerRepository implements PlannerRepository {
+
+    private static final String COLUMNS = "id, title, description, start_time, end_time, timer_mode, study_block";
+
+    private final SqlStorageBackend backend;
+    private String seenVersion;
+
+    SqlPlannerRepository(SqlStorageBackend backend) {
+        this.backend = backend;
+        this.seenVersion = version();
+    }
+
+    @Override
+    public List<PlannerEvent> findAll() {
+        return select("SELECT " + COLUMNS + " FROM planner_events ORDER BY seq");
+    }
+
+    @Override
+    public List<PlannerEvent> findStartingBetween(LocalDateTime from, LocalDateTime to) {
+        return select("SELECT " + COLUMNS + " FROM planner_events WHERE start_time >= ? AND start_time < ?"
+                + " ORDER BY seq", from, to);
+    }
+
+    @Override
+    public int count() {
+        return backend.query("read planner events", 0, connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM planner_events")) {
+                return rows.next() ? rows.getInt(1) : 0;
+            }
+        });
+    }
+
+    @Override
+    public boolean hasConflict(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null) return false;
+        return backend.query("read planner events", false, connection -> conflicts(connection, startTime, endTime));
+    }
+
+    @Override
+    public boolean addIfNoConflict(PlannerEvent event) {
+        return backend.transaction("save planner event", false, connection -> {
+            if (event.getStartTime() != null && event.getEndTime() != null
+                    && conflicts(connection, event.getStartTime(), event.getEndTime())) {
+                return false;
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO planner_events (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                insert.setString(1, event.getId());
+                insert.setString(2, event.getTitle());
+                insert.setString(3, event.getDescription());
+                insert.setObject(4, event.getStartTime());
+                insert.setObject(5, event.getEndTime());
+                insert.setString(6, event.getTimerMode());
+                insert.setBoolean(7, event.isStudyBlock());
+                insert.executeUpdate();
+            }
+            seenVersion = version();
+            return true;
+        });
+    }
+
+    @Override
+    public boolean remove(String eventId) {
+        return backend.query("remove planner event", false, connection -> {
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM planner_events WHERE id = ?")) {
+                delete.setString(1, eventId);
+                boolean removed = delete.executeUpdate() > 0;
+                seenVersion = version();
+                return removed;
+            }
+        });
+    }
+
+    @Override
+    public void clear() {
+        backend.query("clear planner events", null, connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM planner_events");
+            }
+            seenVersion = version();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the changes in one transaction.
+     */
+    @Override
+    public void batch(Runnable changes) {
+        backend.transaction("save planner events", null, connection -> {
+            changes.run();
+            return null;
+        });
+    }
+
+    /**
+     * Every query reads the database, so this only reports whether the
+     * events differ from when this instance last looked.
+     */
+    @Override
+    public boolean refresh() {
+        return backend.query("read planner events", false, connection -> {
+            String version = version();
+            boolean changed = !Objects.equals(seenVersion, version);
+            seenVersion = version;
+            return changed;
+        });
+    }
+
+    /**
+     * @return the number of events and the highest sequence number; sequence
+     *         numbers aren't reused, so any add or removal changes one of them
+     */
+    private String version() {
+        return backend.query("read planner events", null, connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT COUNT(*), MAX(seq) FROM planner_events")) {
+                return rows.next() ? rows.getLong(1) + ":" + rows.getLong(2) : null;
+            }
+        });
+    }
+
+    private static boolean conflicts(Connection connection, LocalDateTime startTime, LocalDateTime endTime)
+            throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT 1 FROM planner_events WHERE start_time < ? AND end_time > ? LIMIT 1")) {
+            select.setObject(1, endTime);
+            select.setObject(2, startTime);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next();
+            }
+        }
+    }
+
+    private List<PlannerEvent> select(String sql, Object... parameters) {
+        return backend.query("read planner events", new ArrayList<>(), connection -> {
+            List<PlannerEvent> events = new ArrayList<>();
+            try (PreparedStatement select = connection.prepareStatement(sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    select.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        PlannerEvent event = new PlannerEvent(rows.getString(1), rows.getString(2), rows.getString(3),
+                                rows.getObject(4, LocalDateTime.class), rows.getObject(5, LocalDateTime.class));
+                        event.setTimerMode(rows.getString(6));
+                        event.setStudyBlock(rows.getBoolean(7));
+                        events.add(event);
+                    }
+                }
+            }
+            return events;
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.coach.Reflection;
+import com.focusflow.model.coach.ReflectionRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reflections in the reflections table; a position is the seq of the last
+ * reflection read, so readers only fetch rows added since.
+ *
+ * @author Fareed Uddin
+ */
+class SqlReflectionRepository implements ReflectionRepository {
+
+    private final SqlStorageBackend backend;
+
+    SqlReflectionRepository(SqlStorageBackend backend) {
+        this.backend = backend;
+    }
+
+    @Override
+    public void add(Reflection reflection) {
+        backend.query("save reflection", null, connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO reflections (id, text, mood, productivity_rating, created) VALUES (?, ?, ?, ?, ?)")) {
+                insert.setString(1, reflection.getId());
+                insert.setString(2, reflection.getText());
+                insert.setString(3, reflection.getMood());
+                insert.setInt(4, reflection.getProductivityRating());
+                insert.setObject(5, reflection.getTimestamp());
+                insert.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public long readAfter(long position, List<Reflection> reflections) {
+        return backend.query("read reflections", position, connection -> {
+            long last = position;
+            try (PreparedStatement select = connection.prepareStatement("SELECT seq, id, text, mood,"
+                    + " productivity_rating, created FROM reflections WHERE seq > ? ORDER BY seq")) {
+                select.setLong(1, position);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        last = rows.getLong(1);
+                        reflections.add(new Reflection(rows.getString(2), rows.getString(3), rows.getString(4),
+                                rows.getInt(5), rows.getObject(6, LocalDateTime.class)));
+                    }
+                }
+            }
+            return last;
+        });
+    }
+}
@@ -0,0 +1,247 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.session.SessionRecord;
+import com.focusflow.model.session.SessionRepository;
+import com.focusflow.model.session.SessionVisitor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sessions in the sessions table. Date ranges and mode filters become WHERE
+ * clauses on indexed columns, and totals are summed by the database, so no
+ * query reads more rows than it returns. Modes are matched through
+ * mode_key, the lower-cased name.
+ *
+ * @author Frank Watkins
+ */
+class SqlSessionRepository implements SessionRepository {
+
+    private static final String COLUMNS =
+            "id, mode, start_time, end_time, planned_minutes, actual_minutes, completed";
+    private static final String INSERT =
+            "INSERT INTO sessions (" + COLUMNS + ", mode_key) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DURATION =
+            "CASE WHEN actual_minutes > 0 THEN actual_minutes ELSE planned_minutes END";
+
+    private final SqlStorageBackend backend;
+    private final List<String> modeNames;
+    private final Map<String, Integer> modeNumbers;
+    private int seenCount;
+
+    SqlSessionRepository(SqlStorageBackend backend) {
+        this.backend = backend;
+        this.modeNames = new ArrayList<>();
+        this.modeNumbers = new HashMap<>();
+        this.seenCount = count();
+    }
+
+    @Override
+    public void add(SessionRecord session) {
+        backend.query("save session", null, connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                bind(insert, session);
+                insert.executeUpdate();
+            }
+            seenCount++;
+            return null;
+        });
+    }
+
+    /**
+     * Looks up which ids are already stored and inserts the rest in one batch.
+     */
+    @Override
+    public int addAll(List<SessionRecord> sessions) {
+        return backend.transaction("import sessions", 0, connection -> {
+            Set<String> ids = new HashSet<>();
+            List<SessionRecord> added = new ArrayList<>();
+            try (PreparedStatement exists = connection.prepareStatement("SELECT 1 FROM sessions WHERE id = ?")) {
+                for (SessionRecord session : sessions) {
+                    if (session == null || session.getStartTime() == null || !ids.add(session.getId())) {
+                        continue;
+                    }
+                    exists.setString(1, session.getId());
+                    try (ResultSet rows = exists.executeQuery()) {
+                        if (!rows.next()) {
+                            added.add(session);
+                        }
+                    }
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                for (SessionRecord session : added) {
+                    bind(insert, session);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            seenCount += added.size();
+            return added.size();
+        });
+    }
+
+    @Override
+    public List<SessionRecord> find(LocalDate from, LocalDate to, String mode) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM sessions WHERE 1 = 1");
+        List<Object> parameters = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND start_time >= ?");
+            parameters.add(from.atStartOfDay());
+        }
+        if (to != null) {
+            sql.append(" AND start_time < ?");
+            parameters.add(to.plusDays(1).atStartOfDay());
+        }
+        if (mode != null) {
+            sql.append(" AND mode_key = ?");
+            parameters.add(mode.toLowerCase(Locale.ROOT));
+        }
+        sql.append(" ORDER BY start_time");
+        return backend.query("read sessions", new ArrayList<>(), connection -> {
+            List<SessionRecord> sessions = new ArrayList<>();
+            try (PreparedStatement select = connection.prepareStatement(sql.toString())) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    select.setObject(i + 1, parameters.get(i));
+                }
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        sessions.add(new SessionRecord(rows.getString(1), rows.getString(2),
+                                rows.getObject(3, LocalDateTime.class), rows.getObject(4, LocalDateTime.class),
+                                rows.getInt(5), rows.getInt(6), rows.getBoolean(7)));
+                    }
+                }
+            }
+            return sessions;
+        });
+    }
+
+    @Override
+    public int count() {
+        return sum("SELECT COUNT(*) FROM sessions");
+    }
+
+    @Override
+    public int countCompleted() {
+        return sum("SELECT COUNT(*) FROM sessions WHERE completed");
+    }
+
+    @Override
+    public int focusMinutes() {
+        return sum("SELECT SUM(" + DURATION + ") FROM sessions WHERE completed");
+    }
+
+    @Override
+    public int sessionMinutes() {
+        return sum("SELECT SUM(" + DURATION + ") FROM sessions");
+    }
+
+    @Override
+    public boolean hasCompletedSessionOn(LocalDate date) {
+        return backend.query("read sessions", false, connection -> {
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT 1 FROM sessions WHERE start_time >= ? AND start_time < ? AND completed LIMIT 1")) {
+                select.setObject(1, date.atStartOfDay());
+                select.setObject(2, date.plusDays(1).atStartOfDay());
+                try (ResultSet rows = select.executeQuery()) {
+                    return rows.next();
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads only the columns the visitor needs, in start order.
+     */
+    @Override
+    public void scan(SessionVisitor visitor) {
+        backend.query("read sessions", null, connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT start_time, " + DURATION
+                         + ", mode, completed FROM sessions ORDER BY start_time")) {
+                while (rows.next()) {
+                    visitor.visit(rows.getObject(1, LocalDateTime.class).toEpochSecond(ZoneOffset.UTC),
+                            rows.getInt(2), modeNumber(rows.getString(3)), rows.getBoolean(4));
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Numbers any modes not seen before, so the list covers every stored session.
+     */
+    @Override
+    public List<String> getModeNames() {
+        return backend.query("read sessions", new ArrayList<>(), connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery(
+                         "SELECT DISTINCT mode FROM sessions WHERE mode IS NOT NULL")) {
+                while (rows.next()) {
+                    modeNumber(rows.getString(1));
+                }
+            }
+            return new ArrayList<>(modeNames);
+        });
+    }
+
+    /**
+     * Every query reads the database, so this only reports whether another
+     * instance has added sessions since this one last looked.
+     */
+    @Override
+    public boolean refresh() {
+        return backend.query("read sessions", false, connection -> {
+            int count = count();
+            boolean changed = count != seenCount;
+            seenCount = count;
+            return changed;
+        });
+    }
+
+    /**
+     * @return the single number the query selects; 0 for the SUM of no rows
+     */
+    private int sum(String sql) {
+        return backend.query("read sessions", 0, connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery(sql)) {
+                return rows.next() ? rows.getInt(1) : 0;
+            }
+        });
+    }
+
+    private int modeNumber(String mode) {
+        if (mode == null) {
+            return -1;
+        }
+        return modeNumbers.computeIfAbsent(mode, m -> {
+            modeNames.add(m);
+            return modeNames.size() - 1;
+        });
+    }
+
+    private static void bind(PreparedStatement insert, SessionRecord session) throws SQLException {
+        insert.setString(1, session.getId());
+        insert.setString(2, session.getModeName());
+        insert.setObject(3, session.getStartTime());
+        insert.setObject(4, session.getEndTime());
+        insert.setInt(5, session.getPlannedDurationMinutes());
+        insert.setInt(6, session.getActualDurationMinutes());
+        insert.setBoolean(7, session.isCompleted());
+        insert.setString(8, session.getModeName() == null ? null : session.getModeName().toLowerCase(Locale.ROOT));
+    }
+}
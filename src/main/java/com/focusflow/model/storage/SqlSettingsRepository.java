@@ -0,0 +1,57 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.settings.SettingsRepository;
+import com.google.gson.Gson;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings in the settings table, one row per key with the value as JSON,
+ * so values read back the same way as from settings.json.
+ *
+ * @author Gianluca Binetti
+ */
+class SqlSettingsRepository implements SettingsRepository {
+
+    private final SqlStorageBackend backend;
+    private final Gson gson;
+
+    SqlSettingsRepository(SqlStorageBackend backend) {
+        this.backend = backend;
+        this.gson = new Gson();
+    }
+
+    @Override
+    public Map<String, Object> load() {
+        return backend.query("read settings", new HashMap<>(), connection -> {
+            Map<String, Object> settings = new HashMap<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT name, value_json FROM settings")) {
+                while (rows.next()) {
+                    settings.put(rows.getString(1), gson.fromJson(rows.getString(2), Object.class));
+                }
+            }
+            return settings;
+        });
+    }
+
+    @Override
+    public void save(Map<String, Object> settings) {
+        backend.transaction("save settings", null, connection -> {
+            try (PreparedStatement merge = connection.prepareStatement(
+                    "MERGE INTO settings (name, value_json) KEY (name) VALUES (?, ?)")) {
+                for (Map.Entry<String, Object> entry : settings.entrySet()) {
+                    merge.setString(1, entry.getKey());
+                    merge.setString(2, gson.toJson(entry.getValue()));
+                    merge.addBatch();
+                }
+                merge.executeBatch();
+            }
+            return null;
+        });
+    }
+}
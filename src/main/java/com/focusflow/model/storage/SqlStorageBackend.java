@@ -0,0 +1,173 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.metrics.Counter;
+import com.focusflow.metrics.MetricsRegistry;
+import com.focusflow.model.coach.ReflectionRepository;
+import com.focusflow.model.planner.PlannerRepository;
+import com.focusflow.model.session.SessionRepository;
+import com.focusflow.model.settings.SettingsRepository;
+
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Keeps everything in an embedded H2 database, focusflow.mv.db in the data
+ * directory. Queries run in the database, using its indexes: date ranges and
+ * mode filters for sessions, time ranges and overlap checks for planner
+ * events. AUTO_SERVER lets a second FocusFlow process open the same file;
+ * the first one serves it.
+ * <p>
+ * The repositories share one connection and take turns on it.
+ *
+ * @author Fareed Uddin
+ */
+public class SqlStorageBackend implements StorageBackend {
+
+    static final String DATABASE = "focusflow";
+
+    private static final Counter ERRORS = MetricsRegistry.getInstance().counter("storage.errors");
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS sessions (id VARCHAR(64) PRIMARY KEY, mode VARCHAR(255),"
+                + " mode_key VARCHAR(255), start_time TIMESTAMP NOT NULL, end_time TIMESTAMP,"
+                + " planned_minutes INT NOT NULL, actual_minutes INT NOT NULL, completed BOOLEAN NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS sessions_start ON sessions (start_time)",
+        "CREATE INDEX IF NOT EXISTS sessions_mode ON sessions (mode_key, start_time)",
+        "CREATE TABLE IF NOT EXISTS planner_events (seq BIGINT AUTO_INCREMENT PRIMARY KEY,"
+                + " id VARCHAR(64) NOT NULL UNIQUE, title VARCHAR(1000), description CLOB,"
+                + " start_time TIMESTAMP, end_time TIMESTAMP, timer_mode VARCHAR(255), study_block BOOLEAN NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS planner_events_time ON planner_events (start_time, end_time)",
+        "CREATE TABLE IF NOT EXISTS reflections (seq BIGINT AUTO_INCREMENT PRIMARY KEY, id VARCHAR(64),"
+                + " text CLOB, mood VARCHAR(255), productivity_rating INT NOT NULL, created TIMESTAMP)",
+        "CREATE INDEX IF NOT EXISTS reflections_created ON reflections (created)",
+        "CREATE TABLE IF NOT EXISTS settings (name VARCHAR(255) PRIMARY KEY, value_json CLOB)"
+    };
+
+    private final Connection connection;
+    private final SqlSessionRepository sessions;
+    private final SqlPlannerRepository plannerEvents;
+    private final SqlReflectionRepository reflections;
+    private final SqlSettingsRepository settings;
+    private int transactionDepth;
+    private boolean rollbackOnly;
+
+    /**
+     * Opens or creates the database and its tables.
+     */
+    public SqlStorageBackend(String dataDirectory) throws SQLException {
+        String path = Paths.get(dataDirectory, DATABASE).toAbsolutePath().toString();
+        this.connection = DriverManager.getConnection("jdbc:h2:" + path + ";AUTO_SERVER=TRUE");
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : SCHEMA) {
+                statement.execute(sql);
+            }
+        }
+        this.sessions = new SqlSessionRepository(this);
+        this.plannerEvents = new SqlPlannerRepository(this);
+        this.reflections = new SqlReflectionRepository(this);
+        this.settings = new SqlSettingsRepository(this);
+    }
+
+    @Override
+    public SessionRepository sessions() {
+        return sessions;
+    }
+
+    @Override
+    public PlannerRepository plannerEvents() {
+        return plannerEvents;
+    }
+
+    @Override
+    public ReflectionRepository reflections() {
+        return reflections;
+    }
+
+    @Override
+    public SettingsRepository settings() {
+        return settings;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            fail("close the database", e);
+        }
+    }
+
+    /**
+     * Runs work on the connection, returning fallback if it fails. A failure
+     * inside a transaction makes the whole transaction roll back.
+     */
+    synchronized <T> T query(String action, T fallback, SqlWork<T> work) {
+        try {
+            return work.run(connection);
+        } catch (SQLException e) {
+            rollbackOnly |= transactionDepth > 0;
+            fail(action, e);
+            return fallback;
+        }
+    }
+
+    /**
+     * Runs work in a transaction, or as part of the one already open. The
+     * outermost call commits, or rolls back if anything in it failed, even
+     * a nested call that recovered with its fallback.
+     */
+    synchronized <T> T transaction(String action, T fallback, SqlWork<T> work) {
+        boolean outermost = transactionDepth == 0;
+        try {
+            if (outermost) {
+                connection.setAutoCommit(false);
+                connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+                rollbackOnly = false;
+            }
+            transactionDepth++;
+            boolean committed = false;
+            try {
+                T result = work.run(connection);
+                if (outermost) {
+                    if (rollbackOnly) {
+                        return fallback;
+                    }
+                    connection.commit();
+                }
+                committed = true;
+                return result;
+            } finally {
+                transactionDepth--;
+                if (!committed) {
+                    rollbackOnly = true;
+                }
+                if (outermost) {
+                    if (rollbackOnly) {
+                        connection.rollback();
+                    }
+                    connection.setAutoCommit(true);
+                    rollbackOnly = false;
+                }
+            }
+        } catch (SQLException e) {
+            fail(action, e);
+            return fallback;
+        }
+    }
+
+    static void fail(String action, SQLException e) {
+        ERRORS.increment();
+        System.err.println("Failed to " + action + ": " + e.getMessage());
+    }
+
+    /**
+     * Database work that may throw.
+     */
+    @FunctionalInterface
+    interface SqlWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,30 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.coach.ReflectionRepository;
+import com.focusflow.model.planner.PlannerRepository;
+import com.focusflow.model.session.SessionRepository;
+import com.focusflow.model.settings.SettingsRepository;
+
+/**
+ * One place the app keeps its data: a repository each for sessions, planner
+ * events, reflections and settings. Each call returns the same repository,
+ * so everything using a backend shares its state.
+ *
+ * @author Fareed Uddin
+ */
+public interface StorageBackend extends AutoCloseable {
+
+    SessionRepository sessions();
+
+    PlannerRepository plannerEvents();
+
+    ReflectionRepository reflections();
+
+    SettingsRepository settings();
+
+    /**
+     * Releases connections or files held open. The repositories must not be used afterwards.
+     */
+    @Override
+    void close();
+}
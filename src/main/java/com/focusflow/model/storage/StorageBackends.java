@@ -0,0 +1,74 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.coach.StorageHandler;
+
+import java.sql.SQLException;
+
+/**
+ * Chooses the storage backend. The focusflow.storage system property picks
+ * one of "file" (the default, JSON and record files in the data directory),
+ * "memory" (nothing is saved) or "sql" (an embedded H2 database in the data
+ * directory).
+ *
+ * @author Fareed Uddin
+ */
+public final class StorageBackends {
+
+    public static final String FILE = "file";
+    public static final String MEMORY = "memory";
+    public static final String SQL = "sql";
+
+    private static StorageBackend defaultBackend;
+
+    private StorageBackends() {
+    }
+
+    /**
+     * @return the backend set with {@link #setDefault}, otherwise the one
+     *         named by focusflow.storage, using the default data directory
+     */
+    public static synchronized StorageBackend getDefault() {
+        if (defaultBackend == null) {
+            String kind = System.getProperty("focusflow.storage", FILE);
+            if (MEMORY.equals(kind)) {
+                defaultBackend = new InMemoryStorageBackend();
+            } else {
+                StorageHandler storageHandler = new StorageHandler();
+                defaultBackend = FILE.equals(kind)
+                        ? new FileStorageBackend(storageHandler)
+                        : create(kind, storageHandler.getDataPath().toString());
+            }
+        }
+        return defaultBackend;
+    }
+
+    /**
+     * Replaces the default backend, e.g. with an {@link InMemoryStorageBackend}
+     * in tests. Singletons already created keep the backend they were given,
+     * so reset them too. The previous backend is not closed.
+     * @param backend the new default, or null to choose again from focusflow.storage
+     */
+    public static synchronized void setDefault(StorageBackend backend) {
+        defaultBackend = backend;
+    }
+
+    /**
+     * Opens a backend. Falls back to the file backend if the kind is unknown
+     * or the database can't be opened.
+     */
+    public static StorageBackend create(String kind, String dataDirectory) {
+        if (MEMORY.equals(kind)) {
+            return new InMemoryStorageBackend();
+        }
+        if (SQL.equals(kind)) {
+            try {
+                return new SqlStorageBackend(dataDirectory);
+            } catch (SQLException e) {
+                System.err.println("Failed to open the database, using files instead: " + e.getMessage());
+            }
+        } else if (!FILE.equals(kind)) {
+            System.err.println("Unknown storage backend '" + kind + "', using files");
+        }
+        return new FileStorageBackend(new StorageHandler(dataDirectory));
+    }
+}
@@ -0,0 +1,55 @@
+package com.focusflow.model.timer;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks on a plain daemon thread, so the timer works without loading AWT or Swing.
+ * Used by the command-line interface.
+ *
+ * @author Edward De Jesus
+ */
+class ScheduledTicker implements Ticker {
+
+    private final ScheduledExecutorService scheduler;
+    private final Runnable onTick;
+    private volatile int delayMillis;
+    private ScheduledFuture<?> task;
+
+    ScheduledTicker(int delayMillis, Runnable onTick) {
+        this.delayMillis = delayMillis;
+        this.onTick = onTick;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "focusflow-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public synchronized void start() {
+        if (task == null) {
+            task = scheduler.scheduleAtFixedRate(onTick, delayMillis, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    @Override
+    public void setDelay(int millis) {
+        this.delayMillis = millis;
+    }
+
+    @Override
+    public int getDelay() {
+        return delayMillis;
+    }
+}
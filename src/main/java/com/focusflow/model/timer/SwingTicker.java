@@ -0,0 +1,38 @@
+package com.focusflow.model.timer;
+
+import javax.swing.Timer;
+
+/**
+ * Ticks on the Swing event dispatch thread, so observers can update the UI directly.
+ *
+ * @author Edward De Jesus
+ */
+class SwingTicker implements Ticker {
+
+    private final Timer timer;
+
+    SwingTicker(int delayMillis, Runnable onTick) {
+        this.timer = new Timer(delayMillis, e -> onTick.run());
+    }
+
+    @Override
+    public void start() {
+        timer.start();
+    }
+
+    @Override
+    public void stop() {
+        timer.stop();
+    }
+
+    @Override
+    public void setDelay(int millis) {
+        timer.setDelay(millis);
+        timer.setInitialDelay(millis);
+    }
+
+    @Override
+    public int getDelay() {
+        return timer.getDelay();
+    }
+}
@@ -0,0 +1,20 @@
+package com.focusflow.model.timer;
+
+/**
+ * Source of the once-a-second callbacks that drive TimerManager.
+ *
+ * @author Edward De Jesus
+ */
+interface Ticker {
+
+    void start();
+
+    void stop();
+
+    /**
+     * Sets the interval between ticks, taking effect from the next start.
+     */
+    void setDelay(int millis);
+
+    int getDelay();
+}
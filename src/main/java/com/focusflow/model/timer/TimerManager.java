@@ -1,12 +1,12 @@
 package com.focusflow.model.timer;
 
+import com.focusflow.metrics.Histogram;
+import com.focusflow.metrics.MetricsRegistry;
+import com.focusflow.metrics.TimerTickEvent;
 import com.focusflow.observer.Event;
 import com.focusflow.observer.Event.EventType;
 import com.focusflow.observer.Observer;
 
-import javax.swing.Timer;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,6 +17,10 @@ import java.util.List;
  */
 public class TimerManager {
 
+    private static final int TICK_INTERVAL_MS = 1000;
+    private static final Histogram TICK_JITTER = MetricsRegistry.getInstance().histogram("timer.tick.jitter.us");
+    private static final Histogram DISPATCH_TIME = MetricsRegistry.getInstance().histogram("observer.dispatch.us");
+
     private static TimerManager instance;
 
     private TimerMode currentStrategy;
@@ -25,9 +29,10 @@ public class TimerManager {
     private int elapsedTime;
     private int remainingTime;
     private boolean isWorkPhase;
-    private Timer swingTimer;
+    private final Ticker ticker;
+    private long lastTickNanos;
 
-    private TimerManager() {
+    private TimerManager(boolean headless) {
         this.observers = new ArrayList<>();
         this.currentStrategy = new PomodoroMode();
         this.isRunning = false;
@@ -35,20 +40,28 @@ public class TimerManager {
         this.isWorkPhase = true;
         this.remainingTime = currentStrategy.getWorkDuration();
 
-        this.swingTimer = new Timer(1000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                tick();
-            }
-        });
+        this.ticker = headless ? new ScheduledTicker(TICK_INTERVAL_MS, this::tick)
+                : new SwingTicker(TICK_INTERVAL_MS, this::tick);
     }
 
     /**
-     * Gets the singleton instance.
+     * Gets the singleton instance, ticking on the Swing event dispatch thread.
      */
     public static synchronized TimerManager getInstance() {
         if (instance == null) {
-            instance = new TimerManager();
+            instance = new TimerManager(false);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the singleton instance, creating it with a background tick thread
+     * instead of a Swing timer so AWT is never loaded. Observers are then
+     * notified on that thread. Used by the command-line interface.
+     */
+    public static synchronized TimerManager getHeadlessInstance() {
+        if (instance == null) {
+            instance = new TimerManager(true);
         }
         return instance;
     }
@@ -58,7 +71,7 @@ public class TimerManager {
      */
     public static synchronized void resetInstance() {
         if (instance != null) {
-            instance.swingTimer.stop();
+            instance.ticker.stop();
             instance = null;
         }
     }
@@ -84,9 +97,11 @@ public class TimerManager {
      * Notifies all attached observers of an event.
      */
     public void notify(Event event) {
+        long start = System.nanoTime();
         for (Observer observer : observers) {
             observer.update(event);
         }
+        DISPATCH_TIME.recordSince(start);
     }
 
     /**
@@ -95,7 +110,8 @@ public class TimerManager {
     public void startSession() {
         if (!isRunning) {
             isRunning = true;
-            swingTimer.start();
+            lastTickNanos = System.nanoTime();
+            ticker.start();
             notify(new Event(EventType.TIMER_STARTED, getTimerState()));
         }
     }
@@ -106,7 +122,7 @@ public class TimerManager {
     public void pauseSession() {
         if (isRunning) {
             isRunning = false;
-            swingTimer.stop();
+            ticker.stop();
             notify(new Event(EventType.TIMER_PAUSED, getTimerState()));
         }
     }
@@ -116,7 +132,7 @@ public class TimerManager {
      */
     public void resetSession() {
         isRunning = false;
-        swingTimer.stop();
+        ticker.stop();
         elapsedTime = 0;
         isWorkPhase = true;
         remainingTime = currentStrategy.getWorkDuration();
@@ -127,7 +143,7 @@ public class TimerManager {
      * Skips to the next phase (work or break).
      */
     public void skipToNext() {
-        swingTimer.stop();
+        ticker.stop();
         isRunning = false;
         switchPhase();
     }
@@ -144,6 +160,25 @@ public class TimerManager {
         }
     }
 
+    /**
+     * Changes how much real time one timer second takes.
+     * The app always uses 1000 ms; load tests use a shorter interval to
+     * replay a whole day of sessions at accelerated speed.
+     */
+    public void setTickInterval(int millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Tick interval must be positive");
+        }
+        ticker.setDelay(millis);
+    }
+
+    /**
+     * @return real milliseconds per timer second
+     */
+    public int getTickInterval() {
+        return ticker.getDelay();
+    }
+
     /**
      * @return the current timer mode
      */
@@ -186,12 +221,32 @@ public class TimerManager {
     }
 
     private void tick() {
+        TimerTickEvent jfrEvent = new TimerTickEvent();
+        jfrEvent.begin();
+        long now = System.nanoTime();
+        if (lastTickNanos != 0) {
+            // How far this tick landed from the expected interval
+            long expected = ticker.getDelay() * 1_000_000L;
+            jfrEvent.jitter = Math.abs(now - lastTickNanos - expected) / 1000;
+            TICK_JITTER.record(jfrEvent.jitter);
+        }
+        lastTickNanos = now;
+        try {
+            advance();
+        } finally {
+            jfrEvent.remainingSeconds = remainingTime;
+            jfrEvent.observers = observers.size();
+            jfrEvent.commit();
+        }
+    }
+
+    private void advance() {
         if (remainingTime > 0) {
             remainingTime--;
             elapsedTime++;
             notify(new Event(EventType.TIMER_TICK, getTimerState()));
         } else {
-            swingTimer.stop();
+            ticker.stop();
             isRunning = false;
             notify(new Event(EventType.TIMER_COMPLETED, getTimerState()));
 
@@ -0,0 +1,79 @@
+package com.focusflow.view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Tab content that is only built the first time it is shown.
+ * The loader runs on a background thread and returns the code that builds
+ * the real panel on the EDT; a placeholder is shown until then.
+ *
+ * @author Gianluca Binetti
+ */
+class LazyTab extends JPanel {
+
+    private final Callable<Supplier<JComponent>> loader;
+    private final JLabel placeholder;
+    private JComponent content;
+    private boolean realizing;
+
+    /**
+     * @param loader loads data off the EDT and returns the panel factory to run on the EDT
+     */
+    LazyTab(Callable<Supplier<JComponent>> loader) {
+        super(new BorderLayout());
+        this.loader = loader;
+        this.placeholder = new JLabel("Loading...", SwingConstants.CENTER);
+        placeholder.setForeground(Color.GRAY);
+        add(placeholder, BorderLayout.CENTER);
+    }
+
+    /**
+     * Starts loading the tab. Does nothing if it is already loading or loaded.
+     */
+    void realize() {
+        if (realizing) {
+            return;
+        }
+        realizing = true;
+
+        SwingWorker<Supplier<JComponent>, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Supplier<JComponent> doInBackground() throws Exception {
+                return loader.call();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    content = get().get();
+                    remove(placeholder);
+                    add(content, BorderLayout.CENTER);
+                    revalidate();
+                    repaint();
+                } catch (InterruptedException | ExecutionException | RuntimeException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    placeholder.setText("Could not load: " + cause.getMessage());
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    /**
+     * @return true once loading has been started
+     */
+    boolean isRealizing() {
+        return realizing;
+    }
+
+    /**
+     * @return the real panel, or null while it is still loading
+     */
+    JComponent getContent() {
+        return content;
+    }
+}
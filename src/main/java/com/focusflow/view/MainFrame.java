@@ -1,5 +1,11 @@
 package com.focusflow.view;
 
+import com.focusflow.metrics.StartupTrace;
+import com.focusflow.model.coach.AIPlanner;
+import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.coach.StorageWatcher;
+import com.focusflow.model.planner.Planner;
+import com.focusflow.model.session.SessionLogger;
 import com.focusflow.view.timer.TimerPanel;
 import com.focusflow.view.history.HistoryPanel;
 import com.focusflow.view.planner.PlannerPanel;
@@ -9,9 +15,13 @@ import com.focusflow.observer.Observer;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
 
 /**
  * Main application frame with tabbed navigation.
+ * Only the timer is built up front; the other tabs load their data in the
+ * background the first time they are selected. Once loaded, their data is
+ * refreshed when another FocusFlow instance changes the same files.
  *
  * @author Gianluca Binetti
  */
@@ -23,15 +33,17 @@ public class MainFrame extends JFrame implements Observer {
 
     private JTabbedPane tabbedPane;
     private TimerPanel timerPanel;
-    private HistoryPanel historyPanel;
-    private PlannerPanel plannerPanel;
-    private SettingsPanel settingsPanel;
+    private LazyTab historyTab;
+    private LazyTab plannerTab;
+    private LazyTab settingsTab;
+    private StorageWatcher storageWatcher;
 
     /**
      * Creates the main application frame.
      */
     public MainFrame() {
         initializeFrame();
+        watchStorage();
         initializePanels();
         initializeTabbedPane();
         com.focusflow.model.timer.TimerManager.getInstance().attach(this);
@@ -56,13 +68,48 @@ public class MainFrame extends JFrame implements Observer {
     }
 
     /**
-     * Creates all view panels.
+     * Starts watching the data directory; tabs add their listeners as they load.
+     */
+    private void watchStorage() {
+        try {
+            storageWatcher = new StorageWatcher(new StorageHandler());
+            storageWatcher.start();
+        } catch (IOException e) {
+            System.err.println("Failed to watch data directory: " + e.getMessage());
+        }
+    }
+
+    private void onStorageChange(Runnable refresh) {
+        if (storageWatcher != null) {
+            storageWatcher.addListener(refresh);
+        }
+    }
+
+    /**
+     * Creates the timer panel and placeholders for the other tabs.
      */
     private void initializePanels() {
         timerPanel = new TimerPanel();
-        historyPanel = new HistoryPanel();
-        plannerPanel = new PlannerPanel();
-        settingsPanel = new SettingsPanel();
+        historyTab = new LazyTab(() -> {
+            long start = StartupTrace.start();
+            SessionLogger sessionLogger = SessionLogger.getInstance();
+            onStorageChange(() -> SwingUtilities.invokeLater(sessionLogger::refresh));
+            StartupTrace.record("history data", start);
+            return HistoryPanel::new;
+        });
+        plannerTab = new LazyTab(() -> {
+            long start = StartupTrace.start();
+            Planner planner = new Planner();
+            StorageHandler storageHandler = new StorageHandler();
+            AIPlanner aiPlanner = new AIPlanner();
+            onStorageChange(() -> {
+                aiPlanner.getReflectionStore().refresh();
+                SwingUtilities.invokeLater(planner::refresh);
+            });
+            StartupTrace.record("planner data", start);
+            return () -> new PlannerPanel(planner, aiPlanner, storageHandler);
+        });
+        settingsTab = new LazyTab(() -> SettingsPanel::new);
     }
 
     /**
@@ -73,9 +120,14 @@ public class MainFrame extends JFrame implements Observer {
         tabbedPane.setFont(new Font("SansSerif", Font.PLAIN, 14));
 
         tabbedPane.addTab("Timer", createTabIcon("timer"), timerPanel, "Start a focus session");
-        tabbedPane.addTab("History", createTabIcon("history"), historyPanel, "View session history");
-        tabbedPane.addTab("Planner", createTabIcon("planner"), plannerPanel, "Plan your schedule and get coaching");
-        tabbedPane.addTab("Settings", createTabIcon("settings"), settingsPanel, "Configure preferences");
+        tabbedPane.addTab("History", createTabIcon("history"), historyTab, "View session history");
+        tabbedPane.addTab("Planner", createTabIcon("planner"), plannerTab, "Plan your schedule and get coaching");
+        tabbedPane.addTab("Settings", createTabIcon("settings"), settingsTab, "Configure preferences");
+        tabbedPane.addChangeListener(e -> {
+            if (tabbedPane.getSelectedComponent() instanceof LazyTab tab) {
+                tab.realize();
+            }
+        });
 
         add(tabbedPane, BorderLayout.CENTER);
     }
@@ -92,16 +144,25 @@ public class MainFrame extends JFrame implements Observer {
         return timerPanel;
     }
 
+    /**
+     * @return the history panel, or null if its tab hasn't finished loading
+     */
     public HistoryPanel getHistoryPanel() {
-        return historyPanel;
+        return (HistoryPanel) historyTab.getContent();
     }
 
+    /**
+     * @return the planner panel, or null if its tab hasn't finished loading
+     */
     public PlannerPanel getPlannerPanel() {
-        return plannerPanel;
+        return (PlannerPanel) plannerTab.getContent();
     }
 
+    /**
+     * @return the settings panel, or null if its tab hasn't finished loading
+     */
     public SettingsPanel getSettingsPanel() {
-        return settingsPanel;
+        return (SettingsPanel) settingsTab.getContent();
     }
 
     /**
@@ -8,8 +8,6 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Chat interface for the AI Study Planner.
@@ -24,17 +22,15 @@ public class ChatPanel extends JPanel {
     private JPanel messagesPanel;
     private JTextField inputField;
     private JButton sendButton;
+    private JButton clearButton;
     private JScrollPane scrollPane;
 
-    private final List<String> conversationHistory;
-
     /**
      * Creates chat panel with AI planner and calendar.
      */
     public ChatPanel(AIPlanner aiPlanner, Planner planner) {
         this.aiPlanner = aiPlanner;
         this.planner = planner;
-        this.conversationHistory = new ArrayList<>();
 
         initializeUI();
         addWelcomeMessage();
@@ -74,8 +70,16 @@ public class ChatPanel extends JPanel {
         sendButton = new JButton("Send");
         sendButton.addActionListener(e -> sendMessage());
 
+        clearButton = new JButton("Clear");
+        clearButton.setToolTipText("Forget this conversation");
+        clearButton.addActionListener(e -> clearConversation());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        buttonPanel.add(sendButton);
+        buttonPanel.add(clearButton);
+
         inputPanel.add(inputField, BorderLayout.CENTER);
-        inputPanel.add(sendButton, BorderLayout.EAST);
+        inputPanel.add(buttonPanel, BorderLayout.EAST);
         add(inputPanel, BorderLayout.SOUTH);
     }
 
@@ -85,6 +89,15 @@ public class ChatPanel extends JPanel {
                 false);
     }
 
+    /**
+     * Clears the remembered conversation so the AI starts fresh.
+     */
+    public void clearConversation() {
+        aiPlanner.getConversationMemory().clear();
+        messagesPanel.removeAll();
+        addWelcomeMessage();
+    }
+
     /**
      * Sends the current message to the AI.
      */
@@ -97,6 +110,7 @@ public class ChatPanel extends JPanel {
         inputField.setText("");
         inputField.setEnabled(false);
         sendButton.setEnabled(false);
+        clearButton.setEnabled(false);
 
         // Process in background
         SwingWorker<String, Void> worker = new SwingWorker<>() {
@@ -115,6 +129,7 @@ public class ChatPanel extends JPanel {
                 } finally {
                     inputField.setEnabled(true);
                     sendButton.setEnabled(true);
+                    clearButton.setEnabled(true);
                     inputField.requestFocus();
                 }
             }
@@ -153,11 +168,9 @@ public class ChatPanel extends JPanel {
         if (isUser) {
             messageRow.add(Box.createHorizontalGlue());
             messageRow.add(textArea);
-            conversationHistory.add("User: " + text);
         } else {
             messageRow.add(textArea);
             messageRow.add(Box.createHorizontalGlue());
-            conversationHistory.add("Assistant: " + text);
         }
 
         // Constrain max height of the row
@@ -2,6 +2,8 @@ package com.focusflow.view.history;
 
 import com.focusflow.controller.history.DateFilterListener;
 import com.focusflow.controller.history.ModeFilterListener;
+import com.focusflow.metrics.StartupTrace;
+import com.focusflow.metrics.ViewRefreshEvent;
 import com.focusflow.model.session.SessionLogger;
 import com.focusflow.model.session.SessionRecord;
 import com.focusflow.model.session.StatisticsManager;
@@ -16,6 +18,8 @@ import java.util.List;
 
 /**
  * Panel displaying session history and statistics.
+ * The table shows the filtered sessions, starting with the last 30 days, so
+ * older months are only loaded from disk when a filter reaches them.
  *
  * @author Frank Watkins
  */
@@ -30,6 +34,8 @@ public class HistoryPanel extends JPanel implements Observer {
     private JLabel completionRateLabel;
     private JLabel streakLabel;
 
+    private static final String DEFAULT_DATE_FILTER = "Last 30 Days";
+
     private DefaultTableModel tableModel;
     private SessionLogger sessionLogger;
     private StatisticsManager statisticsManager;
@@ -38,6 +44,7 @@ public class HistoryPanel extends JPanel implements Observer {
      * Creates a new HistoryPanel.
      */
     public HistoryPanel() {
+        long start = StartupTrace.start();
         sessionLogger = SessionLogger.getInstance();
         statisticsManager = new StatisticsManager(sessionLogger);
 
@@ -48,6 +55,7 @@ public class HistoryPanel extends JPanel implements Observer {
         sessionLogger.addObserver(this);
 
         refreshData();
+        StartupTrace.record("HistoryPanel", start);
     }
 
     /**
@@ -81,6 +89,7 @@ public class HistoryPanel extends JPanel implements Observer {
         dateFilter = new JComboBox<>(new String[] {
                 "All Time", "Today", "This Week", "This Month", "Last 7 Days", "Last 30 Days"
         });
+        dateFilter.setSelectedItem(DEFAULT_DATE_FILTER);
 
         panel.add(dateFilter);
         panel.add(Box.createHorizontalStrut(15));
@@ -147,8 +156,19 @@ public class HistoryPanel extends JPanel implements Observer {
      * Initializes event listeners.
      */
     private void initializeListeners() {
-        dateFilter.addActionListener(new DateFilterListener(sessionLogger));
-        modeFilter.addActionListener(new ModeFilterListener(sessionLogger));
+        DateFilterListener dateFilterListener = new DateFilterListener(sessionLogger);
+        ModeFilterListener modeFilterListener = new ModeFilterListener(sessionLogger);
+        dateFilterListener.applyDateFilter(DEFAULT_DATE_FILTER);
+        modeFilterListener.applyModeFilter((String) modeFilter.getSelectedItem());
+
+        dateFilter.addActionListener(e -> {
+            dateFilterListener.actionPerformed(e);
+            refreshData();
+        });
+        modeFilter.addActionListener(e -> {
+            modeFilterListener.actionPerformed(e);
+            refreshData();
+        });
         refreshButton.addActionListener(e -> refreshData());
     }
 
@@ -156,17 +176,22 @@ public class HistoryPanel extends JPanel implements Observer {
      * Refreshes the data display.
      */
     public void refreshData() {
+        ViewRefreshEvent jfrEvent = new ViewRefreshEvent();
+        jfrEvent.begin();
         tableModel.setRowCount(0);
         showSessionHistory();
         statisticsManager.calculateStatistics();
         updateStatistics();
+        jfrEvent.view = "HistoryPanel.refreshData";
+        jfrEvent.items = tableModel.getRowCount();
+        jfrEvent.commit();
     }
 
     /**
      * Shows the session history in the table.
      */
     public void showSessionHistory() {
-        List<SessionRecord> sessions = sessionLogger.getAllSessions();
+        List<SessionRecord> sessions = sessionLogger.getFilteredSessions();
         DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
         DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
 
@@ -1,5 +1,6 @@
 package com.focusflow.view.planner;
 
+import com.focusflow.metrics.ViewRefreshEvent;
 import com.focusflow.model.planner.Planner;
 
 import javax.swing.*;
@@ -93,6 +94,8 @@ public class CalendarView extends JPanel implements Observer {
      * Shows the calendar for a specific month.
      */
     public void showMonth(Date date) {
+        ViewRefreshEvent jfrEvent = new ViewRefreshEvent();
+        jfrEvent.begin();
         isWeekView = false;
         currentCalendar.setTime(date);
         currentCalendar.set(Calendar.DAY_OF_MONTH, 1);
@@ -131,6 +134,9 @@ public class CalendarView extends JPanel implements Observer {
 
         calendarGrid.revalidate();
         calendarGrid.repaint();
+        jfrEvent.view = "CalendarView.showMonth";
+        jfrEvent.items = calendarGrid.getComponentCount();
+        jfrEvent.commit();
     }
 
     /**
@@ -198,6 +204,8 @@ public class CalendarView extends JPanel implements Observer {
      * Shows a week view with time grid.
      */
     public void showWeek(Date date) {
+        ViewRefreshEvent jfrEvent = new ViewRefreshEvent();
+        jfrEvent.begin();
         isWeekView = true;
         currentCalendar.setTime(date);
         int dayOfWeek = currentCalendar.get(Calendar.DAY_OF_WEEK);
@@ -274,6 +282,9 @@ public class CalendarView extends JPanel implements Observer {
         calendarGrid.add(weekPanel, BorderLayout.CENTER);
         calendarGrid.revalidate();
         calendarGrid.repaint();
+        jfrEvent.view = "CalendarView.showWeek";
+        jfrEvent.items = weekPanel.getComponentCount();
+        jfrEvent.commit();
     }
 
     /**
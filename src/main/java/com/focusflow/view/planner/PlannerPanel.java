@@ -1,6 +1,7 @@
 package com.focusflow.view.planner;
 
 import com.focusflow.controller.planner.ImportFileListener;
+import com.focusflow.metrics.StartupTrace;
 import com.focusflow.model.planner.Planner;
 import com.focusflow.model.coach.AIPlanner;
 import com.focusflow.model.coach.StorageHandler;
@@ -31,11 +32,20 @@ public class PlannerPanel extends JPanel {
      * Creates a new PlannerPanel.
      */
     public PlannerPanel() {
-        planner = new Planner();
-        storageHandler = new StorageHandler();
-        aiPlanner = new AIPlanner(storageHandler);
+        this(new Planner(), null, new StorageHandler());
+    }
+
+    /**
+     * Creates a PlannerPanel around models that were already loaded.
+     */
+    public PlannerPanel(Planner planner, AIPlanner aiPlanner, StorageHandler storageHandler) {
+        long start = StartupTrace.start();
+        this.planner = planner;
+        this.storageHandler = storageHandler;
+        this.aiPlanner = aiPlanner != null ? aiPlanner : new AIPlanner();
         initializeUI();
         initializeListeners();
+        StartupTrace.record("PlannerPanel", start);
     }
 
     /**
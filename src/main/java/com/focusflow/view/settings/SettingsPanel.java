@@ -1,5 +1,6 @@
 package com.focusflow.view.settings;
 
+import com.focusflow.metrics.StartupTrace;
 import com.focusflow.model.settings.SettingsController;
 
 import javax.swing.*;
@@ -15,7 +16,10 @@ public class SettingsPanel extends JPanel {
     private JCheckBox muteCheckbox;
     private JPasswordField apiKeyField;
     private JCheckBox showKeyCheckbox;
+    private JCheckBox flightRecordingCheckbox;
     private JLabel apiStatusLabel;
+    private JTextField llmEndpointField;
+    private JTextField llmModelField;
     private JButton saveButton;
 
     private SettingsController settingsController;
@@ -24,10 +28,12 @@ public class SettingsPanel extends JPanel {
      * Creates a new SettingsPanel.
      */
     public SettingsPanel() {
+        long start = StartupTrace.start();
         settingsController = SettingsController.getInstance();
         initializeUI();
         initializeListeners();
         loadSettings();
+        StartupTrace.record("SettingsPanel", start);
     }
 
     /**
@@ -99,6 +105,29 @@ public class SettingsPanel extends JPanel {
         gbc.gridx = 0; gbc.gridy = 5;
         gbc.gridwidth = 2;
         panel.add(new JLabel("Get free API key at console.groq.com/keys"), gbc);
+        gbc.gridwidth = 1;
+
+        // Local OpenAI-compatible server (optional, used instead of Groq)
+        gbc.gridx = 0; gbc.gridy = 6;
+        panel.add(new JLabel("Local AI URL:"), gbc);
+        gbc.gridx = 1;
+        llmEndpointField = new JTextField(20);
+        llmEndpointField.setToolTipText("e.g. http://localhost:8000/v1/chat/completions (leave empty to use Groq)");
+        panel.add(llmEndpointField, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 7;
+        panel.add(new JLabel("Local AI Model:"), gbc);
+        gbc.gridx = 1;
+        llmModelField = new JTextField(20);
+        panel.add(llmModelField, gbc);
+
+        // Diagnostics
+        gbc.gridx = 0; gbc.gridy = 8;
+        panel.add(new JLabel("Flight Recording:"), gbc);
+        gbc.gridx = 1;
+        flightRecordingCheckbox = new JCheckBox("Record diagnostics (restart to apply)");
+        flightRecordingCheckbox.setToolTipText("Writes focusflow.jfr to the data folder on exit, for bug reports");
+        panel.add(flightRecordingCheckbox, gbc);
 
         return panel;
     }
@@ -129,6 +158,9 @@ public class SettingsPanel extends JPanel {
 
         String apiKey = settingsController.getSetting(SettingsController.KEY_GROQ_API_KEY, "");
         apiKeyField.setText(apiKey);
+        llmEndpointField.setText(settingsController.getSetting(SettingsController.KEY_LLM_ENDPOINT, ""));
+        llmModelField.setText(settingsController.getSetting(SettingsController.KEY_LLM_MODEL, ""));
+        flightRecordingCheckbox.setSelected(settingsController.isFlightRecordingEnabled());
         updateApiStatus();
     }
 
@@ -140,6 +172,9 @@ public class SettingsPanel extends JPanel {
 
         String apiKey = new String(apiKeyField.getPassword()).trim();
         settingsController.setSetting(SettingsController.KEY_GROQ_API_KEY, apiKey);
+        settingsController.setSetting(SettingsController.KEY_LLM_ENDPOINT, llmEndpointField.getText().trim());
+        settingsController.setSetting(SettingsController.KEY_LLM_MODEL, llmModelField.getText().trim());
+        settingsController.setSetting(SettingsController.KEY_FLIGHT_RECORDING, flightRecordingCheckbox.isSelected());
         updateApiStatus();
 
         settingsController.saveSettings();
@@ -151,7 +186,10 @@ public class SettingsPanel extends JPanel {
      */
     private void updateApiStatus() {
         String apiKey = settingsController.getGroqApiKey();
-        if (apiKey != null && !apiKey.isEmpty()) {
+        String endpoint = settingsController.getSetting(SettingsController.KEY_LLM_ENDPOINT, "");
+        if (endpoint != null && !endpoint.isEmpty()) {
+            apiStatusLabel.setText("Using local AI server (restart to apply)");
+        } else if (apiKey != null && !apiKey.isEmpty()) {
             apiStatusLabel.setText("API key configured");
         } else {
             apiStatusLabel.setText("No API key - AI features disabled");
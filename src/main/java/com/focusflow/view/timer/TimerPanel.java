@@ -1,6 +1,7 @@
 package com.focusflow.view.timer;
 
 import com.focusflow.command.*;
+import com.focusflow.metrics.StartupTrace;
 import com.focusflow.model.timer.*;
 import com.focusflow.model.session.SessionLogger;
 import com.focusflow.model.session.SessionRecord;
@@ -31,7 +32,6 @@ public class TimerPanel extends JPanel implements Observer {
     private JPanel circlePanel;
 
     private TimerManager timerManager;
-    private SessionLogger sessionLogger;
     private int completedCycles; // tracks how many work sessions completed
 
     // Command pattern - encapsulated timer operations
@@ -44,14 +44,15 @@ public class TimerPanel extends JPanel implements Observer {
      * Creates a new TimerPanel.
      */
     public TimerPanel() {
+        long start = StartupTrace.start();
         timerManager = TimerManager.getInstance();
         timerManager.attach(this);
-        sessionLogger = SessionLogger.getInstance();
         completedCycles = 0;
 
         initializeUI();
         initializeListeners();
         updateDisplay();
+        StartupTrace.record("TimerPanel", start);
     }
 
     /**
@@ -358,6 +359,7 @@ public class TimerPanel extends JPanel implements Observer {
         String modeName = timerManager.getCurrentMode().getName();
         SessionRecord record = new SessionRecord(modeName, durationMinutes);
         record.complete();
-        sessionLogger.logSession(record);
+        // Looked up here so history isn't loaded before the timer is usable
+        SessionLogger.getInstance().logSession(record);
     }
 }
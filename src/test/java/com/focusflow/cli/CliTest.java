@@ -0,0 +1,135 @@
+package com.focusflow.cli;
+
+import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.session.SessionRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Cli. Commands that touch data run in a separate JVM with their
+ * own data folder, which also lets us check that AWT and Swing are never loaded.
+ *
+ * @author Fareed Uddin
+ */
+class CliTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testUsage() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        Cli cli = new Cli(new PrintStream(out), new PrintStream(err));
+
+        assertEquals(Cli.USAGE, cli.run(new String[0]));
+        assertEquals(Cli.USAGE, cli.run(new String[] { "dance" }));
+        assertEquals(Cli.USAGE, cli.run(new String[] { "stats", "--days" }));
+        assertEquals(Cli.OK, cli.run(new String[] { "help" }));
+        assertTrue(out.toString().contains("import-ics"));
+    }
+
+    @Test
+    void testStatsWithoutAwt() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        new StorageHandler(tempDir.toString()).saveSessions(List.of(
+                new SessionRecord("Pomodoro", 25, now.minusHours(3), 25, true),
+                new SessionRecord("Pomodoro", 25, now.minusHours(2), 10, false),
+                new SessionRecord("52/17", 52, now.minusDays(40), 52, true)));
+
+        Result result = runCli("stats", "--days", "7", "--json");
+        assertEquals(Cli.OK, result.status, result.output);
+        assertTrue(result.output.contains("\"sessions\":2"), result.output);
+        assertTrue(result.output.contains("\"focusMinutes\":25"), result.output);
+        assertNoDesktopClasses();
+    }
+
+    @Test
+    void testExportAndImport() throws Exception {
+        new StorageHandler(tempDir.toString()).saveSessions(List.of(
+                new SessionRecord("Pomodoro", 25, LocalDateTime.of(2030, 1, 1, 9, 0), 25, true)));
+        Path csv = tempDir.resolve("sessions.csv");
+        Result export = runCli("export", csv.toString());
+        assertEquals(Cli.OK, export.status, export.output);
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals("start,mode,minutes,completed", lines.get(0));
+        assertEquals("2030-01-01T09:00:00,Pomodoro,25,true", lines.get(1));
+
+        Path json = tempDir.resolve("export.json");
+        assertEquals(Cli.OK, runCli("export", json.toString()).status);
+        Result again = runCli("import", json.toString());
+        assertEquals(Cli.OK, again.status, again.output);
+        assertTrue(again.output.contains("Imported 0 of 1 sessions"), again.output);
+
+        Path ics = tempDir.resolve("in.ics");
+        Files.writeString(ics, String.join("\n", "BEGIN:VCALENDAR",
+                "BEGIN:VEVENT", "SUMMARY:Calculus", "DTSTART:20300102T090000", "DTEND:20300102T100000", "END:VEVENT",
+                "BEGIN:VEVENT", "SUMMARY:Physics", "DTSTART:20300102T110000", "DTEND:20300102T120000", "END:VEVENT",
+                "END:VCALENDAR", ""));
+        Result imported = runCli("import-ics", ics.toString());
+        assertEquals(Cli.OK, imported.status, imported.output);
+        assertTrue(imported.output.contains("Imported 2 events"), imported.output);
+
+        Result missing = runCli("import-ics", tempDir.resolve("nope.ics").toString());
+        assertEquals(Cli.FAILED, missing.status);
+        assertNoDesktopClasses();
+    }
+
+    @Test
+    void testRendererForPipes() {
+        CountdownRenderer renderer = new CountdownRenderer(false);
+        assertNull(renderer.render("Pomodoro", true, 1499, 1500));
+        assertTrue(renderer.render("Pomodoro", true, 1440, 1500).startsWith("Pomodoro Focus 24:00 remaining"));
+        assertEquals("", renderer.endLine());
+    }
+
+    @Test
+    void testRendererForTerminal() {
+        String line = new CountdownRenderer(true).render("Pomodoro", false, 150, 300);
+        assertTrue(line.startsWith("\r"));
+        assertTrue(line.contains("Break 02:30"));
+        assertTrue(line.contains("[###############---------------]"));
+    }
+
+    private void assertNoDesktopClasses() throws IOException {
+        for (String line : Files.readAllLines(tempDir.resolve("classes.log"))) {
+            assertFalse(line.contains(" java.awt.") || line.contains(" javax.swing."), line);
+        }
+    }
+
+    private Result runCli(String... args) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> command = new ArrayList<>(List.of(java,
+                "-Dfocusflow.data.dir=" + tempDir,
+                "-Xlog:class+load=info:file=" + tempDir.resolve("classes.log"),
+                "-cp", System.getProperty("java.class.path"),
+                Cli.class.getName()));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        return new Result(process.waitFor(), output);
+    }
+
+    private static class Result {
+        private final int status;
+        private final String output;
+
+        Result(int status, String output) {
+            this.status = status;
+            this.output = output;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.focusflow.model.timer.TimerManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -12,6 +13,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *
  * @author Edward De Jesus
  */
+@ResourceLock("focusflow.TimerManager")
 class CommandPatternTest {
 
     private TimerManager timerManager;
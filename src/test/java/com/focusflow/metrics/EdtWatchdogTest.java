@@ -0,0 +1,85 @@
+package com.focusflow.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.awt.EventQueue;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for EdtWatchdog.
+ *
+ * @author Edward De Jesus
+ */
+@Isolated
+class EdtWatchdogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private EdtWatchdog watchdog;
+
+    @AfterEach
+    void tearDown() {
+        if (watchdog != null) {
+            watchdog.uninstall();
+        }
+    }
+
+    @Test
+    void testStallIsLoggedWithStack() throws Exception {
+        watchdog = new EdtWatchdog(tempDir, 50);
+        watchdog.install();
+        long before = watchdog.getStallCount();
+
+        EventQueue.invokeAndWait(EdtWatchdogTest::slowListener);
+        EventQueue.invokeAndWait(() -> { });
+        watchdog.uninstall();
+        watchdog = null;
+
+        assertEquals(before + 1, MetricsRegistry.getInstance().counter("edt.stalls").getCount());
+        String log = Files.readString(tempDir.resolve("edt-stalls.0.log"));
+        assertTrue(log.contains("EDT stall"));
+        assertTrue(log.contains("slowListener"), log);
+    }
+
+    @Test
+    void testFastDispatchesNotLogged() throws Exception {
+        watchdog = new EdtWatchdog(tempDir, 1000);
+        watchdog.install();
+        long before = watchdog.getStallCount();
+        long dispatched = MetricsRegistry.getInstance().histogram("edt.dispatch.us").getCount();
+
+        for (int i = 0; i < 10; i++) {
+            EventQueue.invokeAndWait(() -> { });
+        }
+        // invokeAndWait returns before the dispatch is timed; one more makes sure the last was
+        EventQueue.invokeAndWait(() -> { });
+
+        assertEquals(before, watchdog.getStallCount());
+        assertTrue(MetricsRegistry.getInstance().histogram("edt.dispatch.us").getCount() >= dispatched + 10);
+    }
+
+    @Test
+    void testTopApplicationFrame() {
+        StackTraceElement[] stack = {
+                new StackTraceElement("java.lang.Thread", "sleep", "Thread.java", 1),
+                new StackTraceElement("com.focusflow.view.history.HistoryPanel", "refreshData", "HistoryPanel.java", 160),
+                new StackTraceElement("com.focusflow.metrics.EdtWatchdog$MonitoredQueue", "dispatchEvent", null, 1)
+        };
+        assertTrue(EdtWatchdog.topApplicationFrame(stack).contains("HistoryPanel.refreshData"));
+    }
+
+    private static void slowListener() {
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.focusflow.metrics;
+
+import com.focusflow.model.coach.StorageHandler;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for FlightRecording and the packaged profile.
+ *
+ * @author Edward De Jesus
+ */
+class FlightRecordingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testProfileEnablesAppEvents() throws Exception {
+        String settings = FlightRecording.loadProfile().getSettings().toString();
+        assertTrue(settings.contains("com.focusflow.TimerTick#enabled=true"));
+        assertTrue(settings.contains("com.focusflow.Storage#enabled=true"));
+        assertTrue(settings.contains("com.focusflow.PlannerChange#enabled=true"));
+        assertTrue(settings.contains("com.focusflow.AiCall#enabled=true"));
+        assertTrue(settings.contains("com.focusflow.ViewRefresh#enabled=true"));
+    }
+
+    @Test
+    void testStorageEventsRecorded() throws Exception {
+        FlightRecording recording = new FlightRecording();
+        recording.start(tempDir);
+        try {
+            StorageHandler storage = new StorageHandler(tempDir.resolve("data").toString());
+            storage.save("test.json", List.of("a", "b", "c"));
+            storage.load("test.json", List.class);
+
+            Path dump = tempDir.resolve("dump.jfr");
+            recording.dump(dump);
+
+            boolean sawSave = false;
+            boolean sawLoad = false;
+            for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+                if (!event.getEventType().getName().equals("com.focusflow.Storage")
+                        || !"test.json".equals(event.getString("file"))) {
+                    continue;
+                }
+                assertTrue(event.getBoolean("success"));
+                assertTrue(event.getLong("bytes") > 0);
+                sawSave |= "save".equals(event.getString("operation"));
+                sawLoad |= "load".equals(event.getString("operation"));
+            }
+            assertTrue(sawSave);
+            assertTrue(sawLoad);
+        } finally {
+            recording.stop();
+        }
+        assertFalse(recording.isRecording());
+    }
+}
@@ -0,0 +1,91 @@
+package com.focusflow.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MetricsRegistry and the metric types.
+ *
+ * @author Edward De Jesus
+ */
+class MetricsRegistryTest {
+
+    @Test
+    void testSameNameReturnsSameMetric() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        Counter counter = registry.counter("test.same");
+        counter.add(3);
+        assertSame(counter, registry.counter("test.same"));
+        assertEquals(3, registry.counter("test.same").getCount());
+    }
+
+    @Test
+    void testNameClashWithDifferentType() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.counter("test.clash");
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("test.clash"));
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMean(), 0.001);
+        assertEquals(100, histogram.getMax());
+        // Buckets are powers of two, so percentiles are upper bounds within a factor of two
+        assertTrue(histogram.get50thPercentile() >= 50 && histogram.get50thPercentile() < 100);
+        assertEquals(100, histogram.get99thPercentile());
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.get95thPercentile());
+        assertEquals(0.0, histogram.getMean());
+    }
+
+    @Test
+    void testConcurrentRecording() throws InterruptedException {
+        Histogram histogram = new Histogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(9_999, histogram.getMax());
+    }
+
+    @Test
+    void testPublishedOverJmx() throws Exception {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.counter("test.jmx").increment();
+        registry.enableJmx();
+        registry.gauge("test.gauge", () -> 42);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName counterName = new ObjectName("com.focusflow:type=Counter,name=" + ObjectName.quote("test.jmx"));
+        ObjectName gaugeName = new ObjectName("com.focusflow:type=Gauge,name=" + ObjectName.quote("test.gauge"));
+        assertEquals(1L, server.getAttribute(counterName, "Count"));
+        assertEquals(42L, server.getAttribute(gaugeName, "Value"));
+    }
+}
@@ -1,8 +1,14 @@
 package com.focusflow.model.coach;
 
+import com.focusflow.model.planner.Planner;
+import com.focusflow.model.storage.InMemoryStorageBackend;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -12,13 +18,19 @@ import static org.junit.jupiter.api.Assertions.*;
  *
  * @author Fareed Uddin
  */
+@ResourceLock(value = "focusflow.storage", mode = ResourceAccessMode.READ)
 class AIPlannerTest {
 
+    @TempDir
+    Path tempDir;
+
     private AIPlanner planner;
+    private MockLlmProvider provider;
 
     @BeforeEach
     void setUp() {
-        planner = new AIPlanner();
+        provider = new MockLlmProvider("Stay hydrated and take breaks.");
+        planner = new AIPlanner(provider, new StorageHandler(tempDir.toString()));
     }
 
     @Test
@@ -56,4 +68,27 @@ class AIPlannerTest {
         planner.saveReflection(reflection);
         assertTrue(planner.getReflections().size() > 0);
     }
+
+    @Test
+    void testChatAppliesActionsFromProvider() {
+        Planner calendar = new Planner(new InMemoryStorageBackend().plannerEvents());
+        planner.setProvider(new MockLlmProvider("```json\n[{\"action\": \"create_event\", \"title\": \"Physics\", "
+                + "\"start\": \"2030-03-04T09:00\", \"end\": \"2030-03-04T10:00\", \"mode\": \"POMODORO\"}]\n```"));
+
+        String reply = planner.chat("Plan physics on March 4th", calendar);
+
+        assertTrue(reply.contains("Physics"));
+        assertEquals(1, calendar.getAllEvents().size());
+    }
+
+    @Test
+    void testChatSendsConversationHistory() {
+        Planner calendar = new Planner(new InMemoryStorageBackend().plannerEvents());
+        planner.chat("My exam is on Friday", calendar);
+        planner.chat("When should I study?", calendar);
+
+        List<String> prompts = provider.getPrompts();
+        assertEquals(2, prompts.size());
+        assertTrue(prompts.get(1).contains("My exam is on Friday"));
+    }
 }
@@ -0,0 +1,105 @@
+package com.focusflow.model.coach;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ActionParser.
+ *
+ * @author Fareed Uddin
+ */
+class ActionParserTest {
+
+    private static final String CREATE_MATH = "{\"action\": \"create_event\", \"title\": \"Math\", "
+            + "\"start\": \"2030-01-01T10:00\", \"end\": \"2030-01-01T11:00\", \"isStudy\": true, \"mode\": \"POMODORO\"}";
+    private static final String CREATE_BIO = "{\"action\": \"create_event\", \"title\": \"Bio [lab]\", "
+            + "\"start\": \"2030-01-02T10:00\", \"end\": \"2030-01-02T11:00\"}";
+
+    @Test
+    void testParseCodeBlock() {
+        String response = "Here you go:\n```json\n[" + CREATE_MATH + ", " + CREATE_BIO + "]\n```";
+        List<PlannerAction> actions = ActionParser.parse(response);
+        assertEquals(2, actions.size());
+        assertEquals("Math", actions.get(0).getTitle());
+        assertEquals("Bio [lab]", actions.get(1).getTitle());
+    }
+
+    @Test
+    void testBracketInProseBeforeCodeBlock() {
+        String response = "Review [Chapter 3] first, then:\n```json\n[" + CREATE_MATH + "]\n```";
+        List<PlannerAction> actions = ActionParser.parse(response);
+        assertEquals(1, actions.size());
+        assertEquals("Math", actions.get(0).getTitle());
+    }
+
+    @Test
+    void testBracketInProseWithoutCodeBlock() {
+        ActionParser parser = new ActionParser();
+        List<PlannerAction> actions = parser.feed("See [notes] and [ 1, 2 ]. ");
+        actions.addAll(parser.feed("[" + CREATE_BIO + "]"));
+        assertEquals(1, actions.size());
+        assertEquals("Bio [lab]", actions.get(0).getTitle());
+        assertTrue(parser.isComplete());
+    }
+
+    @Test
+    void testStreamedBracketBeforeFence() {
+        ActionParser parser = new ActionParser();
+        String response = "Review [Chapter 3] first ```json\n[" + CREATE_MATH + "]```";
+        List<PlannerAction> actions = parser.feed(response.substring(0, 9));
+        actions.addAll(parser.feed(response.substring(9, 28)));
+        actions.addAll(parser.feed(response.substring(28)));
+        assertEquals(1, actions.size());
+        assertEquals("Math", actions.get(0).getTitle());
+    }
+
+    @Test
+    void testNoJson() {
+        ActionParser parser = new ActionParser();
+        assertTrue(parser.feed("Sure, sounds like a plan.").isEmpty());
+        assertFalse(parser.hasFoundJson());
+    }
+
+    @Test
+    void testBrokenActionDoesNotStopOthers() {
+        String broken = "{\"action\": \"create_event\", \"title\": \"Bad\", \"start\": \"tomorrow\", \"end\": \"later\"}";
+        ActionParser parser = new ActionParser();
+        List<PlannerAction> actions = parser.feed("[" + broken + ", " + CREATE_MATH + "]");
+        assertEquals(1, actions.size());
+        assertEquals("Math", actions.get(0).getTitle());
+        assertEquals(1, parser.getErrors().size());
+    }
+
+    @Test
+    void testStreamedChunks() {
+        ActionParser parser = new ActionParser();
+        String response = "[" + CREATE_MATH + "," + CREATE_BIO + "]";
+        int split = response.indexOf(CREATE_BIO) + 10;
+
+        List<PlannerAction> first = parser.feed(response.substring(0, split));
+        assertEquals(1, first.size());
+        assertFalse(parser.isComplete());
+
+        List<PlannerAction> second = parser.feed(response.substring(split));
+        assertEquals(1, second.size());
+        assertTrue(parser.isComplete());
+    }
+
+    @Test
+    void testTruncatedAction() {
+        ActionParser parser = new ActionParser();
+        parser.feed("[" + CREATE_MATH + ", {\"action\": \"create_");
+        parser.finish();
+        assertEquals(1, parser.getErrors().size());
+    }
+
+    @Test
+    void testDeleteAction() {
+        List<PlannerAction> actions = ActionParser.parse("[{\"action\": \"delete_event\", \"title\": \"Math\"}]");
+        assertEquals(1, actions.size());
+        assertEquals(PlannerAction.DELETE_EVENT, actions.get(0).getType());
+    }
+}
@@ -0,0 +1,75 @@
+package com.focusflow.model.coach;
+
+import com.focusflow.model.session.SessionLogger;
+import com.focusflow.model.session.SessionRecord;
+import com.focusflow.model.storage.InMemoryStorageBackend;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AnalyticsDigest.
+ *
+ * @author Fareed Uddin
+ */
+class AnalyticsDigestTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 5, 15);
+
+    @Test
+    void testEmptyHistory() {
+        String digest = AnalyticsDigest.compute(new ArrayList<>(), new ArrayList<>(), TODAY);
+        assertTrue(digest.contains("Sessions: 0"));
+        assertTrue(digest.contains("Reflections: none"));
+    }
+
+    @Test
+    void testStreaksAndBestTime() {
+        List<SessionRecord> sessions = new ArrayList<>();
+        for (int day = 0; day < 3; day++) {
+            sessions.add(new SessionRecord("Pomodoro", 25, TODAY.minusDays(day).atTime(9, 0), 25, true));
+        }
+        sessions.add(new SessionRecord("52/17", 52, TODAY.minusDays(10).atTime(20, 0), 0, false));
+
+        String digest = AnalyticsDigest.compute(sessions, new ArrayList<>(), TODAY);
+        assertTrue(digest.contains("Sessions: 4 (3 completed, 1h 15m focus)"));
+        assertTrue(digest.contains("Best time of day: morning"));
+        assertTrue(digest.contains("Streak: 3 days current, 3 days longest"));
+        assertTrue(digest.contains("Pomodoro=3"));
+    }
+
+    @Test
+    void testDigestSizeIsBounded() {
+        List<SessionRecord> sessions = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            sessions.add(new SessionRecord("Pomodoro", 25, TODAY.minusDays(i % 365).atTime(i % 24, 0), 25, i % 3 != 0));
+        }
+        List<Reflection> reflections = new ArrayList<>();
+        reflections.add(new Reflection("Felt focused today", "Good", 8));
+
+        String digest = AnalyticsDigest.compute(sessions, reflections, TODAY);
+        assertTrue(digest.length() < 1200);
+        assertTrue(digest.contains("Latest reflection"));
+    }
+
+    @Test
+    void testDigestFromHistoryScanMatchesRecords() {
+        SessionLogger logger = new SessionLogger(new InMemoryStorageBackend().sessions());
+        LocalDate today = LocalDate.now();
+        List<SessionRecord> sessions = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String mode = i % 3 == 0 ? "52/17" : "Pomodoro";
+            SessionRecord session = new SessionRecord(mode, 25, today.minusDays(i).atTime(7 + i % 15, 30), 20, i % 4 != 0);
+            sessions.add(session);
+            logger.logSession(session);
+        }
+        List<Reflection> reflections = new ArrayList<>();
+
+        AnalyticsDigest digest = new AnalyticsDigest(logger);
+        assertEquals(AnalyticsDigest.compute(sessions, reflections, today), digest.getDigest(reflections));
+    }
+}
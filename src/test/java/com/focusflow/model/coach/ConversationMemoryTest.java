@@ -0,0 +1,86 @@
+package com.focusflow.model.coach;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ConversationMemory.
+ *
+ * @author Fareed Uddin
+ */
+class ConversationMemoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private StorageHandler storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new StorageHandler(tempDir.toString());
+    }
+
+    @Test
+    void testEmptyContext() {
+        ConversationMemory memory = new ConversationMemory(storage);
+        assertEquals("", memory.buildContext());
+    }
+
+    @Test
+    void testOldTurnsFoldedIntoSummary() {
+        ConversationMemory memory = new ConversationMemory(storage, 4, 1000);
+        for (int i = 0; i < 6; i++) {
+            memory.addUserMessage("Question " + i);
+        }
+        assertEquals(4, memory.getTurnCount());
+        assertEquals(2, memory.getSummary().size());
+        assertTrue(memory.buildContext().contains("Question 5"));
+    }
+
+    @Test
+    void testContextStaysWithinBudget() {
+        ConversationMemory memory = new ConversationMemory(storage, 10, 200);
+        String longMessage = "I need to study for my chemistry exam next week. ".repeat(5);
+        for (int i = 0; i < 50; i++) {
+            memory.addUserMessage(longMessage);
+            memory.addAssistantMessage("Okay, noted.");
+        }
+        assertTrue(ConversationMemory.estimateTokens(memory.buildContext()) <= 200);
+        assertTrue(memory.getTurnCount() >= 1);
+    }
+
+    @Test
+    void testSingleLongTurnCutToBudget() {
+        ConversationMemory memory = new ConversationMemory(storage, 10, 50);
+        memory.addUserMessage("Please plan my week around these notes. " + "x".repeat(1000));
+
+        assertEquals(1, memory.getTurnCount());
+        assertTrue(ConversationMemory.estimateTokens(memory.buildContext()) <= 50);
+        assertTrue(memory.buildContext().contains("Please plan my week"));
+    }
+
+    @Test
+    void testPersistsAcrossInstances() {
+        ConversationMemory memory = new ConversationMemory(storage);
+        memory.addUserMessage("My exam is on Friday");
+        memory.addAssistantMessage("Got it.");
+
+        ConversationMemory reloaded = new ConversationMemory(new StorageHandler(tempDir.toString()));
+        assertEquals(2, reloaded.getTurnCount());
+        assertTrue(reloaded.buildContext().contains("My exam is on Friday"));
+    }
+
+    @Test
+    void testClear() {
+        ConversationMemory memory = new ConversationMemory(storage);
+        memory.addUserMessage("Hello");
+        memory.clear();
+        assertEquals(0, memory.getTurnCount());
+        assertEquals(0, new ConversationMemory(storage).getTurnCount());
+    }
+}
@@ -0,0 +1,188 @@
+package com.focusflow.model.coach;
+
+import com.focusflow.model.planner.Planner;
+import com.focusflow.model.planner.PlannerEventCodec;
+import com.focusflow.model.session.SessionRecord;
+import com.focusflow.model.session.SessionRecordCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the binary record format and its codecs.
+ *
+ * @author Fareed Uddin
+ */
+class RecordFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSessionRoundTrip() throws IOException {
+        List<SessionRecord> sessions = sessions(50);
+        sessions.add(new SessionRecord("not-a-uuid", null, LocalDateTime.of(2030, 1, 1, 8, 0), null, 25, 0, false));
+
+        byte[] data = RecordFile.encode(sessions, SessionRecordCodec.INSTANCE);
+        List<SessionRecord> loaded = RecordFile.decode(data, SessionRecordCodec.INSTANCE, reason -> fail(reason));
+
+        assertEquals(sessions.size(), loaded.size());
+        for (int i = 0; i < sessions.size(); i++) {
+            SessionRecord expected = sessions.get(i);
+            SessionRecord actual = loaded.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getStartTime(), actual.getStartTime());
+            assertEquals(expected.getEndTime(), actual.getEndTime());
+            assertEquals(expected.getModeName(), actual.getModeName());
+            assertEquals(expected.getPlannedDurationMinutes(), actual.getPlannedDurationMinutes());
+            assertEquals(expected.getActualDurationMinutes(), actual.getActualDurationMinutes());
+            assertEquals(expected.isCompleted(), actual.isCompleted());
+        }
+    }
+
+    @Test
+    void testPlannerEventRoundTrip() throws IOException {
+        Planner.PlannerEvent event = new Planner.PlannerEvent("Calculus", "Chapter 4, problems 1-20",
+                LocalDateTime.of(2030, 3, 2, 9, 0), LocalDateTime.of(2030, 3, 2, 10, 30));
+        event.setStudyBlock(true);
+        event.setTimerMode("52/17");
+        Planner.PlannerEvent open = new Planner.PlannerEvent("Reading", null, null, LocalDateTime.of(2030, 3, 5, 0, 0));
+
+        byte[] data = RecordFile.encode(List.of(event, open), PlannerEventCodec.INSTANCE);
+        List<Planner.PlannerEvent> loaded = RecordFile.decode(data, PlannerEventCodec.INSTANCE, reason -> fail(reason));
+
+        assertEquals(2, loaded.size());
+        Planner.PlannerEvent copy = loaded.get(0);
+        assertEquals(event.getId(), copy.getId());
+        assertEquals("Calculus", copy.getTitle());
+        assertEquals("Chapter 4, problems 1-20", copy.getDescription());
+        assertEquals(event.getStartTime(), copy.getStartTime());
+        assertEquals(event.getEndTime(), copy.getEndTime());
+        assertEquals("52/17", copy.getTimerMode());
+        assertTrue(copy.isStudyBlock());
+        assertNull(loaded.get(1).getStartTime());
+        assertEquals(open.getEndTime(), loaded.get(1).getEndTime());
+        assertNull(loaded.get(1).getDescription());
+    }
+
+    @Test
+    void testDamagedRecordSkipped() throws IOException {
+        List<SessionRecord> sessions = sessions(10);
+        byte[] data = RecordFile.encode(sessions, SessionRecordCodec.INSTANCE);
+        data[data.length / 2] ^= 0x55;
+
+        List<String> skipped = new ArrayList<>();
+        List<SessionRecord> loaded = RecordFile.decode(data, SessionRecordCodec.INSTANCE, skipped::add);
+
+        assertEquals(1, skipped.size());
+        assertEquals(9, loaded.size());
+    }
+
+    @Test
+    void testTruncatedTailKeepsEarlierRecords() throws IOException {
+        byte[] data = RecordFile.encode(sessions(10), SessionRecordCodec.INSTANCE);
+        byte[] truncated = java.util.Arrays.copyOf(data, data.length - 5);
+
+        List<String> skipped = new ArrayList<>();
+        List<SessionRecord> loaded = RecordFile.decode(truncated, SessionRecordCodec.INSTANCE, skipped::add);
+
+        assertEquals(9, loaded.size());
+        assertEquals(1, skipped.size());
+    }
+
+    @Test
+    void testNegativeFrameLengthTreatedAsTruncatedTail() throws IOException {
+        byte[] data = RecordFile.encode(sessions(3), SessionRecordCodec.INSTANCE);
+        // a ten-byte varint with bit 63 set, which would decode to a negative length
+        byte[] length = { -1, -1, -1, -1, -1, -1, -1, -1, -1, 0x01 };
+        byte[] damaged = java.util.Arrays.copyOf(data, data.length + length.length + 8);
+        System.arraycopy(length, 0, damaged, data.length, length.length);
+
+        List<String> skipped = new ArrayList<>();
+        List<SessionRecord> loaded = RecordFile.decode(damaged, SessionRecordCodec.INSTANCE, skipped::add);
+
+        assertEquals(3, loaded.size());
+        assertEquals(List.of("truncated record at end of file"), skipped);
+    }
+
+    @Test
+    void testOversizedLengthsRejected() {
+        byte[] hugeString = { -1, -1, -1, -1, -1, -1, -1, -1, 0x7F, 'a', 'b' };
+        assertThrows(IllegalStateException.class, () -> reader(hugeString).readString());
+        assertThrows(IllegalStateException.class, () -> reader(hugeString).readInt());
+        byte[] negative = { -1, -1, -1, -1, -1, -1, -1, -1, -1, 0x01 };
+        assertThrows(IllegalStateException.class, () -> reader(negative).readInt());
+    }
+
+    @Test
+    void testOutOfRangeTimeRejected() {
+        // zigzag for Long.MAX_VALUE seconds, far past LocalDateTime.MAX
+        byte[] delta = { -2, -1, -1, -1, -1, -1, -1, -1, -1, 0x01 };
+        assertThrows(IllegalStateException.class, () -> reader(delta).readTime());
+
+        byte[] small = { 0x02 };
+        RecordReader overflow = new RecordReader(small, List.of(), Long.MAX_VALUE);
+        overflow.limitTo(0, small.length);
+        assertThrows(IllegalStateException.class, overflow::readTime);
+    }
+
+    @Test
+    void testWrongRecordTypeRejected() {
+        byte[] data = RecordFile.encode(sessions(3), SessionRecordCodec.INSTANCE);
+        assertThrows(IOException.class, () -> RecordFile.decode(data, PlannerEventCodec.INSTANCE, reason -> { }));
+        assertThrows(IOException.class, () -> RecordFile.decode("[]".getBytes(), SessionRecordCodec.INSTANCE, r -> { }));
+    }
+
+    @Test
+    void testMuchSmallerThanJson() throws IOException {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        List<SessionRecord> sessions = sessions(1000);
+        storage.save("sessions.json", sessions);
+        storage.saveRecords("sessions", sessions, SessionRecordCodec.INSTANCE);
+
+        long json = Files.size(tempDir.resolve("sessions.json"));
+        long binary = Files.size(tempDir.resolve("sessions.ffr"));
+        assertTrue(binary * 5 < json, "binary " + binary + " bytes vs json " + json);
+    }
+
+    @Test
+    void testJsonFileConvertedOnLoad() {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        List<SessionRecord> sessions = sessions(5);
+        storage.save("history.json", sessions);
+
+        List<SessionRecord> loaded = storage.loadRecords("history", SessionRecordCodec.INSTANCE);
+
+        assertEquals(5, loaded.size());
+        assertEquals(sessions.get(0).getId(), loaded.get(0).getId());
+        assertTrue(Files.exists(tempDir.resolve("history.ffr")));
+        assertTrue(Files.exists(tempDir.resolve("history.json.bak")));
+        assertFalse(Files.exists(tempDir.resolve("history.json")));
+        assertEquals(5, storage.loadRecords("history", SessionRecordCodec.INSTANCE).size());
+        assertNull(storage.loadRecords("missing", SessionRecordCodec.INSTANCE));
+    }
+
+    private static RecordReader reader(byte[] data) {
+        RecordReader reader = new RecordReader(data, List.of(), 0);
+        reader.limitTo(0, data.length);
+        return reader;
+    }
+
+    private static List<SessionRecord> sessions(int count) {
+        List<SessionRecord> sessions = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        String[] modes = { "Pomodoro", "52/17", "Ultradian" };
+        for (int i = 0; i < count; i++) {
+            sessions.add(new SessionRecord(modes[i % modes.length], 25, start.plusHours(i * 5L), 20 + i % 30, i % 4 != 0));
+        }
+        return sessions;
+    }
+}
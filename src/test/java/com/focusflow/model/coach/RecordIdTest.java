@@ -0,0 +1,111 @@
+package com.focusflow.model.coach;
+
+import com.focusflow.model.session.SessionRecord;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RecordId.
+ *
+ * @author Fareed Uddin
+ */
+class RecordIdTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testNewIdsAreVersion7Uuids() {
+        long before = System.currentTimeMillis();
+        RecordId id = RecordId.next();
+        UUID uuid = UUID.fromString(id.toString());
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(id.getHigh(), uuid.getMostSignificantBits());
+        assertEquals(id.getLow(), uuid.getLeastSignificantBits());
+        assertTrue(id.getTimestamp() >= before && id.getTimestamp() <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void testIdsIncreaseInNumberAndText() {
+        RecordId previous = RecordId.next();
+        for (int i = 0; i < 10_000; i++) {
+            RecordId id = RecordId.next();
+            assertTrue(id.compareTo(previous) > 0);
+            assertTrue(id.toString().compareTo(previous.toString()) > 0);
+            previous = id;
+        }
+    }
+
+    @Test
+    void testUniqueAcrossThreads() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<RecordId>>> batches = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                batches.add(pool.submit(() -> {
+                    List<RecordId> ids = new ArrayList<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(RecordId.next());
+                    }
+                    return ids;
+                }));
+            }
+            Set<RecordId> all = new HashSet<>();
+            for (Future<List<RecordId>> batch : batches) {
+                all.addAll(batch.get());
+            }
+            assertEquals(80_000, all.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParseRoundTrip() {
+        String random = UUID.randomUUID().toString();
+        RecordId parsed = RecordId.parse(random);
+        assertTrue(parsed.isCompact());
+        assertEquals(random, parsed.toString());
+        assertEquals(parsed, RecordId.parse(random));
+
+        RecordId upper = RecordId.parse(random.toUpperCase());
+        assertFalse(upper.isCompact());
+        assertEquals(random.toUpperCase(), upper.toString());
+        assertEquals("session-42", RecordId.parse("session-42").toString());
+        assertEquals(-1, RecordId.parse("session-42").getTimestamp());
+        assertNull(RecordId.parse(null));
+    }
+
+    @Test
+    void testJsonKeepsStringIds() throws Exception {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        SessionRecord legacy = new SessionRecord("legacy-1", "Pomodoro", LocalDateTime.now(), null, 25, 25, true);
+        SessionRecord fresh = new SessionRecord("Pomodoro", 25);
+        storage.save("ids.json", List.of(legacy, fresh));
+
+        String json = Files.readString(tempDir.resolve("ids.json"));
+        assertTrue(json.contains("\"id\": \"legacy-1\""));
+        assertTrue(json.contains("\"id\": \"" + fresh.getId() + "\""));
+
+        List<SessionRecord> loaded = storage.load("ids.json", new TypeToken<List<SessionRecord>>() {}.getType());
+        assertEquals("legacy-1", loaded.get(0).getId());
+        assertEquals(fresh.getRecordId(), loaded.get(1).getRecordId());
+    }
+}
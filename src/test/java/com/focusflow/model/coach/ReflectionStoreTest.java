@@ -0,0 +1,119 @@
+package com.focusflow.model.coach;
+
+import com.focusflow.model.storage.InMemoryStorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ReflectionStore.
+ *
+ * @author Fareed Uddin
+ */
+class ReflectionStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ReflectionStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ReflectionStore(new StorageHandler(tempDir.toString()));
+    }
+
+    @Test
+    void testRefreshIndexesReflectionsFromAnotherInstance() {
+        ReflectionStore other = new ReflectionStore(new StorageHandler(tempDir.toString()));
+        other.add(new Reflection("Tired again", "Meh", 3));
+        store.add(new Reflection("Focused well", "Good", 8));
+
+        // Adding read the other instance's line first
+        assertEquals(2, store.size());
+        other.add(new Reflection("Tired but done", "Ok", 6));
+        assertTrue(store.refresh());
+        assertEquals(2, store.search("tired", null, null).size());
+        assertFalse(store.refresh());
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void testSearchByWord() {
+        store.add(new Reflection("Felt tired after lunch", "Meh", 4));
+        store.add(new Reflection("Great focus this morning", "Good", 9));
+
+        List<Reflection> results = store.search("tired", null, null);
+        assertEquals(1, results.size());
+        assertEquals("Felt tired after lunch", results.get(0).getText());
+    }
+
+    @Test
+    void testStemmingMatchesWordForms() {
+        store.add(new Reflection("Studied calculus problems", "Good", 7));
+        assertEquals(1, store.search("studying", null, null).size());
+        assertEquals(1, store.search("problem", null, null).size());
+    }
+
+    @Test
+    void testTimeAndRatingFilters() {
+        store.add(new Reflection("Tired but finished", "Ok", 3));
+        store.add(new Reflection("Tired and distracted", "Bad", 2));
+
+        assertTrue(store.search("tired", LocalDateTime.now().plusDays(1), null).isEmpty());
+        assertEquals(2, store.search("tired", LocalDateTime.now().minusMonths(1), null).size());
+        assertEquals(1, store.search("tired", null, null, 3, 10).size());
+    }
+
+    @Test
+    void testAllTermsMustMatch() {
+        store.add(new Reflection("Tired but finished", "Ok", 3));
+        assertEquals(1, store.search("tired finished", null, null).size());
+        assertTrue(store.search("tired music", null, null).isEmpty());
+    }
+
+    @Test
+    void testResultsWithoutTimestampSortLast() {
+        // hand-edited or migrated reflections may have no timestamp
+        ReflectionStore untimed = new ReflectionStore(new InMemoryStorageBackend().reflections());
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 9, 0);
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime timestamp = i % 3 == 0 ? null : base.plusHours((i * 37) % 200);
+            untimed.add(new Reflection("Tired day " + i, "Meh", 4, timestamp));
+        }
+
+        List<Reflection> results = untimed.search("tired", null, null);
+        assertEquals(200, results.size());
+        for (int i = 1; i < results.size(); i++) {
+            LocalDateTime previous = results.get(i - 1).getTimestamp();
+            LocalDateTime current = results.get(i).getTimestamp();
+            assertTrue(current == null || previous != null && !previous.isBefore(current));
+        }
+        assertNull(results.get(results.size() - 1).getTimestamp());
+    }
+
+    @Test
+    void testPersistsAcrossInstances() {
+        store.add(new Reflection("Library was quiet", "Good", 8));
+        store.add(new Reflection("Too noisy at home", "Bad", 3));
+
+        ReflectionStore reloaded = new ReflectionStore(new StorageHandler(tempDir.toString()));
+        assertEquals(2, reloaded.size());
+        assertEquals(1, reloaded.search("quiet", null, null).size());
+    }
+
+    @Test
+    void testMigratesOldReflectionsFile() {
+        StorageHandler storage = new StorageHandler(tempDir.resolve("old").toString());
+        storage.saveReflections(List.of(new Reflection("Old entry", "Ok", 5)));
+
+        ReflectionStore migrated = new ReflectionStore(storage);
+        assertEquals(1, migrated.size());
+        assertEquals(1, new ReflectionStore(storage).size());
+    }
+}
@@ -0,0 +1,77 @@
+package com.focusflow.model.coach;
+
+import com.focusflow.model.session.SessionRecord;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Crash-injection test for StorageHandler. Kills a forked JVM while it is
+ * saving and checks that every save it acknowledged can still be loaded.
+ * Slow, so only runs with: mvn test -Dfocusflow.crashTest=true
+ *
+ * @author Fareed Uddin
+ */
+@EnabledIfSystemProperty(named = "focusflow.crashTest", matches = "true")
+class StorageCrashTest {
+
+    private static final int BATCH_SIZE = 2000;
+
+    @TempDir
+    Path tempDir;
+
+    @RepeatedTest(10)
+    void testSavedDataSurvivesKill(RepetitionInfo info) throws Exception {
+        Random random = new Random(info.getCurrentRepetition());
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process worker = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                StorageCrashWorker.class.getName(), tempDir.toString(), String.valueOf(BATCH_SIZE))
+                .redirectErrorStream(true)
+                .start();
+
+        int acknowledged = 0;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(worker.getInputStream()))) {
+            int killAfter = 2 + random.nextInt(6);
+            String line;
+            while (acknowledged < killAfter * BATCH_SIZE && (line = output.readLine()) != null) {
+                acknowledged = parseAck(line, acknowledged);
+            }
+            // land somewhere inside the next save
+            Thread.sleep(random.nextInt(40));
+            // acknowledgements still unread are ignored, which only makes the check weaker
+            worker.destroyForcibly();
+            worker.waitFor();
+        }
+        assertTrue(acknowledged > 0, "worker never saved");
+
+        Type listType = new TypeToken<List<SessionRecord>>() {}.getType();
+        List<SessionRecord> loaded = new StorageHandler(tempDir.toString()).loadSessions(listType);
+
+        assertNotNull(loaded, "sessions file unreadable after crash");
+        assertTrue(loaded.size() >= acknowledged,
+                "lost acknowledged sessions: loaded " + loaded.size() + " of " + acknowledged);
+        for (SessionRecord record : loaded) {
+            assertNotNull(record.getId());
+            assertNotNull(record.getStartTime());
+        }
+    }
+
+    private int parseAck(String line, int current) {
+        if (line.startsWith("saved ")) {
+            return Math.max(current, Integer.parseInt(line.substring(6).trim()));
+        }
+        return current;
+    }
+}
@@ -0,0 +1,32 @@
+package com.focusflow.model.coach;
+
+import com.focusflow.model.session.SessionRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Child process for StorageCrashTest. Saves a growing session list over
+ * and over, printing "saved N" after each save returns, until it is killed.
+ *
+ * @author Fareed Uddin
+ */
+public class StorageCrashWorker {
+
+    public static void main(String[] args) {
+        StorageHandler storage = new StorageHandler(args[0]);
+        int batchSize = Integer.parseInt(args[1]);
+        List<SessionRecord> sessions = new ArrayList<>();
+
+        while (true) {
+            for (int i = 0; i < batchSize; i++) {
+                SessionRecord record = new SessionRecord("Pomodoro", 25);
+                record.complete();
+                sessions.add(record);
+            }
+            storage.saveSessions(sessions);
+            System.out.println("saved " + sessions.size());
+            System.out.flush();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.focusflow.model.coach;
+
+import com.focusflow.model.session.SessionRecord;
+import com.focusflow.model.session.SessionRecordCodec;
+import com.google.gson.reflect.TypeToken;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for StorageHandler's crash safety, recovery and sharing of a data
+ * directory between instances.
+ *
+ * @author Fareed Uddin
+ */
+class StorageHandlerTest {
+
+    private static final Type SESSION_LIST = new TypeToken<List<SessionRecord>>() {}.getType();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSaveReplacesFileWithoutLeavingTempFiles() throws IOException {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        storage.save("sessions.json", sessions(3));
+        storage.save("sessions.json", sessions(5));
+
+        assertEquals(5, storage.<List<SessionRecord>>load("sessions.json", SESSION_LIST).size());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of("sessions.json"), files.map(f -> f.getFileName().toString()).toList());
+        }
+    }
+
+    @Test
+    void testTruncatedListKeepsRecordsBeforeDamage() throws IOException {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        List<SessionRecord> sessions = sessions(10);
+        storage.save("sessions.json", sessions);
+        Path file = tempDir.resolve("sessions.json");
+        byte[] data = Files.readAllBytes(file);
+        // Cut the file inside the eighth record
+        String json = new String(data, StandardCharsets.UTF_8);
+        int cut = json.indexOf(sessions.get(7).getId()) + 10;
+        Files.write(file, json.substring(0, cut).getBytes(StandardCharsets.UTF_8));
+
+        List<SessionRecord> loaded = storage.load("sessions.json", SESSION_LIST);
+
+        assertEquals(7, loaded.size());
+        assertEquals(sessions.get(6).getId(), loaded.get(6).getId());
+        assertTrue(Files.exists(tempDir.resolve("sessions.json.corrupt")));
+    }
+
+    @Test
+    void testDamagedObjectIsKeptAside() throws IOException {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        Files.writeString(tempDir.resolve("settings.json"), "{\"theme\": \"da");
+
+        assertNull(storage.load("settings.json", Map.class));
+        assertEquals("{\"theme\": \"da", Files.readString(tempDir.resolve("settings.json.corrupt")));
+    }
+
+    @Test
+    void testDamagedRecordFileIsKeptAside() throws IOException {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        storage.saveRecords("history", sessions(4), SessionRecordCodec.INSTANCE);
+        Path file = tempDir.resolve("history.ffr");
+        byte[] data = Files.readAllBytes(file);
+        data[data.length - 10] ^= 0x40;
+        Files.write(file, data);
+
+        assertEquals(3, storage.loadRecords("history", SessionRecordCodec.INSTANCE).size());
+        assertTrue(Files.exists(tempDir.resolve("history.ffr.corrupt")));
+    }
+
+    @Test
+    void testAppendedLinesAreChecksummed() throws IOException {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        List<SessionRecord> sessions = sessions(3);
+        for (SessionRecord session : sessions) {
+            storage.append("log.jsonl", session);
+        }
+        Path file = tempDir.resolve("log.jsonl");
+        List<String> lines = Files.readAllLines(file);
+        // Still valid JSON, but not what was written
+        lines.set(1, lines.get(1).replace("\"actualDurationMinutes\":25", "\"actualDurationMinutes\":52"));
+        Files.write(file, lines);
+
+        List<SessionRecord> loaded = storage.loadAppended("log.jsonl", SessionRecord.class);
+        assertEquals(2, loaded.size());
+        assertEquals(sessions.get(2).getId(), loaded.get(1).getId());
+    }
+
+    @Test
+    void testAppendAfterTornLine() throws IOException {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        storage.append("log.jsonl", sessions(1).get(0));
+        Files.writeString(tempDir.resolve("log.jsonl"), "{\"id\":\"torn", StandardOpenOption.APPEND);
+        SessionRecord next = sessions(1).get(0);
+        storage.append("log.jsonl", next);
+
+        List<SessionRecord> loaded = storage.loadAppended("log.jsonl", SessionRecord.class);
+        assertEquals(2, loaded.size());
+        assertEquals(next.getId(), loaded.get(1).getId());
+    }
+
+    @Test
+    void testLinesWithoutChecksumStillLoad() throws IOException {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        Files.writeString(tempDir.resolve("old.jsonl"), "{\"id\":\"a\",\"modeName\":\"Pomodoro\"}\n");
+
+        List<SessionRecord> loaded = storage.loadAppended("old.jsonl", SessionRecord.class);
+        assertEquals(1, loaded.size());
+        assertEquals("a", loaded.get(0).getId());
+    }
+
+    @Test
+    void testReadAppendedReturnsOnlyNewLines() {
+        StorageHandler writer = new StorageHandler(tempDir.toString());
+        StorageHandler reader = new StorageHandler(tempDir.toString());
+        List<SessionRecord> sessions = sessions(3);
+        writer.append("log.jsonl", sessions.get(0));
+
+        List<SessionRecord> read = new ArrayList<>();
+        long offset = reader.readAppended("log.jsonl", SessionRecord.class, 0, read);
+        assertEquals(1, read.size());
+
+        writer.append("log.jsonl", sessions.get(1));
+        long end = writer.append("log.jsonl", sessions.get(2));
+        read.clear();
+        offset = reader.readAppended("log.jsonl", SessionRecord.class, offset, read);
+        assertEquals(List.of(sessions.get(1).getId(), sessions.get(2).getId()),
+                read.stream().map(SessionRecord::getId).toList());
+        assertEquals(end, offset);
+
+        read.clear();
+        assertEquals(offset, reader.readAppended("log.jsonl", SessionRecord.class, offset, read));
+        assertTrue(read.isEmpty());
+    }
+
+    @Test
+    void testReadAppendedWaitsForPartialLine() throws IOException {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        long end = storage.append("log.jsonl", sessions(1).get(0));
+        Files.writeString(tempDir.resolve("log.jsonl"), "{\"id\":\"half", StandardOpenOption.APPEND);
+
+        List<SessionRecord> read = new ArrayList<>();
+        assertEquals(end, storage.readAppended("log.jsonl", SessionRecord.class, 0, read));
+        assertEquals(1, read.size());
+    }
+
+    @Test
+    void testLockedChangesFromSeparateInstancesAreNotLost() throws Exception {
+        int threads = 4;
+        int changes = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                StorageHandler storage = new StorageHandler(tempDir.toString());
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < changes; i++) {
+                        storage.withLock("counter.json", () -> {
+                            Integer count = storage.load("counter.json", Integer.class);
+                            storage.save("counter.json", count == null ? 1 : count + 1);
+                        });
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(threads * changes, new StorageHandler(tempDir.toString()).load("counter.json", Integer.class));
+    }
+
+    @Test
+    void testVersionChangesWithEverySave() {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        assertNull(storage.getVersion("settings.json"));
+        storage.save("settings.json", Map.of("theme", "dark"));
+        String first = storage.getVersion("settings.json");
+        storage.save("settings.json", Map.of("theme", "dark"));
+
+        assertNotNull(first);
+        assertNotEquals(first, storage.getVersion("settings.json"));
+    }
+
+    private static List<SessionRecord> sessions(int count) {
+        List<SessionRecord> sessions = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        for (int i = 0; i < count; i++) {
+            sessions.add(new SessionRecord("Pomodoro", 25, start.plusHours(i), 25, true));
+        }
+        return sessions;
+    }
+}
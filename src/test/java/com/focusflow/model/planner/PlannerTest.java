@@ -1,8 +1,12 @@
 package com.focusflow.model.planner;
 
+import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.storage.InMemoryStorageBackend;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -19,8 +23,7 @@ class PlannerTest {
 
     @BeforeEach
     void setUp() {
-        planner = new Planner();
-        planner.clearEvents();
+        planner = new Planner(new InMemoryStorageBackend().plannerEvents());
     }
 
     @Test
@@ -78,4 +81,21 @@ class PlannerTest {
         boolean added = planner.addStudyEvent("Study", "Desc", start, end, "POMODORO");
         assertTrue(added);
     }
+
+    @Test
+    void testChangesFromAnotherInstanceAreKept(@TempDir Path tempDir) {
+        Planner first = new Planner(new StorageHandler(tempDir.toString()));
+        Planner second = new Planner(new StorageHandler(tempDir.toString()));
+        LocalDateTime start = LocalDateTime.of(2030, 3, 4, 9, 0);
+        assertTrue(first.addEvent("Lecture", "", start, start.plusHours(1)));
+
+        // The second instance reloads before checking for conflicts and saving
+        assertFalse(second.addEvent("Overlap", "", start.plusMinutes(30), start.plusHours(2)));
+        assertTrue(second.addEvent("Lab", "", start.plusHours(2), start.plusHours(3)));
+        assertEquals(2, second.getAllEvents().size());
+
+        assertTrue(first.refresh());
+        assertEquals(2, first.getAllEvents().size());
+        assertEquals(2, new Planner(new StorageHandler(tempDir.toString())).getAllEvents().size());
+    }
 }
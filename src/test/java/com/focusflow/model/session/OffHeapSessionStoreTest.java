@@ -0,0 +1,113 @@
+package com.focusflow.model.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OffHeapSessionStore.
+ *
+ * @author Frank Watkins
+ */
+class OffHeapSessionStoreTest {
+
+    private final List<String> modes = new ArrayList<>();
+
+    @Test
+    void testRoundTripAcrossChunks() {
+        OffHeapSessionStore store = new OffHeapSessionStore(100_000);
+        YearMonth month = YearMonth.of(2023, 5);
+        List<SessionRecord> sessions = sessions(month, OffHeapSessionStore.CHUNK_RECORDS + 10);
+
+        assertTrue(store.put(month, sessions, this::modeNumber));
+        List<SessionRecord> loaded = store.get(month, modes::get);
+
+        assertEquals(sessions.size(), loaded.size());
+        for (int i = 0; i < sessions.size(); i++) {
+            SessionRecord expected = sessions.get(i);
+            SessionRecord actual = loaded.get(i);
+            assertNotSame(expected, actual);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getModeName(), actual.getModeName());
+            assertEquals(expected.getStartTime(), actual.getStartTime());
+            assertEquals(expected.getEndTime(), actual.getEndTime());
+            assertEquals(expected.getPlannedDurationMinutes(), actual.getPlannedDurationMinutes());
+            assertEquals(expected.getActualDurationMinutes(), actual.getActualDurationMinutes());
+            assertEquals(expected.isCompleted(), actual.isCompleted());
+        }
+        assertEquals(2L * OffHeapSessionStore.CHUNK_RECORDS * OffHeapSessionStore.RECORD_BYTES,
+                store.allocatedBytes());
+    }
+
+    @Test
+    void testIdsThatAreNotUuids() {
+        OffHeapSessionStore store = new OffHeapSessionStore(10);
+        YearMonth month = YearMonth.of(2023, 5);
+        LocalDateTime start = month.atDay(1).atTime(9, 0);
+        store.put(month, List.of(
+                new SessionRecord("legacy-7", "Pomodoro", start, null, 25, 0, false),
+                new SessionRecord("ABCDEF00-0000-0000-0000-000000000001", null, start, null, 25, 0, false)),
+                this::modeNumber);
+
+        List<SessionRecord> loaded = store.get(month, modes::get);
+        assertEquals("legacy-7", loaded.get(0).getId());
+        assertNull(loaded.get(0).getEndTime());
+        assertEquals("ABCDEF00-0000-0000-0000-000000000001", loaded.get(1).getId());
+        assertNull(loaded.get(1).getModeName());
+    }
+
+    @Test
+    void testClearedWhenFull() {
+        OffHeapSessionStore store = new OffHeapSessionStore(15);
+        YearMonth may = YearMonth.of(2023, 5);
+        YearMonth june = YearMonth.of(2023, 6);
+        store.put(may, sessions(may, 10), this::modeNumber);
+        store.put(june, sessions(june, 10), this::modeNumber);
+
+        assertFalse(store.contains(may));
+        assertEquals(10, store.get(june, modes::get).size());
+        assertFalse(store.put(may, sessions(may, 16), this::modeNumber));
+
+        store.clear();
+        assertNull(store.get(june, modes::get));
+        assertEquals(0, store.allocatedBytes());
+    }
+
+    @Test
+    void testReplacingMonth() {
+        OffHeapSessionStore store = new OffHeapSessionStore(100);
+        YearMonth month = YearMonth.of(2023, 5);
+        store.put(month, sessions(month, 3), this::modeNumber);
+        List<SessionRecord> changed = store.get(month, modes::get);
+        changed.add(new SessionRecord("Pomodoro", 25, month.atDay(20).atTime(8, 0), 25, true));
+        store.put(month, changed, this::modeNumber);
+
+        assertEquals(4, store.get(month, modes::get).size());
+    }
+
+    private int modeNumber(String mode) {
+        if (mode == null) {
+            return -1;
+        }
+        if (!modes.contains(mode)) {
+            modes.add(mode);
+        }
+        return modes.indexOf(mode);
+    }
+
+    private static List<SessionRecord> sessions(YearMonth month, int count) {
+        List<SessionRecord> sessions = new ArrayList<>();
+        String[] modeNames = { "Pomodoro", "52/17", "Ultradian" };
+        LocalDateTime start = month.atDay(1).atTime(6, 0);
+        for (int i = 0; i < count; i++) {
+            sessions.add(new SessionRecord(modeNames[i % 3], 25 + i % 30, start.plusMinutes(i * 7L),
+                    i % 5 == 0 ? 0 : 20 + i % 9, i % 4 != 0));
+        }
+        return sessions;
+    }
+}
@@ -1,9 +1,25 @@
 package com.focusflow.model.session;
 
+import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.storage.InMemoryStorageBackend;
+import com.focusflow.model.storage.StorageBackends;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,18 +30,31 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class SessionLoggerTest {
 
+    @TempDir
+    Path tempDir;
+
     private SessionLogger logger;
 
     @BeforeEach
     void setUp() {
-        logger = SessionLogger.getInstance();
-        logger.clearFilters();
+        logger = new SessionLogger(new InMemoryStorageBackend().sessions());
     }
 
     @Test
+    @ResourceLock("focusflow.storage")
     void testSingletonInstance() {
-        SessionLogger another = SessionLogger.getInstance();
-        assertSame(logger, another);
+        InMemoryStorageBackend backend = new InMemoryStorageBackend();
+        StorageBackends.setDefault(backend);
+        SessionLogger.resetInstance();
+        try {
+            SessionLogger instance = SessionLogger.getInstance();
+            assertSame(instance, SessionLogger.getInstance());
+            instance.logSession(new SessionRecord("Pomodoro", 25, LocalDateTime.now(), 25, true));
+            assertEquals(1, backend.sessions().count());
+        } finally {
+            SessionLogger.resetInstance();
+            StorageBackends.setDefault(null);
+        }
     }
 
     @Test
@@ -55,4 +84,255 @@ class SessionLoggerTest {
         int total = logger.getTotalFocusMinutes();
         assertTrue(total >= 0);
     }
+
+    @Test
+    void testMigratesSessionsFileIntoMonthlySegments() {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        storage.saveSessions(sessionsOverMonths(24));
+
+        SessionLogger segmented = new SessionLogger(storage);
+
+        assertEquals(24, segmented.getSessionCount());
+        assertEquals(24 * 25, segmented.getTotalFocusMinutes());
+        assertFalse(Files.exists(tempDir.resolve("sessions.json")));
+        assertTrue(Files.exists(tempDir.resolve("sessions.json.bak")));
+        assertTrue(Files.exists(tempDir.resolve("sessions/manifest.json")));
+        assertEquals(24, storage.listSessionSegments().size());
+    }
+
+    @Test
+    void testOnlyRecentMonthsLoadedAtStartup() {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        storage.saveSessions(sessionsOverMonths(24));
+        new SessionLogger(storage);
+
+        FileSessionRepository reloaded = new FileSessionRepository(new StorageHandler(tempDir.toString()));
+        YearMonth current = YearMonth.now();
+        assertTrue(reloaded.isSegmentLoaded(current));
+        assertTrue(reloaded.isSegmentLoaded(current.minusMonths(FileSessionRepository.RECENT_MONTHS - 1)));
+        assertFalse(reloaded.isSegmentLoaded(current.minusMonths(FileSessionRepository.RECENT_MONTHS)));
+        assertEquals(24, reloaded.count());
+    }
+
+    @Test
+    void testDateFilterLoadsOnlyTheMonthsItReaches() {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        storage.saveSessions(sessionsOverMonths(24));
+        FileSessionRepository repository = new FileSessionRepository(storage);
+        SessionLogger segmented = new SessionLogger(repository);
+        repository.evictColdSegments();
+
+        YearMonth target = YearMonth.now().minusMonths(12);
+        segmented.filterByDateRange(target.atDay(1), target.atEndOfMonth());
+        List<SessionRecord> filtered = segmented.getFilteredSessions();
+
+        assertEquals(1, filtered.size());
+        assertEquals(target, YearMonth.from(filtered.get(0).getStartTime()));
+        assertTrue(repository.isSegmentLoaded(target));
+        assertFalse(repository.isSegmentLoaded(target.minusMonths(1)));
+
+        repository.evictColdSegments();
+        assertFalse(repository.isSegmentLoaded(target));
+        assertEquals(24, segmented.getAllSessions().size());
+    }
+
+    @Test
+    void testMemoryPressureEvictsOlderMonths() {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        storage.saveSessions(sessionsOverMonths(24));
+        FileSessionRepository repository = new FileSessionRepository(storage);
+        YearMonth old = YearMonth.now().minusMonths(12);
+        assertEquals(1, repository.find(old.atDay(1), old.atEndOfMonth(), null).size());
+        assertTrue(repository.isSegmentLoaded(old));
+
+        MemoryPressure.relieve();
+
+        assertFalse(repository.isSegmentLoaded(old));
+        assertTrue(repository.isSegmentLoaded(YearMonth.now()));
+        assertEquals(24, repository.count());
+    }
+
+    @Test
+    void testLoggedSessionsPersistAcrossInstances() {
+        SessionLogger segmented = new SessionLogger(new StorageHandler(tempDir.toString()));
+        SessionRecord record = new SessionRecord("Pomodoro", 25);
+        record.complete();
+        segmented.logSession(record);
+
+        SessionLogger reloaded = new SessionLogger(new StorageHandler(tempDir.toString()));
+        assertEquals(1, reloaded.getSessionCount());
+        assertEquals(record.getId(), reloaded.getAllSessions().get(0).getId());
+    }
+
+    @Test
+    void testStreakFromManifestWithoutLoading() {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        List<SessionRecord> sessions = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int day = 0; day < 40; day++) {
+            sessions.add(new SessionRecord("Pomodoro", 25, now.minusDays(day), 25, true));
+        }
+        storage.saveSessions(sessions);
+        FileSessionRepository repository = new FileSessionRepository(storage);
+        SessionLogger segmented = new SessionLogger(repository);
+        repository.evictColdSegments();
+
+        assertEquals(40, new StatisticsManager(segmented).getCurrentStreak());
+        assertTrue(segmented.hasCompletedSessionOn(LocalDate.now().minusDays(39)));
+        assertFalse(segmented.hasCompletedSessionOn(LocalDate.now().minusDays(40)));
+    }
+
+    @Test
+    void testManifestRebuiltFromSegments() throws Exception {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        storage.saveSessions(sessionsOverMonths(6));
+        new SessionLogger(storage);
+        Files.delete(tempDir.resolve("sessions/manifest.json"));
+
+        SessionLogger rebuilt = new SessionLogger(new StorageHandler(tempDir.toString()));
+        assertEquals(6, rebuilt.getSessionCount());
+        assertTrue(Files.exists(tempDir.resolve("sessions/manifest.json")));
+    }
+
+    @Test
+    void testHistoryScanLoadsNoSegments() {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        storage.saveSessions(sessionsOverMonths(24));
+        new SessionLogger(storage);
+        FileSessionRepository repository = new FileSessionRepository(new StorageHandler(tempDir.toString()));
+        SessionLogger reloaded = new SessionLogger(repository);
+
+        int[] totals = new int[2];
+        reloaded.scanHistory((startSecond, durationMinutes, mode, completed) -> {
+            totals[0]++;
+            totals[1] += durationMinutes;
+            assertEquals("Pomodoro", reloaded.getModeNames().get(mode));
+            assertTrue(completed);
+        });
+
+        assertEquals(24, totals[0]);
+        assertEquals(24 * 25, totals[1]);
+        assertFalse(repository.isSegmentLoaded(YearMonth.now().minusMonths(FileSessionRepository.RECENT_MONTHS)));
+    }
+
+    @Test
+    void testIndexKeptInStepWithLogAndImport() throws Exception {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        storage.saveSessions(sessionsOverMonths(3));
+        SessionLogger segmented = new SessionLogger(storage);
+        segmented.logSession(new SessionRecord("52/17", 52, LocalDateTime.now(), 52, true));
+        segmented.importSessions(List.of(new SessionRecord("Ultradian", 90, LocalDateTime.now(), 90, false)));
+
+        StatisticsManager statistics = new StatisticsManager(new SessionLogger(new StorageHandler(tempDir.toString())));
+        assertEquals(List.of("Pomodoro", "52/17", "Ultradian"), List.copyOf(statistics.getFocusMinutesByMode().keySet()));
+        assertEquals(75, statistics.getFocusMinutesByMode().get("Pomodoro"));
+        assertEquals(52, statistics.getFocusMinutesByMode().get("52/17"));
+        assertEquals(0, statistics.getFocusMinutesByMode().get("Ultradian"));
+
+        // A missing index is rebuilt from the segments
+        Files.delete(tempDir.resolve("sessions/index.ffx"));
+        statistics = new StatisticsManager(new SessionLogger(new StorageHandler(tempDir.toString())));
+        assertEquals(75, statistics.getFocusMinutesByMode().get("Pomodoro"));
+    }
+
+    @Test
+    void testLongestStreakAndWeekdays() {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        LocalDateTime monday = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<SessionRecord> sessions = new ArrayList<>();
+        for (int day = 0; day < 5; day++) {
+            sessions.add(new SessionRecord("Pomodoro", 25, monday.plusDays(day), 25, true));
+        }
+        sessions.add(new SessionRecord("Pomodoro", 25, monday.plusDays(21), 30, true));
+        sessions.add(new SessionRecord("Pomodoro", 25, monday.plusDays(22), 25, false));
+        storage.saveSessions(sessions);
+
+        StatisticsManager statistics = new StatisticsManager(new SessionLogger(storage));
+        assertEquals(5, statistics.getLongestStreak());
+        assertEquals(55, statistics.getFocusMinutesByWeekday().get(DayOfWeek.MONDAY));
+        assertEquals(25, statistics.getFocusMinutesByWeekday().get(DayOfWeek.FRIDAY));
+        assertEquals(0, statistics.getFocusMinutesByWeekday().get(DayOfWeek.SUNDAY));
+    }
+
+    @Test
+    void testRefreshPicksUpSessionsLoggedByAnotherInstance() {
+        SessionLogger first = new SessionLogger(new StorageHandler(tempDir.toString()));
+        SessionLogger second = new SessionLogger(new StorageHandler(tempDir.toString()));
+        first.logSession(new SessionRecord("Pomodoro", 25, LocalDateTime.now(), 25, true));
+
+        assertEquals(0, second.getSessionCount());
+        assertTrue(second.refresh());
+        assertEquals(1, second.getSessionCount());
+        assertEquals(1, second.getAllSessions().size());
+        assertFalse(second.refresh());
+
+        StatisticsManager statistics = new StatisticsManager(second);
+        assertEquals(25, statistics.getFocusMinutesByMode().get("Pomodoro"));
+    }
+
+    @Test
+    void testInstancesLoggingTogetherLoseNoSessions() throws Exception {
+        int instances = 3;
+        int sessionsEach = 20;
+        ExecutorService pool = Executors.newFixedThreadPool(instances);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int n = 0; n < instances; n++) {
+                SessionLogger instance = new SessionLogger(new StorageHandler(tempDir.toString()));
+                String mode = "Mode " + n;
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < sessionsEach; i++) {
+                        instance.logSession(new SessionRecord(mode, 25, LocalDateTime.now(), 25, true));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        SessionLogger reloaded = new SessionLogger(new StorageHandler(tempDir.toString()));
+        assertEquals(instances * sessionsEach, reloaded.getSessionCount());
+        assertEquals(instances * sessionsEach, reloaded.getAllSessions().size());
+        StatisticsManager statistics = new StatisticsManager(reloaded);
+        for (int n = 0; n < instances; n++) {
+            assertEquals(sessionsEach * 25, statistics.getFocusMinutesByMode().get("Mode " + n));
+        }
+    }
+
+    @Test
+    void testProcessesLoggingTogetherLoseNoSessions() throws Exception {
+        int sessionsEach = 40;
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<Process> workers = new ArrayList<>();
+        for (String mode : List.of("Pomodoro", "Ultradian")) {
+            workers.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    SessionLoggerWorker.class.getName(), tempDir.toString(), String.valueOf(sessionsEach), mode)
+                    .inheritIO()
+                    .start());
+        }
+        for (Process worker : workers) {
+            assertEquals(0, worker.waitFor());
+        }
+
+        SessionLogger reloaded = new SessionLogger(new StorageHandler(tempDir.toString()));
+        assertEquals(2 * sessionsEach, reloaded.getAllSessions().size());
+        StatisticsManager statistics = new StatisticsManager(reloaded);
+        assertEquals(sessionsEach * 25, statistics.getFocusMinutesByMode().get("Pomodoro"));
+        assertEquals(sessionsEach * 25, statistics.getFocusMinutesByMode().get("Ultradian"));
+    }
+
+    /**
+     * One completed 25 minute session in each of the last n months.
+     */
+    private List<SessionRecord> sessionsOverMonths(int months) {
+        List<SessionRecord> sessions = new ArrayList<>();
+        LocalDateTime start = YearMonth.now().atDay(1).atTime(9, 0);
+        for (int i = 0; i < months; i++) {
+            sessions.add(new SessionRecord("Pomodoro", 25, start.minusMonths(i), 25, true));
+        }
+        return sessions;
+    }
 }
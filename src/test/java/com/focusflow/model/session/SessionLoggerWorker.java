@@ -0,0 +1,22 @@
+package com.focusflow.model.session;
+
+import com.focusflow.model.coach.StorageHandler;
+
+import java.time.LocalDateTime;
+
+/**
+ * Child process for SessionLoggerTest. Logs the given number of sessions
+ * to a data directory that another process is logging to as well.
+ *
+ * @author Frank Watkins
+ */
+public class SessionLoggerWorker {
+
+    public static void main(String[] args) {
+        SessionLogger logger = new SessionLogger(new StorageHandler(args[0]));
+        int count = Integer.parseInt(args[1]);
+        for (int i = 0; i < count; i++) {
+            logger.logSession(new SessionRecord(args[2], 25, LocalDateTime.now(), 25, true));
+        }
+    }
+}
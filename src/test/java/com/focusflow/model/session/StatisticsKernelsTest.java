@@ -0,0 +1,214 @@
+package com.focusflow.model.session;
+
+import com.focusflow.model.coach.StorageHandler;
+import com.focusflow.model.storage.InMemoryStorageBackend;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.api.parallel.Resources;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the statistics kernels and the StatisticsManager queries built on them.
+ *
+ * @author Frank Watkins
+ */
+class StatisticsKernelsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @ResourceLock(Resources.SYSTEM_PROPERTIES)
+    void testVectorKernelsUsedWhenModuleAdded() {
+        // Surefire adds jdk.incubator.vector, see pom.xml
+        assertInstanceOf(VectorKernels.class, StatisticsKernels.create());
+        System.setProperty("focusflow.vectorKernels", "false");
+        try {
+            assertInstanceOf(ScalarKernels.class, StatisticsKernels.create());
+        } finally {
+            System.clearProperty("focusflow.vectorKernels");
+        }
+    }
+
+    @Test
+    void testVectorMatchesScalar() {
+        StatisticsKernels scalar = new ScalarKernels();
+        StatisticsKernels vector = new VectorKernels();
+        // Sizes around the vector length exercise the tail loop
+        for (int size : new int[] { 0, 1, 7, 8, 17, 1000, 4099 }) {
+            SessionColumns columns = randomColumns(size, size);
+            for (int mode : new int[] { StatisticsKernels.ANY_MODE, 0, 2, -1 }) {
+                for (boolean completedOnly : new boolean[] { false, true }) {
+                    assertEquals(scalar.count(columns, 19_000, 19_200, mode, completedOnly),
+                            vector.count(columns, 19_000, 19_200, mode, completedOnly), "size " + size);
+                    assertEquals(scalar.sumDurations(columns, 19_000, 19_200, mode, completedOnly),
+                            vector.sumDurations(columns, 19_000, 19_200, mode, completedOnly), "size " + size);
+                }
+            }
+            assertArrayEquals(scalar.countByMode(columns, 3), vector.countByMode(columns, 3));
+        }
+    }
+
+    @Test
+    void testScalarKernelsByHand() {
+        SessionColumns columns = new SessionColumns(
+                new int[] { 10, 11, 12, 13 }, new int[] { 25, 50, 90, 25 },
+                new int[] { 0, 1, 0, -1 }, new int[] { 1, 0, 1, 1 }, 4);
+        StatisticsKernels kernels = new ScalarKernels();
+
+        assertEquals(4, kernels.count(columns, Integer.MIN_VALUE, Integer.MAX_VALUE,
+                StatisticsKernels.ANY_MODE, false));
+        assertEquals(140, kernels.sumDurations(columns, 0, 100, StatisticsKernels.ANY_MODE, true));
+        assertEquals(115, kernels.sumDurations(columns, 10, 12, 0, true));
+        assertEquals(50, kernels.sumDurations(columns, 11, 11, StatisticsKernels.ANY_MODE, false));
+        assertArrayEquals(new int[] { 2, 1 }, kernels.countByMode(columns, 2));
+    }
+
+    @Test
+    void testRangeQueries() {
+        StorageHandler storage = new StorageHandler(tempDir.toString());
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 9, 0);
+        List<SessionRecord> sessions = new ArrayList<>();
+        for (int day = 0; day < 30; day++) {
+            sessions.add(new SessionRecord("Pomodoro", 25, start.plusDays(day), 25, day % 3 != 0));
+            sessions.add(new SessionRecord("52/17", 52, start.plusDays(day).plusHours(2), 52, true));
+        }
+        storage.saveSessions(sessions);
+        SessionLogger sessionLogger = new SessionLogger(storage);
+
+        for (StatisticsKernels kernels : List.of(new ScalarKernels(), new VectorKernels())) {
+            StatisticsManager statistics = new StatisticsManager(sessionLogger, kernels);
+            LocalDate from = LocalDate.of(2024, 3, 1);
+            LocalDate to = LocalDate.of(2024, 3, 10);
+
+            assertEquals(20, statistics.getSessionCount(from, to, null));
+            assertEquals(10, statistics.getSessionCount(from, to, "pomodoro"));
+            assertEquals(6, statistics.getCompletedSessionCount(from, to, "Pomodoro"));
+            assertEquals(6 * 25 + 10 * 52, statistics.getFocusMinutes(from, to, null));
+            assertEquals(10 * 25, statistics.getSessionMinutes(from, to, "Pomodoro"));
+            assertEquals(0, statistics.getSessionCount(from, to, "Ultradian"));
+            assertEquals(60, statistics.getSessionCount(null, null, null));
+            assertEquals(30, statistics.getSessionCountByMode().get("52/17"));
+            assertEquals(20 * 25, statistics.getFocusMinutesByMode().get("Pomodoro"));
+        }
+
+        // Columns are rebuilt once a session is added
+        StatisticsManager statistics = new StatisticsManager(sessionLogger);
+        assertEquals(60, statistics.getSessionCount(null, null, null));
+        sessionLogger.logSession(new SessionRecord("Pomodoro", 25, LocalDateTime.now(), 25, true));
+        assertEquals(61, statistics.getSessionCount(null, null, null));
+    }
+
+    @Test
+    void testColumnsRebuiltWhenModesRenumbered() {
+        RenumberingRepository repository = new RenumberingRepository();
+        SessionLogger sessionLogger = new SessionLogger(repository);
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 9, 0);
+        for (int i = 0; i < 3; i++) {
+            sessionLogger.logSession(new SessionRecord("Pomodoro", 25, start.plusDays(i), 25, true));
+        }
+        sessionLogger.logSession(new SessionRecord("52/17", 52, start.plusDays(5), 52, true));
+        StatisticsManager statistics = new StatisticsManager(sessionLogger);
+        assertEquals(3, statistics.getSessionCountByMode().get("Pomodoro"));
+
+        repository.reversed = true;
+        assertEquals(3, statistics.getSessionCountByMode().get("Pomodoro"));
+        assertEquals(52, statistics.getFocusMinutesByMode().get("52/17"));
+        assertEquals(1, statistics.getSessionCount(null, null, "52/17"));
+    }
+
+    private static SessionColumns randomColumns(int size, long seed) {
+        Random random = new Random(seed);
+        int[] days = new int[size];
+        int[] durations = new int[size];
+        int[] modes = new int[size];
+        int[] completed = new int[size];
+        for (int i = 0; i < size; i++) {
+            days[i] = 18_900 + random.nextInt(400);
+            durations[i] = 5 + random.nextInt(120);
+            modes[i] = random.nextInt(4) - 1;
+            completed[i] = random.nextInt(2);
+        }
+        return new SessionColumns(days, durations, modes, completed, size);
+    }
+
+    /**
+     * Numbers modes in reverse once asked to, as a refresh from another
+     * instance may renumber them without changing the session count.
+     */
+    private static class RenumberingRepository implements SessionRepository {
+        private final SessionRepository sessions = new InMemoryStorageBackend().sessions();
+        private boolean reversed;
+
+        @Override
+        public void add(SessionRecord session) {
+            sessions.add(session);
+        }
+
+        @Override
+        public int addAll(List<SessionRecord> added) {
+            return sessions.addAll(added);
+        }
+
+        @Override
+        public List<SessionRecord> find(LocalDate from, LocalDate to, String mode) {
+            return sessions.find(from, to, mode);
+        }
+
+        @Override
+        public int count() {
+            return sessions.count();
+        }
+
+        @Override
+        public int countCompleted() {
+            return sessions.countCompleted();
+        }
+
+        @Override
+        public int focusMinutes() {
+            return sessions.focusMinutes();
+        }
+
+        @Override
+        public int sessionMinutes() {
+            return sessions.sessionMinutes();
+        }
+
+        @Override
+        public boolean hasCompletedSessionOn(LocalDate date) {
+            return sessions.hasCompletedSessionOn(date);
+        }
+
+        @Override
+        public void scan(SessionVisitor visitor) {
+            int last = sessions.getModeNames().size() - 1;
+            sessions.scan((startSecond, durationMinutes, mode, completed) -> visitor.visit(startSecond,
+                    durationMinutes, reversed && mode >= 0 ? last - mode : mode, completed));
+        }
+
+        @Override
+        public List<String> getModeNames() {
+            List<String> names = sessions.getModeNames();
+            if (reversed) {
+                Collections.reverse(names);
+            }
+            return names;
+        }
+
+        @Override
+        public boolean refresh() {
+            return sessions.refresh();
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.focusflow.model.settings;
 
+import com.focusflow.model.storage.InMemoryStorageBackend;
+import com.focusflow.model.storage.StorageBackends;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -11,12 +14,16 @@ import static org.junit.jupiter.api.Assertions.*;
  *
  * @author Gianluca Binetti
  */
+@ResourceLock("focusflow.storage")
 class SettingsControllerTest {
 
+    private InMemoryStorageBackend backend;
     private SettingsController settings;
 
     @BeforeEach
     void setUp() {
+        backend = new InMemoryStorageBackend();
+        StorageBackends.setDefault(backend);
         SettingsController.resetInstance();
         settings = SettingsController.getInstance();
     }
@@ -24,6 +31,7 @@ class SettingsControllerTest {
     @AfterEach
     void tearDown() {
         SettingsController.resetInstance();
+        StorageBackends.setDefault(null);
     }
 
     @Test
@@ -55,6 +63,16 @@ class SettingsControllerTest {
         assertNotNull(theme);
     }
 
+    @Test
+    void testSaveGoesToDefaultBackend() {
+        settings.setSetting(SettingsController.KEY_THEME, "dark");
+        settings.saveSettings();
+
+        assertEquals("dark", backend.settings().load().get(SettingsController.KEY_THEME));
+        SettingsController.resetInstance();
+        assertEquals("dark", SettingsController.getInstance().getTheme());
+    }
+
     @Test
     void testGetAllSettings() {
         assertNotNull(settings.getAllSettings());
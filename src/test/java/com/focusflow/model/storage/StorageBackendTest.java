@@ -0,0 +1,200 @@
+package com.focusflow.model.storage;
+
+import com.focusflow.model.coach.Reflection;
+import com.focusflow.model.coach.ReflectionRepository;
+import com.focusflow.model.planner.Planner.PlannerEvent;
+import com.focusflow.model.planner.PlannerRepository;
+import com.focusflow.model.session.SessionRecord;
+import com.focusflow.model.session.SessionRepository;
+import com.focusflow.model.settings.SettingsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the storage backends; each test runs against all three.
+ *
+ * @author Fareed Uddin
+ */
+class StorageBackendTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    @TempDir
+    Path tempDir;
+
+    private StorageBackend open(String kind) {
+        return StorageBackends.create(kind, tempDir.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "memory", "sql"})
+    void testSessionQueries(String kind) {
+        try (StorageBackend backend = open(kind)) {
+            SessionRepository sessions = backend.sessions();
+            sessions.add(new SessionRecord("Pomodoro", 25, DAY.atTime(9, 0), 25, true));
+            sessions.add(new SessionRecord("Deep Work", 50, DAY.atTime(13, 0), 20, false));
+            sessions.add(new SessionRecord("pomodoro", 25, DAY.plusMonths(2).atTime(9, 0), 25, true));
+
+            assertEquals(3, sessions.count());
+            assertEquals(2, sessions.countCompleted());
+            assertEquals(50, sessions.focusMinutes());
+            assertEquals(70, sessions.sessionMinutes());
+            assertTrue(sessions.hasCompletedSessionOn(DAY));
+            assertFalse(sessions.hasCompletedSessionOn(DAY.plusDays(1)));
+
+            assertEquals(2, sessions.find(DAY, DAY, null).size());
+            assertEquals(2, sessions.find(null, null, "POMODORO").size());
+            assertEquals(1, sessions.find(DAY, DAY.plusDays(1), "Deep Work").size());
+            assertEquals(1, sessions.find(DAY.plusDays(1), null, null).size());
+            assertTrue(sessions.find(DAY.plusDays(1), DAY, null).isEmpty());
+
+            int[] minutes = new int[1];
+            List<String> modes = new ArrayList<>();
+            sessions.scan((start, duration, mode, completed) -> {
+                minutes[0] += duration;
+                modes.add(sessions.getModeNames().get(mode));
+            });
+            assertEquals(70, minutes[0]);
+            assertTrue(modes.contains("Deep Work"));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "memory", "sql"})
+    void testImportSkipsKnownSessions(String kind) {
+        try (StorageBackend backend = open(kind)) {
+            SessionRecord logged = new SessionRecord("Pomodoro", 25, DAY.atTime(9, 0), 25, true);
+            backend.sessions().add(logged);
+
+            SessionRecord fresh = new SessionRecord("Pomodoro", 25, DAY.atTime(10, 0), 25, true);
+            assertEquals(1, backend.sessions().addAll(List.of(logged, fresh, fresh)));
+            assertEquals(2, backend.sessions().count());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "memory", "sql"})
+    void testPlannerConflictsAndRanges(String kind) {
+        try (StorageBackend backend = open(kind)) {
+            PlannerRepository events = backend.plannerEvents();
+            LocalDateTime nine = DAY.atTime(9, 0);
+            assertTrue(events.addIfNoConflict(new PlannerEvent("Math", "", nine, nine.plusHours(1))));
+            assertFalse(events.addIfNoConflict(new PlannerEvent("Overlap", "", nine.plusMinutes(30), nine.plusHours(2))));
+            assertTrue(events.addIfNoConflict(new PlannerEvent("Next", "", nine.plusHours(1), nine.plusHours(2))));
+
+            assertTrue(events.hasConflict(nine.minusMinutes(30), nine.plusMinutes(1)));
+            assertFalse(events.hasConflict(nine.minusHours(1), nine));
+            assertEquals(2, events.findStartingBetween(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()).size());
+            assertEquals("Math", events.findAll().get(0).getTitle());
+
+            assertTrue(events.remove(events.findAll().get(0).getId()));
+            assertEquals(1, events.count());
+            events.batch(() -> {
+                events.clear();
+                events.addIfNoConflict(new PlannerEvent("Later", "", nine.plusDays(1), nine.plusDays(1).plusHours(1)));
+            });
+            assertEquals(1, events.count());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "memory", "sql"})
+    void testReflectionsReadFromPosition(String kind) {
+        try (StorageBackend backend = open(kind)) {
+            ReflectionRepository reflections = backend.reflections();
+            reflections.add(new Reflection("First", "calm", 7));
+
+            List<Reflection> read = new ArrayList<>();
+            long position = reflections.readAfter(0, read);
+            assertEquals(1, read.size());
+
+            reflections.add(new Reflection("Second", "tired", 4));
+            read.clear();
+            reflections.readAfter(position, read);
+            assertEquals(1, read.size());
+            assertEquals("Second", read.get(0).getText());
+            assertEquals("tired", read.get(0).getMood());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "memory", "sql"})
+    void testSettingsRoundTrip(String kind) {
+        try (StorageBackend backend = open(kind)) {
+            SettingsRepository settings = backend.settings();
+            Map<String, Object> values = new HashMap<>();
+            values.put("theme", "dark");
+            values.put("soundEnabled", false);
+            settings.save(values);
+
+            Map<String, Object> loaded = settings.load();
+            assertEquals("dark", loaded.get("theme"));
+            assertEquals(false, loaded.get("soundEnabled"));
+        }
+    }
+
+    @Test
+    void testSqlDataSurvivesReopening() {
+        try (StorageBackend backend = open(StorageBackends.SQL)) {
+            assertInstanceOf(SqlStorageBackend.class, backend);
+            backend.sessions().add(new SessionRecord("Pomodoro", 25, DAY.atTime(9, 0), 25, true));
+        }
+        assertTrue(Files.exists(tempDir.resolve(SqlStorageBackend.DATABASE + ".mv.db")));
+        try (StorageBackend reopened = open(StorageBackends.SQL)) {
+            assertEquals(1, reopened.sessions().count());
+            assertEquals(25, reopened.sessions().find(DAY, DAY, "pomodoro").get(0).getActualDurationMinutes());
+        }
+    }
+
+    @Test
+    void testSqlBatchRollsBackWhenOneChangeFails() {
+        try (StorageBackend backend = open(StorageBackends.SQL)) {
+            PlannerRepository events = backend.plannerEvents();
+            LocalDateTime nine = DAY.atTime(9, 0);
+            PlannerEvent math = new PlannerEvent("Math", "", nine, nine.plusHours(1));
+            assertTrue(events.addIfNoConflict(math));
+
+            events.batch(() -> {
+                events.clear();
+                events.addIfNoConflict(new PlannerEvent("Bio", "", nine.plusHours(2), nine.plusHours(3)));
+                // same id as an event already added in this batch, so the insert fails
+                events.addIfNoConflict(new PlannerEvent(events.findAll().get(0).getId(), "Copy", "",
+                        nine.plusHours(4), nine.plusHours(5)));
+            });
+
+            assertEquals(1, events.count());
+            assertEquals(math.getId(), events.findAll().get(0).getId());
+        }
+    }
+
+    @Test
+    void testSqlRefreshSeesOtherConnections() {
+        try (StorageBackend first = open(StorageBackends.SQL);
+             StorageBackend second = open(StorageBackends.SQL)) {
+            LocalDateTime nine = DAY.atTime(9, 0);
+            assertTrue(first.plannerEvents().addIfNoConflict(new PlannerEvent("Math", "", nine, nine.plusHours(1))));
+
+            assertTrue(second.plannerEvents().refresh());
+            assertFalse(second.plannerEvents().refresh());
+            assertFalse(second.plannerEvents().addIfNoConflict(
+                    new PlannerEvent("Clash", "", nine.plusMinutes(15), nine.plusMinutes(45))));
+
+            first.sessions().add(new SessionRecord("Pomodoro", 25, nine, 25, true));
+            assertTrue(second.sessions().refresh());
+            assertEquals(1, second.sessions().count());
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.focusflow.model.timer;
 
+import com.focusflow.observer.Event;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.awt.EventQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -11,6 +17,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *
  * @author Edward De Jesus
  */
+@ResourceLock("focusflow.TimerManager")
 class TimerManagerTest {
 
     private TimerManager timerManager;
@@ -74,4 +81,34 @@ class TimerManagerTest {
         timerManager.setTimerMode(newMode);
         assertEquals("52/17", timerManager.getCurrentMode().getName());
     }
+
+    @Test
+    void testTickInterval() {
+        assertEquals(1000, timerManager.getTickInterval());
+        timerManager.setTickInterval(5);
+        assertEquals(5, timerManager.getTickInterval());
+        assertThrows(IllegalArgumentException.class, () -> timerManager.setTickInterval(0));
+    }
+
+    @Test
+    void testHeadlessInstanceTicksOffTheEdt() throws InterruptedException {
+        TimerManager.resetInstance();
+        TimerManager headless = TimerManager.getHeadlessInstance();
+        assertSame(headless, TimerManager.getInstance());
+
+        CountDownLatch ticked = new CountDownLatch(3);
+        boolean[] onEdt = new boolean[1];
+        headless.attach(event -> {
+            if (event.getType() == Event.EventType.TIMER_TICK) {
+                onEdt[0] |= EventQueue.isDispatchThread();
+                ticked.countDown();
+            }
+        });
+        headless.setTickInterval(5);
+        headless.startSession();
+        assertTrue(ticked.await(5, TimeUnit.SECONDS));
+        headless.pauseSession();
+        assertFalse(onEdt[0]);
+        assertTrue(headless.getRemainingTime() < headless.getCurrentMode().getWorkDuration());
+    }
 }
@@ -4,6 +4,7 @@ import com.focusflow.model.timer.TimerManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -12,6 +13,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *
  * @author Frank Watkins
  */
+@ResourceLock("focusflow.TimerManager")
 class ObserverPatternTest {
 
     private TimerManager subject;
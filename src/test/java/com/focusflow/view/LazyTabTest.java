@@ -0,0 +1,84 @@
+package com.focusflow.view;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for LazyTab.
+ *
+ * @author Gianluca Binetti
+ */
+class LazyTabTest {
+
+    @Test
+    void testNothingLoadedUntilRealized() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        LazyTab tab = new LazyTab(() -> {
+            loads.incrementAndGet();
+            return JPanel::new;
+        });
+        Thread.sleep(50);
+        assertEquals(0, loads.get());
+        assertNull(tab.getContent());
+        assertFalse(tab.isRealizing());
+    }
+
+    @Test
+    void testLoadsOffEdtAndBuildsOnEdt() throws Exception {
+        AtomicBoolean loadedOnEdt = new AtomicBoolean(true);
+        AtomicBoolean builtOnEdt = new AtomicBoolean(false);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch built = new CountDownLatch(1);
+        JLabel label = new JLabel("ready");
+        LazyTab tab = new LazyTab(() -> {
+            loads.incrementAndGet();
+            loadedOnEdt.set(SwingUtilities.isEventDispatchThread());
+            return () -> {
+                builtOnEdt.set(SwingUtilities.isEventDispatchThread());
+                built.countDown();
+                return label;
+            };
+        });
+
+        SwingUtilities.invokeAndWait(() -> {
+            tab.realize();
+            tab.realize();
+        });
+        assertTrue(built.await(5, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertFalse(loadedOnEdt.get());
+        assertTrue(builtOnEdt.get());
+        assertEquals(1, loads.get());
+        assertSame(label, tab.getContent());
+        assertSame(label, tab.getComponent(0));
+    }
+
+    @Test
+    void testFailedLoadShowsMessage() throws Exception {
+        LazyTab tab = new LazyTab(() -> {
+            throw new IllegalStateException("disk on fire");
+        });
+        SwingUtilities.invokeAndWait(tab::realize);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        String text = "";
+        while (System.currentTimeMillis() < deadline) {
+            SwingUtilities.invokeAndWait(() -> { });
+            text = ((JLabel) tab.getComponent(0)).getText();
+            if (text.startsWith("Could not load")) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        assertEquals("Could not load: disk on fire", text);
+        assertNull(tab.getContent());
+    }
+}